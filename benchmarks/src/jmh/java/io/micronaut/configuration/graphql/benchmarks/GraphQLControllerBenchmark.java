@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.benchmarks;
+
+import io.micronaut.configuration.graphql.DefaultGraphQLExecutionInputCustomizer;
+import io.micronaut.configuration.graphql.DefaultGraphQLExecutionResultHandler;
+import io.micronaut.configuration.graphql.DefaultGraphQLInvocation;
+import io.micronaut.configuration.graphql.GraphQLController;
+import io.micronaut.configuration.graphql.GraphQLJsonSerializer;
+import io.micronaut.configuration.graphql.GraphQLRequestBody;
+import io.micronaut.configuration.graphql.GraphQLRequestContent;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.reactivex.Flowable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+/**
+ * Benchmarks the {@link GraphQLController} request variants, from the raw request parameters and body to the
+ * JSON response. The HTTP server itself is not part of the measurement.
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@State(Scope.Benchmark)
+public class GraphQLControllerBenchmark {
+
+    /**
+     * The shape of the schema and query.
+     */
+    @Param({"FLAT", "LIST"})
+    SyntheticSchema schema;
+
+    /**
+     * The JSON codec.
+     */
+    @Param({"JACKSON", "DSL_JSON"})
+    JsonCodec codec;
+
+    private GraphQLController controller;
+    private String query;
+    private String variables;
+    private byte[] jsonBody;
+    private byte[] graphqlBody;
+    private HttpRequest<?> getRequest;
+    private HttpRequest<?> jsonPostRequest;
+    private HttpRequest<?> graphqlPostRequest;
+
+    /**
+     * Creates the controller and requests for the configured schema.
+     */
+    @Setup
+    public void setup() {
+        GraphQLJsonSerializer serializer = codec.createSerializer();
+        controller = new GraphQLController(
+                new DefaultGraphQLInvocation(
+                        schema.createGraphQL(), new DefaultGraphQLExecutionInputCustomizer(), null),
+                new DefaultGraphQLExecutionResultHandler(),
+                serializer);
+        query = schema.query();
+        variables = serializer.serialize(Collections.singletonMap("variable", "value"));
+        GraphQLRequestBody requestBody = new GraphQLRequestBody();
+        requestBody.setQuery(query);
+        requestBody.setVariables(Collections.singletonMap("variable", "value"));
+        jsonBody = serializer.serializeToBytes(requestBody);
+        graphqlBody = query.getBytes(StandardCharsets.UTF_8);
+        getRequest = HttpRequest.GET("/graphql");
+        jsonPostRequest = HttpRequest.POST("/graphql", jsonBody).contentType(MediaType.APPLICATION_JSON_TYPE);
+        graphqlPostRequest = HttpRequest.POST("/graphql", query).contentType(MediaType.APPLICATION_GRAPHQL_TYPE);
+    }
+
+    /**
+     * Executes a GET request with the query and variables as query parameters.
+     *
+     * @return the JSON response
+     */
+    @Benchmark
+    public byte[] get() {
+        return Flowable.fromPublisher(controller.handleGet(query, null, variables, getRequest)).blockingFirst().body();
+    }
+
+    /**
+     * Executes a POST request with an {@code application/json} body.
+     *
+     * @return the JSON response
+     */
+    @Benchmark
+    public byte[] postJson() {
+        return Flowable.fromPublisher(controller.handlePost(new GraphQLRequestContent(jsonBody),
+                jsonPostRequest))
+                .blockingFirst().body();
+    }
+
+    /**
+     * Executes a POST request with an {@code application/graphql} body.
+     *
+     * @return the JSON response
+     */
+    @Benchmark
+    public byte[] postGraphQL() {
+        return Flowable.fromPublisher(controller.handlePost(new GraphQLRequestContent(graphqlBody),
+                graphqlPostRequest))
+                .blockingFirst().body();
+    }
+}
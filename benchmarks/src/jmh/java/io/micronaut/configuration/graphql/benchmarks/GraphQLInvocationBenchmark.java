@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.benchmarks;
+
+import graphql.ExecutionResult;
+import io.micronaut.configuration.graphql.DefaultGraphQLExecutionInputCustomizer;
+import io.micronaut.configuration.graphql.DefaultGraphQLInvocation;
+import io.micronaut.configuration.graphql.GraphQLInvocationData;
+import io.micronaut.http.HttpRequest;
+import io.reactivex.Flowable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks executing queries end-to-end through the {@link DefaultGraphQLInvocation} against synthetic schemas.
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@State(Scope.Benchmark)
+public class GraphQLInvocationBenchmark {
+
+    /**
+     * The shape of the schema and query.
+     */
+    @Param({"FLAT", "WIDE", "DEEP", "LIST"})
+    SyntheticSchema schema;
+
+    private DefaultGraphQLInvocation invocation;
+    private GraphQLInvocationData invocationData;
+    private HttpRequest<?> httpRequest;
+
+    /**
+     * Creates the invocation for the configured schema.
+     */
+    @Setup
+    public void setup() {
+        invocation = new DefaultGraphQLInvocation(
+                schema.createGraphQL(), new DefaultGraphQLExecutionInputCustomizer(), null);
+        invocationData = new GraphQLInvocationData(schema.query(), null, null);
+        httpRequest = HttpRequest.POST("/graphql", "");
+        ExecutionResult result = invoke();
+        if (!result.getErrors().isEmpty()) {
+            throw new IllegalStateException("Benchmark query failed: " + result.getErrors());
+        }
+    }
+
+    /**
+     * Executes the query.
+     *
+     * @return the execution result
+     */
+    @Benchmark
+    public ExecutionResult invoke() {
+        return Flowable.fromPublisher(invocation.invoke(invocationData, httpRequest)).blockingFirst();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.benchmarks;
+
+import io.micronaut.configuration.graphql.GraphQLConfiguration;
+import io.micronaut.configuration.graphql.GraphiQLController;
+import io.micronaut.core.io.ResourceResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks serving the GraphiQL page by the {@link GraphiQLController}.
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@State(Scope.Benchmark)
+public class GraphiQLControllerBenchmark {
+
+    private GraphiQLController controller;
+
+    /**
+     * Creates the controller with the default configuration.
+     */
+    @Setup
+    public void setup() {
+        controller = new GraphiQLController(new GraphQLConfiguration(), new ResourceResolver());
+    }
+
+    /**
+     * Returns the GraphiQL page.
+     *
+     * @return the GraphiQL page
+     */
+    @Benchmark
+    public String get() {
+        return controller.getPage();
+    }
+}
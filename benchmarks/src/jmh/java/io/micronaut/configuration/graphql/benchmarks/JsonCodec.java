@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.configuration.graphql.DslJsonGraphQLJsonSerializer;
+import io.micronaut.configuration.graphql.GraphQLJsonSerializer;
+import io.micronaut.configuration.graphql.JacksonGraphQLJsonSerializer;
+
+/**
+ * The {@link GraphQLJsonSerializer} implementations to compare, see {@code graphql.json.codec}.
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public enum JsonCodec {
+
+    /**
+     * The default {@link JacksonGraphQLJsonSerializer}.
+     */
+    JACKSON {
+        @Override
+        GraphQLJsonSerializer createSerializer() {
+            return new JacksonGraphQLJsonSerializer(new ObjectMapper());
+        }
+    },
+
+    /**
+     * The {@link DslJsonGraphQLJsonSerializer}.
+     */
+    DSL_JSON {
+        @Override
+        GraphQLJsonSerializer createSerializer() {
+            return new DslJsonGraphQLJsonSerializer();
+        }
+    };
+
+    /**
+     * Creates the serializer.
+     *
+     * @return the serializer
+     */
+    abstract GraphQLJsonSerializer createSerializer();
+}
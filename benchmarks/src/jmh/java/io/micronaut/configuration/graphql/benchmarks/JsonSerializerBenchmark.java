@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResultImpl;
+import io.micronaut.configuration.graphql.GraphQLJsonSerializer;
+import io.micronaut.configuration.graphql.GraphQLRequestBody;
+import io.micronaut.configuration.graphql.GraphQLResponseBody;
+import io.micronaut.configuration.graphql.JacksonGraphQLJsonSerializer;
+import io.micronaut.configuration.graphql.SchemaAwareGraphQLResponseBodySerializer;
+import io.micronaut.configuration.graphql.SerializedFieldNames;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks decoding GraphQL requests and encoding GraphQL responses with the {@link GraphQLJsonSerializer}
+ * implementations.
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@State(Scope.Benchmark)
+public class JsonSerializerBenchmark {
+
+    /**
+     * The number of variables in the request and the number of items in the response.
+     */
+    @Param({"1", "100", "10000"})
+    int size;
+
+    /**
+     * The JSON codec.
+     */
+    @Param({"JACKSON", "DSL_JSON"})
+    JsonCodec codec;
+
+    private GraphQLJsonSerializer serializer;
+    private JacksonGraphQLJsonSerializer schemaAwareSerializer;
+    private String request;
+    private byte[] requestBytes;
+    private GraphQLResponseBody response;
+    private GraphQLResponseBody executionResultResponse;
+
+    /**
+     * Creates the serializer and the request and response of the configured size.
+     */
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        serializer = codec.createSerializer();
+        SerializedFieldNames fieldNames = new SerializedFieldNames(SyntheticSchema.LIST.createSchema(), 10000);
+        schemaAwareSerializer = new JacksonGraphQLJsonSerializer(
+                objectMapper, new SchemaAwareGraphQLResponseBodySerializer(fieldNames));
+
+        Map<String, Object> variables = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            variables.put("variable" + i, "value" + i);
+        }
+        GraphQLRequestBody requestBody = new GraphQLRequestBody();
+        requestBody.setQuery(SyntheticSchema.LIST.query());
+        requestBody.setVariables(variables);
+        request = serializer.serialize(requestBody);
+        requestBytes = serializer.serializeToBytes(requestBody);
+
+        List<Map<String, Object>> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", String.valueOf(i));
+            item.put("name", "item" + i);
+            item.put("description", "The description of item " + i);
+            item.put("quantity", i);
+            item.put("available", i % 2 == 0);
+            items.add(item);
+        }
+        Map<String, Object> data = Collections.singletonMap("items", items);
+        response = new GraphQLResponseBody(Collections.singletonMap("data", data));
+        executionResultResponse = new GraphQLResponseBody(ExecutionResultImpl.newExecutionResult().data(data).build());
+    }
+
+    /**
+     * Decodes a JSON request body.
+     *
+     * @return the request body
+     */
+    @Benchmark
+    public GraphQLRequestBody decodeRequest() {
+        return serializer.deserialize(request, GraphQLRequestBody.class);
+    }
+
+    /**
+     * Decodes a UTF-8 encoded JSON request body, as done by the
+     * {@link io.micronaut.configuration.graphql.GraphQLController}.
+     *
+     * @return the request body
+     */
+    @Benchmark
+    public GraphQLRequestBody decodeRequestBytes() {
+        return serializer.deserialize(requestBytes, GraphQLRequestBody.class);
+    }
+
+    /**
+     * Encodes a response body created from a specification map to JSON.
+     *
+     * @return the JSON
+     */
+    @Benchmark
+    public String encodeResponse() {
+        return serializer.serialize(response);
+    }
+
+    /**
+     * Encodes a response body created from an execution result to JSON.
+     *
+     * @return the JSON
+     */
+    @Benchmark
+    public String encodeExecutionResult() {
+        return serializer.serialize(executionResultResponse);
+    }
+
+    /**
+     * Encodes a response body created from an execution result to UTF-8 encoded JSON, as done by the
+     * {@link io.micronaut.configuration.graphql.GraphQLController}.
+     *
+     * @return the JSON
+     */
+    @Benchmark
+    public byte[] encodeExecutionResultBytes() {
+        return serializer.serializeToBytes(executionResultResponse);
+    }
+
+    /**
+     * Encodes a response body created from an execution result to JSON with the Jackson field names pre-encoded
+     * from the schema, regardless of the configured codec.
+     *
+     * @return the JSON
+     */
+    @Benchmark
+    public String encodeExecutionResultSchemaAware() {
+        return schemaAwareSerializer.serialize(executionResultResponse);
+    }
+}
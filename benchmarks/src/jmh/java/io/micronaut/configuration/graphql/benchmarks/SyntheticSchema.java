@@ -0,0 +1,197 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.benchmarks;
+
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeRuntimeWiring;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic schemas of different shapes with their benchmark queries.
+ *
+ * <p>The data is created once and returned by static data fetchers, so the benchmarks measure the request
+ * pipeline and the GraphQL engine instead of the data access.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public enum SyntheticSchema {
+
+    /**
+     * A root type with 10 scalar fields.
+     */
+    FLAT {
+        @Override
+        GraphQLSchema createSchema() {
+            StringBuilder sdl = new StringBuilder("type Query {\n");
+            TypeRuntimeWiring.Builder queryWiring = TypeRuntimeWiring.newTypeWiring("Query");
+            for (int i = 0; i < FLAT_FIELDS; i++) {
+                sdl.append("  field").append(i).append(": String\n");
+                queryWiring.dataFetcher("field" + i, constant("value" + i));
+            }
+            sdl.append("}\n");
+            return schema(sdl.toString(), RuntimeWiring.newRuntimeWiring().type(queryWiring).build());
+        }
+
+        @Override
+        String query() {
+            StringBuilder query = new StringBuilder("{");
+            for (int i = 0; i < FLAT_FIELDS; i++) {
+                query.append(" field").append(i);
+            }
+            return query.append(" }").toString();
+        }
+    },
+
+    /**
+     * A single object with 100 scalar fields.
+     */
+    WIDE {
+        @Override
+        GraphQLSchema createSchema() {
+            StringBuilder sdl = new StringBuilder("type Query {\n  item: Item\n}\n\ntype Item {\n");
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (int i = 0; i < WIDE_FIELDS; i++) {
+                boolean string = i % 2 == 0;
+                sdl.append("  field").append(i).append(string ? ": String\n" : ": Int\n");
+                item.put("field" + i, string ? "value" + i : i);
+            }
+            sdl.append("}\n");
+            return schema(sdl.toString(), RuntimeWiring.newRuntimeWiring()
+                    .type("Query", typeWiring -> typeWiring.dataFetcher("item", constant(item)))
+                    .build());
+        }
+
+        @Override
+        String query() {
+            StringBuilder query = new StringBuilder("{ item {");
+            for (int i = 0; i < WIDE_FIELDS; i++) {
+                query.append(" field").append(i);
+            }
+            return query.append(" } }").toString();
+        }
+    },
+
+    /**
+     * Objects nested 20 levels deep.
+     */
+    DEEP {
+        @Override
+        GraphQLSchema createSchema() {
+            Map<String, Object> node = null;
+            for (int i = DEPTH; i > 0; i--) {
+                Map<String, Object> parent = new LinkedHashMap<>();
+                parent.put("value", "level" + i);
+                parent.put("child", node);
+                node = parent;
+            }
+            DataFetcher<Object> rootFetcher = constant(node);
+            return schema("type Query {\n  node: Node\n}\n\ntype Node {\n  value: String\n  child: Node\n}\n",
+                    RuntimeWiring.newRuntimeWiring()
+                            .type("Query", typeWiring -> typeWiring.dataFetcher("node", rootFetcher))
+                            .build());
+        }
+
+        @Override
+        String query() {
+            StringBuilder query = new StringBuilder("{ node {");
+            for (int i = 1; i < DEPTH; i++) {
+                query.append(" value child {");
+            }
+            query.append(" value");
+            for (int i = 0; i < DEPTH; i++) {
+                query.append(" }");
+            }
+            return query.append(" }").toString();
+        }
+    },
+
+    /**
+     * A list of 1000 objects with 5 scalar fields each.
+     */
+    LIST {
+        @Override
+        GraphQLSchema createSchema() {
+            List<Map<String, Object>> items = new ArrayList<>(LIST_SIZE);
+            for (int i = 0; i < LIST_SIZE; i++) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("id", String.valueOf(i));
+                item.put("name", "item" + i);
+                item.put("description", "The description of item " + i);
+                item.put("quantity", i);
+                item.put("available", i % 2 == 0);
+                items.add(item);
+            }
+            return schema("type Query {\n  items: [Item!]!\n}\n\n"
+                            + "type Item {\n  id: ID!\n  name: String\n  description: String\n  quantity: Int\n"
+                            + "  available: Boolean\n}\n",
+                    RuntimeWiring.newRuntimeWiring()
+                            .type("Query", typeWiring -> typeWiring.dataFetcher("items", constant(items)))
+                            .build());
+        }
+
+        @Override
+        String query() {
+            return "{ items { id name description quantity available } }";
+        }
+    };
+
+    private static final int FLAT_FIELDS = 10;
+    private static final int WIDE_FIELDS = 100;
+    private static final int DEPTH = 20;
+    private static final int LIST_SIZE = 1000;
+
+    /**
+     * Creates a new {@link GraphQL} instance for this schema.
+     *
+     * @return the GraphQL instance
+     */
+    GraphQL createGraphQL() {
+        return GraphQL.newGraphQL(createSchema()).build();
+    }
+
+    /**
+     * Creates this schema.
+     *
+     * @return the schema
+     */
+    abstract GraphQLSchema createSchema();
+
+    /**
+     * Returns the benchmark query selecting all fields of this schema.
+     *
+     * @return the query
+     */
+    abstract String query();
+
+    private static GraphQLSchema schema(String sdl, RuntimeWiring runtimeWiring) {
+        return new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(sdl), runtimeWiring);
+    }
+
+    private static DataFetcher<Object> constant(Object value) {
+        return environment -> value;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micronaut.configuration.graphql.GraphQLController;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.client.RxHttpClient;
+import io.micronaut.runtime.server.EmbeddedServer;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open model HTTP load test of a GraphQL endpoint.
+ *
+ * <p>Requests of the {@link Scenario} are started at a fixed arrival rate, independent of the response times, over
+ * pooled connections of the Micronaut HTTP client. Unless a {@code --url} is given, the application on the classpath
+ * (the {@code todo} example by default) is started on an embedded server in the same JVM.</p>
+ *
+ * <p>The results are written to a timestamped directory as {@code summary.json} with the throughput, error rates and
+ * latency percentiles, and as HdrHistogram {@code .hgrm} percentile distributions.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public final class LoadTest {
+
+    private static final String USAGE = "Usage: LoadTest --scenario <file> [--url <url>] [--path <path>] "
+            + "[--rate <requests/s>] [--duration <s>] [--warmup <s>] [--max-connections <n>] [--max-in-flight <n>] "
+            + "[--output <dir>]";
+
+    private final RxHttpClient client;
+    private final String path;
+    private final Scenario scenario;
+    private final int rate;
+    private final int maxInFlight;
+
+    private LoadTest(RxHttpClient client, String path, Scenario scenario, int rate, int maxInFlight) {
+        this.client = client;
+        this.path = path;
+        this.scenario = scenario;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args the command line arguments
+     * @throws Exception if the load test fails
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        if (!options.containsKey("scenario")) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        Path scenarioFile = Paths.get(options.get("scenario"));
+        String url = options.get("url");
+        String path = options.getOrDefault("path", "/graphql");
+        int rate = Integer.parseInt(options.getOrDefault("rate", "200"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int maxConnections = Integer.parseInt(options.getOrDefault("max-connections", "64"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "10000"));
+        Path output = Paths.get(options.getOrDefault("output", "build/reports/loadtest"))
+                .resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Scenario scenario = Scenario.load(scenarioFile, objectMapper);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("micronaut.server.port", -1);
+        properties.put("micronaut.http.client.pool.enabled", true);
+        properties.put("micronaut.http.client.pool.max-connections", maxConnections);
+        properties.put("micronaut.http.client.read-timeout", "30s");
+
+        ApplicationContext context;
+        URL target;
+        if (url == null) {
+            EmbeddedServer server = ApplicationContext.run(EmbeddedServer.class, properties);
+            context = server.getApplicationContext();
+            target = server.getURL();
+        } else {
+            context = ApplicationContext.run(properties);
+            target = new URL(url);
+        }
+        try (RxHttpClient client = context.createBean(RxHttpClient.class, target)) {
+            LoadTest loadTest = new LoadTest(client, path, scenario, rate, maxInFlight);
+
+            System.out.printf("Warming up %s%s for %d s at %d requests/s%n", target, path, warmup, rate);
+            loadTest.run(warmup, new Statistics(scenario));
+
+            System.out.printf("Running %s%s for %d s at %d requests/s%n", target, path, duration, rate);
+            Statistics statistics = new Statistics(scenario);
+            long elapsedNanos = loadTest.run(duration, statistics);
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("timestamp", LocalDateTime.now().toString());
+            summary.put("version", GraphQLController.class.getPackage().getImplementationVersion());
+            summary.put("javaVersion", System.getProperty("java.version"));
+            summary.put("url", target + path);
+            summary.put("scenario", scenarioFile.toString());
+            summary.put("rate", rate);
+            summary.put("durationSeconds", duration);
+            summary.put("warmupSeconds", warmup);
+            summary.put("maxConnections", maxConnections);
+            summary.put("elapsedSeconds", elapsedNanos / 1e9);
+            summary.putAll(statistics.summary(elapsedNanos));
+
+            Files.createDirectories(output);
+            objectMapper.writeValue(output.resolve("summary.json").toFile(), summary);
+            statistics.writeHistograms(output);
+            System.out.println(objectMapper.writeValueAsString(summary));
+            System.out.println("Results written to " + output.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Starts requests at the configured arrival rate for the given duration and waits for all of them to complete.
+     *
+     * @param durationSeconds the duration in seconds
+     * @param statistics      the statistics to record to
+     * @return the elapsed time in nanoseconds
+     * @throws InterruptedException if interrupted while waiting for the requests to complete
+     */
+    private long run(int durationSeconds, Statistics statistics) throws InterruptedException {
+        long count = (long) durationSeconds * rate;
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        CountDownLatch completed = new CountDownLatch((int) count);
+        AtomicInteger inFlight = new AtomicInteger();
+        long start = System.nanoTime();
+        for (long i = 0; i < count; i++) {
+            long intendedStart = start + i * interval;
+            long delay = intendedStart - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            Scenario.Request request = scenario.next();
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                statistics.dropped(request);
+                completed.countDown();
+                continue;
+            }
+            HttpRequest<String> httpRequest = HttpRequest.POST(path, request.getBody())
+                    .contentType(MediaType.APPLICATION_JSON_TYPE);
+            client.exchange(httpRequest, String.class).subscribe(
+                    response -> {
+                        inFlight.decrementAndGet();
+                        statistics.record(request, System.nanoTime() - intendedStart, hasErrors(response));
+                        completed.countDown();
+                    },
+                    error -> {
+                        inFlight.decrementAndGet();
+                        statistics.record(request, System.nanoTime() - intendedStart, true);
+                        completed.countDown();
+                    });
+        }
+        completed.await();
+        return System.nanoTime() - start;
+    }
+
+    private static boolean hasErrors(HttpResponse<String> response) {
+        // A cheap check for GraphQL errors, as parsing every response would load the load generator.
+        String body = response.body();
+        return body == null || body.contains("\"errors\"");
+    }
+}
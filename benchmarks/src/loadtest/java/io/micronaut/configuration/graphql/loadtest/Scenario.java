@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.configuration.graphql.GraphQLRequestBody;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A weighted mix of GraphQL requests, loaded from a JSON file like:
+ *
+ * <pre>
+ * {
+ *   "requests": [
+ *     { "name": "toDos", "weight": 80, "query": "{ toDos { id title } }" },
+ *     { "name": "createToDo", "weight": 20, "query": "mutation($title: String!) { ... }",
+ *       "variables": { "title": "Load test" } }
+ *   ]
+ * }
+ * </pre>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+final class Scenario {
+
+    private final List<Request> requests;
+    private final int[] cumulativeWeights;
+
+    private Scenario(List<Request> requests) {
+        this.requests = requests;
+        this.cumulativeWeights = new int[requests.size()];
+        int total = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            total += requests.get(i).getWeight();
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The scenario must contain at least one request with a positive weight");
+        }
+    }
+
+    /**
+     * Loads a scenario from the given JSON file.
+     *
+     * @param file         the scenario file
+     * @param objectMapper the object mapper, also used to pre-encode the request bodies
+     * @return the scenario
+     * @throws IOException if the file cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    static Scenario load(Path file, ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> json = objectMapper.readValue(file.toFile(), Map.class);
+        List<Map<String, Object>> entries = (List<Map<String, Object>>) json.get("requests");
+        if (entries == null || entries.isEmpty()) {
+            throw new IllegalArgumentException("No requests defined in scenario: " + file);
+        }
+        List<Request> requests = new ArrayList<>(entries.size());
+        for (Map<String, Object> entry : entries) {
+            GraphQLRequestBody body = new GraphQLRequestBody();
+            body.setQuery((String) entry.get("query"));
+            body.setOperationName((String) entry.get("operationName"));
+            body.setVariables((Map<String, Object>) entry.get("variables"));
+            String name = (String) entry.get("name");
+            Number weight = (Number) entry.getOrDefault("weight", 1);
+            requests.add(new Request(name, weight.intValue(), objectMapper.writeValueAsString(body)));
+        }
+        return new Scenario(Collections.unmodifiableList(requests));
+    }
+
+    /**
+     * Returns the requests of this scenario.
+     *
+     * @return the requests
+     */
+    List<Request> getRequests() {
+        return requests;
+    }
+
+    /**
+     * Picks the next request at random according to the weights.
+     *
+     * @return the request
+     */
+    Request next() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return requests.get(i);
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    /**
+     * A named GraphQL request with its pre-encoded JSON body.
+     */
+    static final class Request {
+
+        private final String name;
+        private final int weight;
+        private final String body;
+
+        /**
+         * Default constructor.
+         *
+         * @param name   the request name
+         * @param weight the relative weight of the request in the mix
+         * @param body   the JSON request body
+         */
+        Request(String name, int weight, String body) {
+            this.name = name;
+            this.weight = weight;
+            this.body = body;
+        }
+
+        /**
+         * @return the request name
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return the relative weight of the request in the mix
+         */
+        int getWeight() {
+            return weight;
+        }
+
+        /**
+         * @return the JSON request body
+         */
+        String getBody() {
+            return body;
+        }
+    }
+}
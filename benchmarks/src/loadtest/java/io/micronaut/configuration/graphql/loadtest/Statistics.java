@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counters per request of a {@link Scenario}, and in total.
+ *
+ * <p>Latencies are recorded in microseconds from the intended start time of a request, so a server falling behind
+ * the arrival rate is not hidden by coordinated omission.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+final class Statistics {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, Counters> requests = new LinkedHashMap<>();
+    private final Counters total = new Counters();
+
+    /**
+     * Default constructor.
+     *
+     * @param scenario the scenario
+     */
+    Statistics(Scenario scenario) {
+        for (Scenario.Request request : scenario.getRequests()) {
+            requests.put(request.getName(), new Counters());
+        }
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param request      the request
+     * @param latencyNanos the latency in nanoseconds, measured from the intended start time
+     * @param error        whether the request failed
+     */
+    void record(Scenario.Request request, long latencyNanos, boolean error) {
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+        for (Counters counters : new Counters[] {requests.get(request.getName()), total}) {
+            counters.histogram.recordValue(latencyMicros);
+            if (error) {
+                counters.errors.increment();
+            }
+        }
+    }
+
+    /**
+     * Records a request which was not sent as the maximum number of requests in flight was reached.
+     *
+     * @param request the request
+     */
+    void dropped(Scenario.Request request) {
+        requests.get(request.getName()).dropped.increment();
+        total.dropped.increment();
+    }
+
+    /**
+     * Returns the summary of the total and the individual requests.
+     *
+     * @param elapsedNanos the elapsed time of the run
+     * @return the summary
+     */
+    Map<String, Object> summary(long elapsedNanos) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("total", total.summary(elapsedNanos));
+        Map<String, Object> requestSummaries = new LinkedHashMap<>();
+        requests.forEach((name, counters) -> requestSummaries.put(name, counters.summary(elapsedNanos)));
+        summary.put("requests", requestSummaries);
+        return summary;
+    }
+
+    /**
+     * Writes the latency percentile distributions in milliseconds, in the HdrHistogram {@code .hgrm} format which can
+     * be plotted with the HdrHistogram plotter.
+     *
+     * @param directory the output directory
+     * @throws IOException if a file cannot be written
+     */
+    void writeHistograms(Path directory) throws IOException {
+        writeHistogram(directory.resolve("total.hgrm"), total.histogram);
+        for (Map.Entry<String, Counters> entry : requests.entrySet()) {
+            writeHistogram(directory.resolve(entry.getKey() + ".hgrm"), entry.getValue().histogram);
+        }
+    }
+
+    private static void writeHistogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    /**
+     * The latency histogram and counters of a request.
+     */
+    private static final class Counters {
+
+        private final Histogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        private Map<String, Object> summary(long elapsedNanos) {
+            long count = histogram.getTotalCount();
+            long errorCount = errors.sum();
+            long droppedCount = dropped.sum();
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("mean", histogram.getMean() / MICROS_PER_MILLI);
+            latency.put("p50", histogram.getValueAtPercentile(50) / MICROS_PER_MILLI);
+            latency.put("p90", histogram.getValueAtPercentile(90) / MICROS_PER_MILLI);
+            latency.put("p99", histogram.getValueAtPercentile(99) / MICROS_PER_MILLI);
+            latency.put("p99.9", histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI);
+            latency.put("max", histogram.getMaxValue() / MICROS_PER_MILLI);
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("errors", errorCount);
+            summary.put("dropped", droppedCount);
+            long attempted = count + droppedCount;
+            summary.put("errorRate", attempted == 0 ? 0.0 : (double) (errorCount + droppedCount) / attempted);
+            summary.put("throughput", count / (elapsedNanos / 1e9));
+            summary.put("latencyMillis", latency);
+            return summary;
+        }
+    }
+}
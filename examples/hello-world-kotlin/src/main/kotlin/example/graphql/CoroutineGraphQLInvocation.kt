@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package example.graphql
+
+import graphql.ExecutionResult
+import graphql.GraphQLContext
+import io.micronaut.configuration.graphql.DefaultGraphQLInvocation
+import io.micronaut.configuration.graphql.GraphQLExecutionInputCustomizer
+import io.micronaut.configuration.graphql.GraphQLInvocation
+import io.micronaut.configuration.graphql.GraphQLInvocationData
+import io.micronaut.configuration.graphql.GraphQLProvider
+import io.micronaut.context.annotation.Replaces
+import io.micronaut.http.HttpRequest
+import io.reactivex.Flowable
+import kotlinx.coroutines.Job
+import org.dataloader.DataLoaderRegistry
+import org.reactivestreams.Publisher
+import javax.annotation.Nullable
+import javax.inject.Provider
+import javax.inject.Singleton
+
+/**
+ * Invokes the GraphQL requests like the [DefaultGraphQLInvocation], with a [Job] in the [GraphQLContext] of the
+ * execution that is cancelled when the subscriber of the execution result cancels, e.g. as the response is cancelled.
+ * The [CoroutineInstrumentation] runs the [SuspendingDataFetcher]s of the request as its children.
+ *
+ * @author Marcel Overdijk
+ */
+@Singleton
+@Replaces(DefaultGraphQLInvocation::class)
+class CoroutineGraphQLInvocation(private val graphQLProvider: GraphQLProvider,
+                                 private val graphQLExecutionInputCustomizer: GraphQLExecutionInputCustomizer,
+                                 @Nullable private val dataLoaderRegistry: Provider<DataLoaderRegistry>?)
+    : GraphQLInvocation {
+
+    override fun invoke(invocationData: GraphQLInvocationData,
+                        httpRequest: HttpRequest<*>): Publisher<ExecutionResult> {
+        val job = Job()
+        val customizer = GraphQLExecutionInputCustomizer { executionInput, request ->
+            executionInput.getContext<GraphQLContext>().put(Job::class.java, job)
+            graphQLExecutionInputCustomizer.customize(executionInput, request)
+        }
+        return Flowable.fromPublisher(DefaultGraphQLInvocation(graphQLProvider, customizer, dataLoaderRegistry)
+                .invoke(invocationData, httpRequest))
+                .doOnCancel { job.cancel() }
+    }
+}
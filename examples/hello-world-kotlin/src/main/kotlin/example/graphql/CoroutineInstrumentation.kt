@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package example.graphql
+
+import graphql.ExecutionResult
+import graphql.GraphQLContext
+import graphql.execution.instrumentation.InstrumentationContext
+import graphql.execution.instrumentation.InstrumentationState
+import graphql.execution.instrumentation.SimpleInstrumentation
+import graphql.execution.instrumentation.SimpleInstrumentationContext
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters
+import graphql.schema.DataFetcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.future.future
+import javax.inject.Singleton
+
+/**
+ * Runs the [SuspendingDataFetcher]s of a request as coroutines of the request's own scope, which is cancelled once the
+ * request completes, so no coroutine outlives the request.
+ *
+ * When the [GraphQLContext] of the execution holds a [Job] under the [Job] class, like the [CoroutineGraphQLInvocation]
+ * adds, the scope is a child of it, so cancelling that job, e.g. when the response is cancelled, cancels the data
+ * fetchers still running as well.
+ *
+ * @author Marcel Overdijk
+ */
+@Singleton
+class CoroutineInstrumentation : SimpleInstrumentation() {
+
+    override fun createState(parameters: InstrumentationCreateStateParameters): InstrumentationState {
+        val context = parameters.executionInput.context
+        return RequestScope((context as? GraphQLContext)?.get<Job>(Job::class.java))
+    }
+
+    override fun beginExecution(parameters: InstrumentationExecutionParameters): InstrumentationContext<ExecutionResult> {
+        val scope = parameters.getInstrumentationState<RequestScope>()
+        return object : SimpleInstrumentationContext<ExecutionResult>() {
+            override fun onCompleted(result: ExecutionResult?, t: Throwable?) {
+                scope.cancel()
+            }
+        }
+    }
+
+    override fun instrumentDataFetcher(dataFetcher: DataFetcher<*>,
+                                       parameters: InstrumentationFieldFetchParameters): DataFetcher<*> {
+        if (dataFetcher !is SuspendingDataFetcher<*>) {
+            return dataFetcher
+        }
+        val scope = parameters.getInstrumentationState<RequestScope>()
+        return DataFetcher { env -> scope.future { dataFetcher.fetch(env) } }
+    }
+
+    /**
+     * The coroutine scope of a request. A failing data fetcher does not cancel the other data fetchers, as its error
+     * is reported next to their results.
+     */
+    class RequestScope(parent: Job?) : CoroutineScope, InstrumentationState {
+
+        override val coroutineContext = SupervisorJob(parent) + Dispatchers.Default
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package example.graphql
+
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetchingEnvironment
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.reactive.asPublisher
+import org.reactivestreams.Publisher
+
+/**
+ * A [DataFetcher] of a subscription field returning a [Flow], bridged to graphql-java as [Publisher].
+ *
+ * The flow is collected when the subscriber requests the events, and is cancelled when the subscriber cancels its
+ * subscription.
+ *
+ * This adapter is part of the example, not of the Micronaut GraphQL module; copy it into your application to use it.
+ * Note that the `/graphql` endpoint does not serve subscriptions, as it responds with a single execution result.
+ *
+ * @author Marcel Overdijk
+ */
+interface FlowDataFetcher<T : Any> : DataFetcher<Publisher<T>> {
+
+    fun flow(env: DataFetchingEnvironment): Flow<T>
+
+    override fun get(env: DataFetchingEnvironment): Publisher<T> = flow(env).asPublisher()
+}
@@ -40,7 +40,10 @@ class GraphQLFactory {
 
     @Bean
     @Singleton
-    fun graphQL(resourceResolver: ResourceResolver, helloDataFetcher: HelloDataFetcher): GraphQL { // <2>
+    fun graphQL(resourceResolver: ResourceResolver,
+                helloDataFetcher: HelloDataFetcher,
+                greetingsDataFetcher: GreetingsDataFetcher,
+                coroutineInstrumentation: CoroutineInstrumentation): GraphQL { // <2>
 
         val schemaParser = SchemaParser()
         val schemaGenerator = SchemaGenerator()
@@ -54,13 +57,17 @@ class GraphQLFactory {
         val runtimeWiring = RuntimeWiring.newRuntimeWiring()
                 .type("Query") { typeWiring -> typeWiring
                         .dataFetcher("hello", helloDataFetcher) }
+                .type("Subscription") { typeWiring -> typeWiring
+                        .dataFetcher("greetings", greetingsDataFetcher) }
                 .build()
 
         // Create the executable schema.
         val graphQLSchema = schemaGenerator.makeExecutableSchema(typeRegistry, runtimeWiring)
 
         // Return the GraphQL bean.
-        return GraphQL.newGraphQL(graphQLSchema).build()
+        return GraphQL.newGraphQL(graphQLSchema)
+                .instrumentation(coroutineInstrumentation)
+                .build()
     }
 }
 // end::clazz[]
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package example.graphql
+
+import graphql.schema.DataFetchingEnvironment
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import javax.inject.Singleton
+
+/**
+ * @author Marcel Overdijk
+ */
+@Singleton
+class GreetingsDataFetcher : FlowDataFetcher<String> {
+
+    override fun flow(env: DataFetchingEnvironment): Flow<String> {
+        val name = env.getArgument<String>("name") ?: "World"
+        val count = env.getArgument<Int>("count") ?: 3
+        return flow {
+            for (i in 1..count) {
+                delay(1000)
+                emit("Hello $name! ($i)")
+            }
+        }
+    }
+}
@@ -16,18 +16,16 @@
 
 package example.graphql
 
-import graphql.schema.DataFetcher
 import graphql.schema.DataFetchingEnvironment
-
 import javax.inject.Singleton
 
 /**
  * @author Marcel Overdijk
  */
 @Singleton
-class HelloDataFetcher : DataFetcher<String> {
+class HelloDataFetcher : SuspendingDataFetcher<String> {
 
-    override fun get(env: DataFetchingEnvironment): String {
+    override suspend fun fetch(env: DataFetchingEnvironment): String {
         var name = env.getArgument<String>("name")
         if (name == null || name.trim().isEmpty()) {
             name = "World"
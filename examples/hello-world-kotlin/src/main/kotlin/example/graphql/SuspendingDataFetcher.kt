@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package example.graphql
+
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetchingEnvironment
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.GlobalScope
+import kotlinx.coroutines.future.future
+import java.util.concurrent.CompletableFuture
+
+/**
+ * A [DataFetcher] implemented as suspend function, bridged to graphql-java as [CompletableFuture] without blocking a
+ * thread.
+ *
+ * The [CoroutineInstrumentation] runs the function within the coroutine scope of the request. Without it, the function
+ * runs in the global scope.
+ *
+ * This adapter is part of the example, not of the Micronaut GraphQL module; copy it into your application to use it.
+ *
+ * @author Marcel Overdijk
+ */
+interface SuspendingDataFetcher<T> : DataFetcher<CompletableFuture<T>> {
+
+    suspend fun fetch(env: DataFetchingEnvironment): T
+
+    override fun get(env: DataFetchingEnvironment): CompletableFuture<T> =
+            GlobalScope.future(Dispatchers.Default) { fetch(env) }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package example.graphql
+
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.schema.DataFetchingEnvironment
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import io.micronaut.test.annotation.MicronautTest
+import io.reactivex.Flowable
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.reactivestreams.Publisher
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+
+/**
+ * @author Marcel Overdijk
+ */
+@MicronautTest
+class FlowDataFetcherTest {
+
+    @Inject
+    lateinit var graphQL: GraphQL
+
+    @Test
+    fun `flow data fetcher emits the values of the flow`() {
+        val result = graphQL.execute("subscription { greetings(name: \"Simba\", count: 2) }")
+
+        assertTrue(result.errors.isEmpty())
+        val greetings = Flowable.fromPublisher(result.getData<Publisher<ExecutionResult>>())
+                .map { it.getData<Map<String, Any>>()["greetings"] }
+                .toList()
+                .blockingGet()
+        assertEquals(listOf("Hello Simba! (1)", "Hello Simba! (2)"), greetings)
+    }
+
+    @Test
+    fun `cancelling the subscription cancels the flow`() {
+        val cancelled = CountDownLatch(1)
+        val dataFetcher = object : FlowDataFetcher<String> {
+            override fun flow(env: DataFetchingEnvironment): Flow<String> = flow {
+                emit("Hello World!")
+                try {
+                    delay(Long.MAX_VALUE)
+                } catch (e: CancellationException) {
+                    cancelled.countDown()
+                    throw e
+                }
+            }
+        }
+        val runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type("Subscription") { typeWiring -> typeWiring.dataFetcher("greetings", dataFetcher) }
+                .build()
+        val graphQLSchema = SchemaGenerator().makeExecutableSchema(SchemaParser().parse(
+                "type Query { hello: String } type Subscription { greetings: String! }"), runtimeWiring)
+        val result = GraphQL.newGraphQL(graphQLSchema).build().execute("subscription { greetings }")
+
+        val greeting = Flowable.fromPublisher(result.getData<Publisher<ExecutionResult>>())
+                .map { it.getData<Map<String, Any>>()["greetings"] }
+                .blockingFirst()
+
+        assertEquals("Hello World!", greeting)
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS))
+    }
+}
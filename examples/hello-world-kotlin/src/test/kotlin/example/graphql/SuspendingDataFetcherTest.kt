@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package example.graphql
+
+import graphql.GraphQL
+import graphql.schema.DataFetchingEnvironment
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import io.micronaut.configuration.graphql.DefaultGraphQLExecutionInputCustomizer
+import io.micronaut.configuration.graphql.GraphQLInvocationData
+import io.micronaut.configuration.graphql.GraphQLProvider
+import io.micronaut.http.HttpRequest
+import io.micronaut.test.annotation.MicronautTest
+import io.reactivex.Flowable
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.delay
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+
+/**
+ * @author Marcel Overdijk
+ */
+@MicronautTest
+class SuspendingDataFetcherTest {
+
+    @Inject
+    lateinit var graphQL: GraphQL
+
+    @Test
+    fun `suspend data fetcher returns its value`() {
+        val result = graphQL.execute("{ hello(name: \"Simba\") }")
+
+        assertTrue(result.errors.isEmpty())
+        assertEquals(mapOf("hello" to "Hello Simba!"), result.getData<Map<String, Any>>())
+    }
+
+    @Test
+    fun `cancelling the execution result cancels the suspend data fetcher`() {
+        val started = CountDownLatch(1)
+        val cancelled = CountDownLatch(1)
+        val dataFetcher = object : SuspendingDataFetcher<String> {
+            override suspend fun fetch(env: DataFetchingEnvironment): String {
+                started.countDown()
+                try {
+                    delay(Long.MAX_VALUE)
+                } catch (e: CancellationException) {
+                    cancelled.countDown()
+                    throw e
+                }
+                return "Hello World!"
+            }
+        }
+        val runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query") { typeWiring -> typeWiring.dataFetcher("hello", dataFetcher) }
+                .build()
+        val graphQLSchema = SchemaGenerator().makeExecutableSchema(
+                SchemaParser().parse("type Query { hello: String! }"), runtimeWiring)
+        val graphQL = GraphQL.newGraphQL(graphQLSchema).instrumentation(CoroutineInstrumentation()).build()
+        val invocation = CoroutineGraphQLInvocation(
+                GraphQLProvider { graphQL }, DefaultGraphQLExecutionInputCustomizer(), null)
+
+        val subscriber = Flowable.fromPublisher(invocation.invoke(
+                GraphQLInvocationData("{ hello }", null, null), HttpRequest.POST("/graphql", ""))).test()
+
+        assertTrue(started.await(5, TimeUnit.SECONDS))
+        subscriber.cancel()
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS))
+    }
+}
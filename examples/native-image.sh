@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+#
+# Builds a GraalVM native image of an example, smoke tests it with queries against the schema of the example and
+# compares its startup time and memory usage with the JVM build. The measurements are printed and written to
+# examples/<example>/build/native-image-results.txt.
+#
+# Requires GraalVM with the native-image tool on the PATH.
+#
+# Usage: examples/native-image.sh <example>, e.g. examples/native-image.sh todo
+#
+set -euo pipefail
+
+EXAMPLE=${1:?"Usage: $0 <example>"}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+PROJECT="graphql-example-${EXAMPLE}"
+BUILD_DIR="${ROOT}/examples/${EXAMPLE}/build"
+URL="http://localhost:8080/graphql"
+RESULTS="${BUILD_DIR}/native-image-results.txt"
+
+"${ROOT}/gradlew" -p "${ROOT}" ":${PROJECT}:shadowJar"
+JAR=$(ls "${BUILD_DIR}"/libs/*-all.jar)
+
+(cd "${BUILD_DIR}" && native-image --no-server -cp "${JAR}")
+
+# Posts the given GraphQL request and fails unless the response contains all of the expected strings.
+expect() {
+    local name=$1 request=$2 response
+    shift 2
+    response=$(curl -sf -H "content-type: application/json" --data "${request}" "${URL}")
+    for expected in "$@"; do
+        if [[ "${response}" != *"${expected}"* ]]; then
+            echo "${name} build returned an unexpected response: ${response}, expected: ${expected}" >&2
+            exit 1
+        fi
+    done
+}
+
+# Runs queries with arguments against the schema of the example, exercising the data fetchers, the argument coercion
+# and the (de)serialization of the request and response bodies in the native image.
+smoke_test() {
+    local name=$1
+    case "${EXAMPLE}" in
+        todo)
+            expect "${name}" \
+                '{"query":"mutation($title: String!) { createToDo(title: $title) { id title completed } }",
+                  "variables":{"title":"Build a native image"}}' \
+                '"title":"Build a native image"' '"completed":false'
+            expect "${name}" \
+                '{"query":"{ toDos(first: 2) { totalCount edges { node { title } } pageInfo { hasNextPage } } }"}' \
+                '"totalCount":4' '"title":"Book flights to Gran Canaria"' '"hasNextPage":true'
+            ;;
+        hello-world-*)
+            expect "${name}" '{"query":"query($name: String) { hello(name: $name) }","variables":{"name":"native"}}' \
+                '"hello":"Hello native!"'
+            ;;
+        *)
+            expect "${name}" '{"query":"{ __typename }"}' '"__typename":"Query"'
+            ;;
+    esac
+}
+
+# Starts the given command, reports the time until the first successful GraphQL response, smoke tests it, including
+# the serialization of a validation error, and reports the resident set size after the smoke test.
+measure() {
+    local name=$1
+    shift
+    local start end rss pid
+    start=$(date +%s%N)
+    "$@" > "${BUILD_DIR}/${name}.log" 2>&1 &
+    pid=$!
+    until curl -sf -H "content-type: application/json" --data '{"query":"{ __typename }"}' "${URL}" > /dev/null; do
+        if ! kill -0 "${pid}" 2> /dev/null; then
+            echo "${name} build failed to start, see ${BUILD_DIR}/${name}.log" >&2
+            exit 1
+        fi
+        sleep 0.005
+    done
+    end=$(date +%s%N)
+    smoke_test "${name}"
+    expect "${name}" '{"query":"{ unknownField }"}' '"errors"' '"locations"'
+    rss=$(ps -o rss= -p "${pid}")
+    kill "${pid}"
+    wait "${pid}" || true
+    printf "%-6s first response after %5d ms, RSS %7d KB\n" "${name}" $(((end - start) / 1000000)) "${rss}" \
+        | tee -a "${RESULTS}"
+}
+
+echo "${EXAMPLE} on $(uname -sm), $(java -version 2>&1 | head -n 1)" > "${RESULTS}"
+measure jvm java -jar "${JAR}"
+measure native "${BUILD_DIR}/${PROJECT}"
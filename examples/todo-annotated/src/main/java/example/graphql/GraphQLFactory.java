@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package example.graphql;
+
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import io.micronaut.configuration.graphql.GraphQLOperationRegistry;
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.core.io.ResourceResolver;
+
+import javax.inject.Singleton;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+
+/**
+ * @author Marcel Overdijk
+ */
+@Factory
+@SuppressWarnings("Duplicates")
+public class GraphQLFactory {
+
+    @Bean
+    @Singleton
+    public GraphQLSchema graphQLSchema(ResourceResolver resourceResolver, GraphQLOperationRegistry graphQLOperationRegistry) {
+
+        SchemaParser schemaParser = new SchemaParser();
+        SchemaGenerator schemaGenerator = new SchemaGenerator();
+
+        // Parse the schema.
+        TypeDefinitionRegistry typeRegistry = new TypeDefinitionRegistry();
+        typeRegistry.merge(schemaParser.parse(new BufferedReader(new InputStreamReader(
+                resourceResolver.getResourceAsStream("classpath:schema.graphqls").get()))));
+
+        // Create the runtime wiring from the @GraphQLQuery and @GraphQLMutation annotated methods.
+        RuntimeWiring runtimeWiring = graphQLOperationRegistry.wire(RuntimeWiring.newRuntimeWiring()).build();
+
+        // Return the executable schema, the GraphQL bean is created by the DefaultGraphQLFactory.
+        return schemaGenerator.makeExecutableSchema(typeRegistry, runtimeWiring);
+    }
+}
@@ -16,9 +16,12 @@
 
 package example.domain;
 
+import io.micronaut.core.annotation.Introspected;
+
 /**
  * @author Marcel Overdijk
  */
+@Introspected
 @SuppressWarnings("Duplicates")
 public class ToDo {
 
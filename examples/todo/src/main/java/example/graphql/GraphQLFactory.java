@@ -20,15 +20,11 @@ import graphql.GraphQL;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.SchemaGenerator;
-import graphql.schema.idl.SchemaParser;
-import graphql.schema.idl.TypeDefinitionRegistry;
+import io.micronaut.configuration.graphql.BeanIntrospectionWiringFactory;
 import io.micronaut.context.annotation.Bean;
 import io.micronaut.context.annotation.Factory;
-import io.micronaut.core.io.ResourceResolver;
 
 import javax.inject.Singleton;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 
 /**
  * @author Marcel Overdijk
@@ -39,22 +35,16 @@ public class GraphQLFactory {
 
     @Bean
     @Singleton
-    public GraphQL graphQL(ResourceResolver resourceResolver,
-            ToDosDataFetcher toDosDataFetcher,
+    public GraphQL graphQL(ToDosDataFetcher toDosDataFetcher,
             CreateToDoDataFetcher createToDoDataFetcher,
             CompleteToDoDataFetcher completeToDoDataFetcher,
             DeleteToDoDataFetcher deleteToDoDataFetcher) {
 
-        SchemaParser schemaParser = new SchemaParser();
         SchemaGenerator schemaGenerator = new SchemaGenerator();
 
-        // Parse the schema.
-        TypeDefinitionRegistry typeRegistry = new TypeDefinitionRegistry();
-        typeRegistry.merge(schemaParser.parse(new BufferedReader(new InputStreamReader(
-                resourceResolver.getResourceAsStream("classpath:schema.graphqls").get()))));
-
         // Create the runtime wiring.
         RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .wiringFactory(new BeanIntrospectionWiringFactory())
                 .type("Query", typeWiring -> typeWiring
                         .dataFetcher("toDos", toDosDataFetcher))
                 .type("Mutation", typeWiring -> typeWiring
@@ -63,8 +53,9 @@ public class GraphQLFactory {
                         .dataFetcher("deleteToDo", deleteToDoDataFetcher))
                 .build();
 
-        // Create the executable schema.
-        GraphQLSchema graphQLSchema = schemaGenerator.makeExecutableSchema(typeRegistry, runtimeWiring);
+        // Create the executable schema, using the schema compiled at build time from schema.graphqls.
+        GraphQLSchema graphQLSchema = schemaGenerator.makeExecutableSchema(
+                new CompiledSchema().getTypeDefinitionRegistry(), runtimeWiring);
 
         // Return the GraphQL bean.
         return GraphQL.newGraphQL(graphQLSchema).build();
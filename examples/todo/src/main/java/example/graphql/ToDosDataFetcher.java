@@ -20,15 +20,22 @@ import example.domain.ToDo;
 import example.repository.ToDoRepository;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import io.micronaut.configuration.graphql.GraphQLProjection;
+import io.micronaut.configuration.graphql.relay.KeysetConnection;
 
 import javax.inject.Singleton;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * @author Marcel Overdijk
  */
 @Singleton
 @SuppressWarnings("Duplicates")
-public class ToDosDataFetcher implements DataFetcher<Iterable<ToDo>> {
+public class ToDosDataFetcher implements DataFetcher<KeysetConnection<ToDo>> {
+
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 100;
 
     private ToDoRepository toDoRepository;
 
@@ -37,7 +44,15 @@ public class ToDosDataFetcher implements DataFetcher<Iterable<ToDo>> {
     }
 
     @Override
-    public Iterable<ToDo> get(DataFetchingEnvironment env) {
-        return toDoRepository.findAll();
+    public KeysetConnection<ToDo> get(DataFetchingEnvironment env) {
+        // Only load the columns of the selected fields, and the id the cursors are made of.
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add("id");
+        GraphQLProjection.of(env).getRelation("edges")
+                .flatMap(edges -> edges.getRelation("node"))
+                .ifPresent(node -> columns.addAll(node.getFields()));
+        // Page through the to-dos by id, and only count them when the totalCount is selected.
+        return KeysetConnection.of(env, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE, ToDo::getId,
+                (afterId, limit) -> toDoRepository.findAll(afterId, limit, columns), toDoRepository::count);
     }
 }
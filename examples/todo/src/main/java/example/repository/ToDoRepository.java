@@ -17,11 +17,21 @@
 package example.repository;
 
 import example.domain.ToDo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.inject.Singleton;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Marcel Overdijk
@@ -30,7 +40,13 @@ import java.util.UUID;
 @SuppressWarnings("Duplicates")
 public class ToDoRepository {
 
-    private Map<String, ToDo> toDos = new LinkedHashMap<>();
+    private static final Logger LOG = LoggerFactory.getLogger(ToDoRepository.class);
+    private static final Set<String> COLUMNS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("id", "title", "completed")));
+
+    // Ordered by id, like the primary key index of a table.
+    private NavigableMap<String, ToDo> toDos = new TreeMap<>();
+    private AtomicLong loadedValues = new AtomicLong();
 
     public ToDoRepository() {
         save(new ToDo("Book flights to Gran Canaria"));
@@ -38,15 +54,63 @@ public class ToDoRepository {
         save(new ToDo("Watch La Casa de Papel"));
     }
 
-    public Iterable<ToDo> findAll() {
-        return toDos.values();
+    public synchronized Iterable<ToDo> findAll() {
+        return findAll(COLUMNS);
+    }
+
+    public synchronized Iterable<ToDo> findAll(Set<String> columns) {
+        return load(toDos.values(), toDos.size(), columns);
+    }
+
+    public synchronized List<ToDo> findAll(String afterId, int limit, Set<String> columns) {
+        // Seeks to the first to-do after the given id, like WHERE id > :afterId ORDER BY id LIMIT :limit would using
+        // the primary key index, instead of skipping all preceding to-dos like an OFFSET would.
+        Collection<ToDo> page = afterId != null ? toDos.tailMap(afterId, false).values() : toDos.values();
+        return load(page, limit, columns);
+    }
+
+    public synchronized long count() {
+        LOG.debug("Counted {} to-dos", toDos.size());
+        return toDos.size();
+    }
+
+    private List<ToDo> load(Collection<ToDo> toDos, int limit, Set<String> columns) {
+        // Only copy the given columns, like a SELECT of these columns would.
+        List<ToDo> result = new ArrayList<>(limit);
+        for (ToDo toDo : toDos) {
+            if (result.size() == limit) {
+                break;
+            }
+            ToDo row = new ToDo();
+            if (columns.contains("id")) {
+                row.setId(toDo.getId());
+            }
+            if (columns.contains("title")) {
+                row.setTitle(toDo.getTitle());
+            }
+            if (columns.contains("completed")) {
+                row.setCompleted(toDo.isCompleted());
+            }
+            result.add(row);
+        }
+        long loaded = (long) result.size() * columns.stream().filter(COLUMNS::contains).count();
+        loadedValues.addAndGet(loaded);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Loaded {} of {} values of {} to-dos (columns: {})", loaded, result.size() * COLUMNS.size(),
+                    result.size(), columns);
+        }
+        return result;
+    }
+
+    public long getLoadedValues() {
+        return loadedValues.get();
     }
 
-    public ToDo findById(String id) {
+    public synchronized ToDo findById(String id) {
         return toDos.get(id);
     }
 
-    public ToDo save(ToDo toDo) {
+    public synchronized ToDo save(ToDo toDo) {
         if (toDo.getId() == null) {
             toDo.setId(UUID.randomUUID().toString());
         }
@@ -54,7 +118,7 @@ public class ToDoRepository {
         return toDo;
     }
 
-    public void deleteById(String id) {
+    public synchronized void deleteById(String id) {
         toDos.remove(id);
     }
 }
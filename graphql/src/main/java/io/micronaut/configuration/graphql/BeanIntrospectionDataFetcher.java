@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.PropertyDataFetcher;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanIntrospector;
+import io.micronaut.core.beans.BeanProperty;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link DataFetcher} reading a property of the source object using the compile time generated
+ * {@link BeanIntrospection} of {@link io.micronaut.core.annotation.Introspected} types.
+ *
+ * <p>When no introspection is available for the type of the source object, e.g. for {@link Map} sources,
+ * the property is read by a reflection based {@link PropertyDataFetcher}.</p>
+ *
+ * @param <T> the type of the property value
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public class BeanIntrospectionDataFetcher<T> implements DataFetcher<T> {
+
+    private final String propertyName;
+    private final Map<Class<?>, PropertyReader> readers = new ConcurrentHashMap<>();
+    private volatile PropertyReader lastReader;
+    private volatile PropertyDataFetcher<T> fallback;
+
+    /**
+     * Default constructor.
+     *
+     * @param propertyName the name of the property to read
+     */
+    public BeanIntrospectionDataFetcher(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    /**
+     * Returns the name of the property to read.
+     *
+     * @return the property name
+     */
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(DataFetchingEnvironment environment) {
+        Object source = environment.getSource();
+        if (source == null) {
+            return null;
+        }
+        Class<?> type = source.getClass();
+        // Most fields are always resolved against the same type, so check the last used reader first.
+        PropertyReader reader = lastReader;
+        if (reader == null || reader.type != type) {
+            reader = readers.computeIfAbsent(type, this::createReader);
+            lastReader = reader;
+        }
+        if (reader.property != null) {
+            return (T) reader.property.get(source);
+        }
+        return fallback().get(environment);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PropertyReader createReader(Class<?> type) {
+        Optional<BeanIntrospection<Object>> introspection = BeanIntrospector.SHARED.findIntrospection((Class<Object>) type);
+        BeanProperty<Object, Object> property = introspection
+                .flatMap(beanIntrospection -> beanIntrospection.getProperty(propertyName))
+                .orElse(null);
+        return new PropertyReader(type, property);
+    }
+
+    private PropertyDataFetcher<T> fallback() {
+        PropertyDataFetcher<T> fetcher = fallback;
+        if (fetcher == null) {
+            fetcher = new PropertyDataFetcher<>(propertyName);
+            fallback = fetcher;
+        }
+        return fetcher;
+    }
+
+    /**
+     * Holds the introspected property for a source type, or {@code null} when not introspected.
+     */
+    private static final class PropertyReader {
+
+        private final Class<?> type;
+        private final BeanProperty<Object, Object> property;
+
+        private PropertyReader(Class<?> type, BeanProperty<Object, Object> property) {
+            this.type = type;
+            this.property = property;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.PropertyDataFetcher;
+import graphql.schema.idl.FieldWiringEnvironment;
+import graphql.schema.idl.WiringFactory;
+
+/**
+ * A {@link WiringFactory} using {@link BeanIntrospectionDataFetcher}s as default data fetchers for fields
+ * without an explicitly wired data fetcher.
+ *
+ * <p>To be registered via {@link graphql.schema.idl.RuntimeWiring.Builder#wiringFactory(WiringFactory)} when building
+ * the schema from SDL. Schemas provided as {@link GraphQLSchema} bean are transformed automatically by the
+ * {@link DefaultGraphQLFactory}, see {@link #transform(GraphQLSchema)}.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public class BeanIntrospectionWiringFactory implements WiringFactory {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DataFetcher getDefaultDataFetcher(FieldWiringEnvironment environment) {
+        return new BeanIntrospectionDataFetcher<>(environment.getFieldDefinition().getName());
+    }
+
+    /**
+     * Transforms the given schema by replacing all the reflection based {@link PropertyDataFetcher}s with
+     * {@link BeanIntrospectionDataFetcher}s, including the default ones of fields without a registered data fetcher.
+     *
+     * @param schema the schema to transform
+     * @return the transformed schema
+     */
+    public static GraphQLSchema transform(GraphQLSchema schema) {
+        GraphQLCodeRegistry codeRegistry = schema.getCodeRegistry();
+        GraphQLCodeRegistry transformedCodeRegistry = codeRegistry.transform(builder -> {
+            for (GraphQLType type : schema.getAllTypesAsList()) {
+                if (!(type instanceof GraphQLObjectType) || type.getName().startsWith("__")) {
+                    continue;
+                }
+                GraphQLObjectType objectType = (GraphQLObjectType) type;
+                for (GraphQLFieldDefinition fieldDefinition : objectType.getFieldDefinitions()) {
+                    // Returns a property data fetcher of the field name for fields without a registered data fetcher.
+                    DataFetcher<?> dataFetcher = codeRegistry.getDataFetcher(objectType, fieldDefinition);
+                    // Only replace plain property data fetchers, not sub classes or function based ones.
+                    if (dataFetcher != null && dataFetcher.getClass() == PropertyDataFetcher.class) {
+                        String propertyName = ((PropertyDataFetcher<?>) dataFetcher).getPropertyName();
+                        if (propertyName != null) {
+                            builder.dataFetcher(
+                                    FieldCoordinates.coordinates(objectType.getName(), fieldDefinition.getName()),
+                                    new BeanIntrospectionDataFetcher<>(propertyName));
+                        }
+                    }
+                }
+            }
+        });
+        return schema.transform(builder -> builder.codeRegistry(transformedCodeRegistry));
+    }
+}
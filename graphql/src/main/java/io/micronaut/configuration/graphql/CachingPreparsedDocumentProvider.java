@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.Document;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.validation.ValidationError;
+import graphql.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link PreparsedDocumentProvider} caching the parsed and validated documents by query, evicting the least recently
+ * used documents once the maximum size is reached.
+ *
+ * <p>The cached documents are only valid for the schema they were validated against. When a new schema is swapped in
+ * by the {@link DefaultGraphQLProvider}, a new cache is {@link #warmUp(GraphQLSchema, int) warmed up} with the most
+ * used queries of the previous one, so the first requests after the swap do not all have to parse and validate.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see GraphQLConfiguration.DocumentCacheConfiguration
+ */
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    private final int maximumSize;
+    private final Map<String, CachedDocument> documents;
+
+    /**
+     * Default constructor.
+     *
+     * @param maximumSize the maximum number of cached documents
+     */
+    public CachingPreparsedDocumentProvider(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.documents = new LinkedHashMap<String, CachedDocument>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedDocument> eldest) {
+                return size() > CachingPreparsedDocumentProvider.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> computeFunction) {
+        String query = executionInput.getQuery();
+        CachedDocument document;
+        synchronized (documents) {
+            document = documents.get(query);
+        }
+        if (document == null) {
+            // Parse and validate outside the lock; concurrent misses for the same query compute the same entry.
+            document = new CachedDocument(computeFunction.apply(executionInput));
+            synchronized (documents) {
+                CachedDocument existing = documents.putIfAbsent(query, document);
+                if (existing != null) {
+                    document = existing;
+                }
+            }
+        }
+        document.hits.increment();
+        return document.entry;
+    }
+
+    /**
+     * Returns the number of cached documents.
+     *
+     * @return the number of cached documents
+     */
+    public int size() {
+        synchronized (documents) {
+            return documents.size();
+        }
+    }
+
+    /**
+     * Returns the cached queries, most used first.
+     *
+     * @param limit the maximum number of queries to return
+     * @return the most used queries
+     */
+    public List<String> getHotQueries(int limit) {
+        List<Map.Entry<String, CachedDocument>> entries;
+        synchronized (documents) {
+            entries = new ArrayList<>(documents.entrySet());
+        }
+        return entries.stream()
+                .sorted((a, b) -> Long.compare(b.getValue().hits.sum(), a.getValue().hits.sum()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a new cache for the given schema, holding the most used queries of this cache parsed and validated
+     * against the given schema. The usage counts are carried over, so the queries stay hot in the new cache.
+     *
+     * @param schema the new schema
+     * @param limit  the maximum number of queries to prepare
+     * @return the new cache
+     */
+    public CachingPreparsedDocumentProvider warmUp(GraphQLSchema schema, int limit) {
+        CachingPreparsedDocumentProvider warmed = new CachingPreparsedDocumentProvider(maximumSize);
+        List<String> queries = getHotQueries(limit);
+        // Insert the least used queries first, so the most used ones are the least likely to be evicted.
+        for (int i = queries.size() - 1; i >= 0; i--) {
+            String query = queries.get(i);
+            CachedDocument document = new CachedDocument(prepare(schema, query));
+            CachedDocument previous;
+            synchronized (documents) {
+                previous = documents.get(query);
+            }
+            if (previous != null) {
+                document.hits.add(previous.hits.sum());
+            }
+            synchronized (warmed.documents) {
+                warmed.documents.put(query, document);
+            }
+        }
+        return warmed;
+    }
+
+    private static PreparsedDocumentEntry prepare(GraphQLSchema schema, String query) {
+        Document document;
+        try {
+            document = new Parser().parseDocument(query);
+        } catch (InvalidSyntaxException e) {
+            return new PreparsedDocumentEntry(e.toInvalidSyntaxError());
+        }
+        List<ValidationError> errors = new Validator().validateDocument(schema, document);
+        return errors.isEmpty() ? new PreparsedDocumentEntry(document) : new PreparsedDocumentEntry(errors);
+    }
+
+    /**
+     * A cached document with its usage count.
+     */
+    private static final class CachedDocument {
+
+        private final PreparsedDocumentEntry entry;
+        private final LongAdder hits = new LongAdder();
+
+        private CachedDocument(PreparsedDocumentEntry entry) {
+            this.entry = entry;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An {@link OutputStream} compressing the written bytes once their number exceeds a threshold.
+ *
+ * <p>Up to the threshold the bytes are buffered as is. When the threshold is exceeded the buffered bytes are compressed
+ * and all further bytes are compressed as they are written, so the uncompressed content is never held in memory
+ * completely.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see GraphQLResponseCompressor
+ */
+public class CompressingOutputStream extends OutputStream {
+
+    /**
+     * The {@code gzip} content encoding.
+     */
+    public static final String GZIP = "gzip";
+
+    /**
+     * The {@code deflate} content encoding.
+     */
+    public static final String DEFLATE = "deflate";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String encoding;
+    private final int threshold;
+    private final int level;
+    private final ByteArrayOutputStream buffer;
+    private Deflater deflater;
+    private DeflaterOutputStream deflaterOutputStream;
+    private boolean closed;
+
+    /**
+     * Default constructor.
+     *
+     * @param encoding  the content encoding, {@value #GZIP} or {@value #DEFLATE}
+     * @param threshold the number of bytes which are not compressed
+     * @param level     the compression level
+     */
+    public CompressingOutputStream(String encoding, int threshold, int level) {
+        if (!GZIP.equals(encoding) && !DEFLATE.equals(encoding)) {
+            throw new IllegalArgumentException("Unsupported content encoding: " + encoding);
+        }
+        this.encoding = encoding;
+        this.threshold = threshold;
+        this.level = level;
+        this.buffer = new ByteArrayOutputStream(Math.max(32, Math.min(threshold, BUFFER_SIZE)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(int b) throws IOException {
+        if (deflaterOutputStream == null && buffer.size() + 1 > threshold) {
+            startCompression();
+        }
+        if (deflaterOutputStream != null) {
+            deflaterOutputStream.write(b);
+        } else {
+            buffer.write(b);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (deflaterOutputStream == null && buffer.size() + len > threshold) {
+            startCompression();
+        }
+        if (deflaterOutputStream != null) {
+            deflaterOutputStream.write(b, off, len);
+        } else {
+            buffer.write(b, off, len);
+        }
+    }
+
+    /**
+     * Finishes the compression, if started.
+     *
+     * @throws IOException if the compressed data cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (deflaterOutputStream != null) {
+            try {
+                deflaterOutputStream.close();
+            } finally {
+                if (deflater != null) {
+                    deflater.end();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the written bytes are compressed, i.e. whether the threshold was exceeded.
+     *
+     * @return whether the bytes are compressed
+     */
+    public boolean isCompressed() {
+        return deflaterOutputStream != null;
+    }
+
+    /**
+     * Returns the content encoding of the compressed bytes.
+     *
+     * @return the content encoding
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Returns the written bytes, compressed if the threshold was exceeded. Must be called after {@link #close()}.
+     *
+     * @return the bytes
+     */
+    public byte[] toByteArray() {
+        if (!closed) {
+            throw new IllegalStateException("The stream must be closed first");
+        }
+        return buffer.toByteArray();
+    }
+
+    private void startCompression() throws IOException {
+        byte[] uncompressed = buffer.toByteArray();
+        buffer.reset();
+        if (GZIP.equals(encoding)) {
+            deflaterOutputStream = new LeveledGZIPOutputStream(buffer, level);
+        } else {
+            // Unlike the GZIP stream, the deflater stream does not end a deflater it is given.
+            deflater = new Deflater(level);
+            deflaterOutputStream = new DeflaterOutputStream(buffer, deflater, BUFFER_SIZE);
+        }
+        deflaterOutputStream.write(uncompressed);
+    }
+
+    /**
+     * A {@link GZIPOutputStream} with a compression level.
+     */
+    private static final class LeveledGZIPOutputStream extends GZIPOutputStream {
+
+        private LeveledGZIPOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
+}
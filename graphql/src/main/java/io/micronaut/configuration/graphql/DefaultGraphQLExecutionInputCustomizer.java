@@ -29,6 +29,7 @@ import javax.inject.Singleton;
  * @author Marcel Overdijk
  * @since 1.0
  */
+@RequiresGraphQL
 @Singleton
 public class DefaultGraphQLExecutionInputCustomizer implements GraphQLExecutionInputCustomizer {
 
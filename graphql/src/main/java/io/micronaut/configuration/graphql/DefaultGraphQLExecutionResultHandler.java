@@ -29,6 +29,7 @@ import javax.inject.Singleton;
  * @author James Kleeh
  * @since 1.0
  */
+@RequiresGraphQL
 @Singleton
 public class DefaultGraphQLExecutionResultHandler implements GraphQLExecutionResultHandler {
 
@@ -37,6 +38,6 @@ public class DefaultGraphQLExecutionResultHandler implements GraphQLExecutionRes
      */
     @Override
     public Publisher<GraphQLResponseBody> handleExecutionResult(Publisher<ExecutionResult> executionResultPublisher) {
-        return Publishers.map(executionResultPublisher, executionResult -> new GraphQLResponseBody(executionResult.toSpecification()));
+        return Publishers.map(executionResultPublisher, GraphQLResponseBody::new);
     }
 }
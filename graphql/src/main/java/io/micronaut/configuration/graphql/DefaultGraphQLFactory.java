@@ -0,0 +1,240 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import graphql.GraphQL;
+import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.AsyncSerialExecutionStrategy;
+import graphql.execution.DataFetcherExceptionHandler;
+import graphql.execution.ExecutionIdProvider;
+import graphql.execution.ExecutionStrategy;
+import graphql.execution.SimpleDataFetcherExceptionHandler;
+import graphql.execution.SubscriptionExecutionStrategy;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.schema.GraphQLSchema;
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.order.OrderUtil;
+import io.micronaut.core.util.StringUtils;
+
+import javax.annotation.Nullable;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The default factory creating the {@link GraphQL} and {@link DefaultGraphQLProvider} beans from a user provided {@link GraphQLSchema} bean.
+ *
+ * <p>The factory composes all the execution related beans it finds in the context:</p>
+ * <ul>
+ *     <li>{@link Instrumentation} beans, chained in the order defined by {@link io.micronaut.core.order.Ordered}
+ *     after the {@link ReactiveDataFetcherResultInstrumentation}, unless disabled</li>
+ *     <li>a {@link PreparsedDocumentProvider} bean, or else a {@link CachingPreparsedDocumentProvider} if the document
+ *     cache is enabled</li>
+ *     <li>an {@link ExecutionIdProvider} bean</li>
+ *     <li>a {@link DataFetcherExceptionHandler} bean, passed to the configured execution strategies</li>
+ *     <li>{@link ExecutionStrategy} beans named {@code query}, {@code mutation} or {@code subscription},
+ *     taking precedence over the configured execution strategies</li>
+ * </ul>
+ *
+ * <p>The schema is transformed by the {@link GraphQLSchemaTransformer} beans and, unless disabled, its reflection based
+ * property data fetchers are replaced by {@link BeanIntrospectionDataFetcher}s. The {@link DefaultGraphQLProvider}
+ * applies the same transformations to the schemas swapped in at runtime.</p>
+ *
+ * <p>When a {@link GraphQL} bean is defined by the application itself, no {@link GraphQLSchema} bean should be defined.
+ * The {@link DefaultGraphQLProvider} of such a bean does not know its schema and document provider.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see GraphQLConfiguration.ExecutionConfiguration
+ */
+@Factory
+public class DefaultGraphQLFactory {
+
+    /**
+     * The name of the query {@link ExecutionStrategy} bean.
+     */
+    public static final String QUERY_EXECUTION_STRATEGY = "query";
+
+    /**
+     * The name of the mutation {@link ExecutionStrategy} bean.
+     */
+    public static final String MUTATION_EXECUTION_STRATEGY = "mutation";
+
+    /**
+     * The name of the subscription {@link ExecutionStrategy} bean.
+     */
+    public static final String SUBSCRIPTION_EXECUTION_STRATEGY = "subscription";
+
+    /**
+     * Creates the {@link DefaultGraphQLProvider} bean, holding the {@link GraphQL} instance together with its
+     * transformed schema and document provider.
+     *
+     * @param graphQLSchema                 the {@link GraphQLSchema} instance
+     * @param graphQLConfiguration          the {@link GraphQLConfiguration} instance
+     * @param schemaTransformers            the {@link GraphQLSchemaTransformer} instances
+     * @param instrumentations              the {@link Instrumentation} instances
+     * @param preparsedDocumentProvider     the {@link PreparsedDocumentProvider} instance
+     * @param executionIdProvider           the {@link ExecutionIdProvider} instance
+     * @param dataFetcherExceptionHandler   the {@link DataFetcherExceptionHandler} instance
+     * @param queryExecutionStrategy        the query {@link ExecutionStrategy} instance
+     * @param mutationExecutionStrategy     the mutation {@link ExecutionStrategy} instance
+     * @param subscriptionExecutionStrategy the subscription {@link ExecutionStrategy} instance
+     * @return the {@link DefaultGraphQLProvider} instance
+     */
+    @Bean
+    @Singleton
+    @Requires(beans = GraphQLSchema.class)
+    public DefaultGraphQLProvider graphQLProvider(
+            GraphQLSchema graphQLSchema,
+            GraphQLConfiguration graphQLConfiguration,
+            Collection<GraphQLSchemaTransformer> schemaTransformers,
+            Collection<Instrumentation> instrumentations,
+            @Nullable PreparsedDocumentProvider preparsedDocumentProvider,
+            @Nullable ExecutionIdProvider executionIdProvider,
+            @Nullable DataFetcherExceptionHandler dataFetcherExceptionHandler,
+            @Nullable @Named(QUERY_EXECUTION_STRATEGY) ExecutionStrategy queryExecutionStrategy,
+            @Nullable @Named(MUTATION_EXECUTION_STRATEGY) ExecutionStrategy mutationExecutionStrategy,
+            @Nullable @Named(SUBSCRIPTION_EXECUTION_STRATEGY) ExecutionStrategy subscriptionExecutionStrategy) {
+
+        GraphQLConfiguration.ExecutionConfiguration executionConfiguration = graphQLConfiguration.getExecution();
+        DataFetcherExceptionHandler exceptionHandler = dataFetcherExceptionHandler != null
+                ? dataFetcherExceptionHandler
+                : new SimpleDataFetcherExceptionHandler();
+
+        GraphQLSchema schema = transformSchema(graphQLSchema, graphQLConfiguration, schemaTransformers);
+        GraphQL.Builder builder = GraphQL.newGraphQL(schema)
+                .queryExecutionStrategy(queryExecutionStrategy != null
+                        ? queryExecutionStrategy
+                        : createExecutionStrategy(executionConfiguration.getQueryStrategy(), exceptionHandler))
+                .mutationExecutionStrategy(mutationExecutionStrategy != null
+                        ? mutationExecutionStrategy
+                        : createExecutionStrategy(executionConfiguration.getMutationStrategy(), exceptionHandler))
+                .subscriptionExecutionStrategy(subscriptionExecutionStrategy != null
+                        ? subscriptionExecutionStrategy
+                        : createExecutionStrategy(executionConfiguration.getSubscriptionStrategy(), exceptionHandler));
+
+        List<Instrumentation> ordered = new ArrayList<>(instrumentations);
+        OrderUtil.sort(ordered);
+        if (executionConfiguration.isReactiveDataFetcherResults()) {
+            // Added first so its data fetchers are the innermost, and the other instrumentations see the futures.
+            ordered.add(0, new ReactiveDataFetcherResultInstrumentation());
+        }
+        Instrumentation instrumentation = chainInstrumentations(ordered);
+        if (instrumentation != null) {
+            builder.instrumentation(instrumentation);
+        }
+        PreparsedDocumentProvider documents = preparsedDocumentProvider;
+        if (documents == null && graphQLConfiguration.getDocumentCache().isEnabled()) {
+            documents = new CachingPreparsedDocumentProvider(graphQLConfiguration.getDocumentCache().getMaximumSize());
+        }
+        if (documents != null) {
+            builder.preparsedDocumentProvider(documents);
+        }
+        if (executionIdProvider != null) {
+            builder.executionIdProvider(executionIdProvider);
+        }
+        return new DefaultGraphQLProvider(builder.build(), schema, documents, graphQLConfiguration,
+                schemaTransformers);
+    }
+
+    /**
+     * Creates the {@link GraphQL} bean, the initial instance of the {@link DefaultGraphQLProvider}.
+     *
+     * @param graphQLProvider the {@link DefaultGraphQLProvider} instance
+     * @return the {@link GraphQL} instance
+     */
+    @Bean
+    @Singleton
+    @Requires(beans = GraphQLSchema.class)
+    public GraphQL graphQL(DefaultGraphQLProvider graphQLProvider) {
+        return graphQLProvider.getGraphQL();
+    }
+
+    /**
+     * Creates the {@link DefaultGraphQLProvider} bean for a {@link GraphQL} bean defined by the application itself.
+     *
+     * @param graphQL              the {@link GraphQL} instance
+     * @param graphQLConfiguration the {@link GraphQLConfiguration} instance
+     * @param schemaTransformers   the {@link GraphQLSchemaTransformer} instances
+     * @return the {@link DefaultGraphQLProvider} instance
+     */
+    @Bean
+    @Singleton
+    @Requires(property = GraphQLConfiguration.ENABLED, notEquals = StringUtils.FALSE)
+    @Requires(missingBeans = GraphQLSchema.class)
+    @Requires(beans = GraphQL.class)
+    public DefaultGraphQLProvider applicationGraphQLProvider(
+            GraphQL graphQL,
+            GraphQLConfiguration graphQLConfiguration,
+            Collection<GraphQLSchemaTransformer> schemaTransformers) {
+        return new DefaultGraphQLProvider(graphQL, graphQLConfiguration, schemaTransformers);
+    }
+
+    /**
+     * Applies the schema transformers and, unless disabled, replaces the reflection based property data fetchers of
+     * the schema by {@link BeanIntrospectionDataFetcher}s.
+     *
+     * @param graphQLSchema        the schema
+     * @param graphQLConfiguration the {@link GraphQLConfiguration} instance
+     * @param schemaTransformers   the {@link GraphQLSchemaTransformer} instances
+     * @return the transformed schema
+     */
+    static GraphQLSchema transformSchema(
+            GraphQLSchema graphQLSchema,
+            GraphQLConfiguration graphQLConfiguration,
+            Collection<GraphQLSchemaTransformer> schemaTransformers) {
+        List<GraphQLSchemaTransformer> ordered = new ArrayList<>(schemaTransformers);
+        OrderUtil.sort(ordered);
+        GraphQLSchema schema = graphQLSchema;
+        for (GraphQLSchemaTransformer schemaTransformer : ordered) {
+            schema = schemaTransformer.transform(schema);
+        }
+        return graphQLConfiguration.getExecution().isBeanIntrospectionDataFetchers()
+                ? BeanIntrospectionWiringFactory.transform(schema)
+                : schema;
+    }
+
+    private ExecutionStrategy createExecutionStrategy(
+            GraphQLConfiguration.ExecutionConfiguration.Strategy strategy,
+            DataFetcherExceptionHandler exceptionHandler) {
+        switch (strategy) {
+            case ASYNC_SERIAL:
+                return new AsyncSerialExecutionStrategy(exceptionHandler);
+            case SUBSCRIPTION:
+                return new SubscriptionExecutionStrategy(exceptionHandler);
+            case ASYNC:
+            default:
+                return new AsyncExecutionStrategy(exceptionHandler);
+        }
+    }
+
+    private Instrumentation chainInstrumentations(List<Instrumentation> instrumentations) {
+        if (instrumentations.isEmpty()) {
+            return null;
+        }
+        if (instrumentations.size() == 1) {
+            return instrumentations.get(0);
+        }
+        return new ChainedInstrumentation(instrumentations);
+    }
+}
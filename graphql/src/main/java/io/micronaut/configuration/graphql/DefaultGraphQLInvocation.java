@@ -19,20 +19,27 @@ package io.micronaut.configuration.graphql;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
+import graphql.GraphQLContext;
 import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.http.HttpAttributes;
 import io.micronaut.http.HttpRequest;
 import io.reactivex.Flowable;
 import org.dataloader.DataLoaderRegistry;
 import org.reactivestreams.Publisher;
 
 import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
+import java.security.Principal;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * The default implementation for invoking GraphQL requests.
  *
+ * <p>The context of the execution is a {@link GraphQLContext}, holding the {@link Principal} of the HTTP request, if
+ * authenticated, under the {@link Principal} class.</p>
+ *
  * @author Marcel Overdijk
  * @author Graeme Rocher
  * @author James Kleeh
@@ -40,15 +47,16 @@ import java.util.concurrent.CompletableFuture;
  * @see GraphQLExecutionInputCustomizer#customize(ExecutionInput, HttpRequest)
  * @see GraphQL#executeAsync(ExecutionInput.Builder)
  */
+@RequiresGraphQL
 @Singleton
 public class DefaultGraphQLInvocation implements GraphQLInvocation {
 
-    private final GraphQL graphQL;
+    private final GraphQLProvider graphQLProvider;
     private final GraphQLExecutionInputCustomizer graphQLExecutionInputCustomizer;
     private final Provider<DataLoaderRegistry> dataLoaderRegistry;
 
     /**
-     * Default constructor.
+     * Constructor executing the requests with a fixed {@link GraphQL} instance.
      *
      * @param graphQL                         the {@link GraphQL} instance
      * @param graphQLExecutionInputCustomizer the {@link GraphQLExecutionInputCustomizer} instance
@@ -58,7 +66,22 @@ public class DefaultGraphQLInvocation implements GraphQLInvocation {
             GraphQL graphQL,
             @Nullable GraphQLExecutionInputCustomizer graphQLExecutionInputCustomizer,
             @Nullable Provider<DataLoaderRegistry> dataLoaderRegistry) {
-        this.graphQL = graphQL;
+        this(() -> graphQL, graphQLExecutionInputCustomizer, dataLoaderRegistry);
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param graphQLProvider                 the {@link GraphQLProvider} instance
+     * @param graphQLExecutionInputCustomizer the {@link GraphQLExecutionInputCustomizer} instance
+     * @param dataLoaderRegistry              the {@link DataLoaderRegistry} instance
+     */
+    @Inject
+    public DefaultGraphQLInvocation(
+            GraphQLProvider graphQLProvider,
+            @Nullable GraphQLExecutionInputCustomizer graphQLExecutionInputCustomizer,
+            @Nullable Provider<DataLoaderRegistry> dataLoaderRegistry) {
+        this.graphQLProvider = graphQLProvider;
         this.graphQLExecutionInputCustomizer = graphQLExecutionInputCustomizer;
         this.dataLoaderRegistry = dataLoaderRegistry;
     }
@@ -75,7 +98,13 @@ public class DefaultGraphQLInvocation implements GraphQLInvocation {
         if (dataLoaderRegistry != null) {
             executionInputBuilder.dataLoaderRegistry(dataLoaderRegistry.get());
         }
+        GraphQLContext.Builder context = GraphQLContext.newContext();
+        httpRequest.getAttribute(HttpAttributes.PRINCIPAL, Principal.class)
+                .ifPresent(principal -> context.of(Principal.class, principal));
+        executionInputBuilder.context(context.build());
         ExecutionInput executionInput = executionInputBuilder.build();
+        // Resolve the instance once, so the request completes against the same schema even if a new one is swapped in.
+        GraphQL graphQL = graphQLProvider.getGraphQL();
         return Flowable.fromPublisher(graphQLExecutionInputCustomizer.customize(executionInput, httpRequest))
                 .flatMap(customizedExecutionInput -> Publishers.fromCompletableFuture(() -> {
                     try {
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import graphql.GraphQL;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.schema.GraphQLSchema;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * The default {@link GraphQLProvider}, holding the {@link GraphQL} bean in an atomic reference so a new schema can be
+ * swapped in at runtime without a restart.
+ *
+ * <p>A swapped in schema is transformed like the schema of the {@link DefaultGraphQLFactory}, by the
+ * {@link GraphQLSchemaTransformer} beans and the replacement of the property data fetchers, and executed with the same
+ * execution strategies, instrumentation and providers as the current one. Requests in flight complete against the
+ * schema they started with, new requests use the new schema. When the {@link CachingPreparsedDocumentProvider} is used,
+ * the new schema gets a new document cache, warmed up with the most used queries of the current one before the swap.
+ * </p>
+ *
+ * <p>The provider bean is created by the {@link DefaultGraphQLFactory}. When the factory creates the {@link GraphQL}
+ * bean too, the provider knows its transformed schema and document provider. For a {@link GraphQL} bean defined by the
+ * application itself neither is known, and the document provider of the bean is kept for the swapped in schemas.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public class DefaultGraphQLProvider implements GraphQLProvider {
+
+    private final AtomicReference<Current> current;
+    private final GraphQLConfiguration graphQLConfiguration;
+    private final Collection<GraphQLSchemaTransformer> schemaTransformers;
+    private final Object swapLock = new Object();
+
+    /**
+     * Constructor not applying any {@link GraphQLSchemaTransformer}s to swapped in schemas.
+     *
+     * @param graphQL              the initial {@link GraphQL} instance
+     * @param graphQLConfiguration the {@link GraphQLConfiguration} instance
+     */
+    public DefaultGraphQLProvider(GraphQL graphQL, GraphQLConfiguration graphQLConfiguration) {
+        this(graphQL, graphQLConfiguration, Collections.emptyList());
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param graphQL              the initial {@link GraphQL} instance
+     * @param graphQLConfiguration the {@link GraphQLConfiguration} instance
+     * @param schemaTransformers   the {@link GraphQLSchemaTransformer} instances
+     */
+    public DefaultGraphQLProvider(GraphQL graphQL, GraphQLConfiguration graphQLConfiguration,
+            Collection<GraphQLSchemaTransformer> schemaTransformers) {
+        this(graphQL, null, null, graphQLConfiguration, schemaTransformers);
+    }
+
+    /**
+     * Constructor for a {@link GraphQL} instance of which the schema and the document provider are known.
+     *
+     * @param graphQL                   the initial {@link GraphQL} instance
+     * @param graphQLSchema             the schema of the {@link GraphQL} instance
+     * @param preparsedDocumentProvider the {@link PreparsedDocumentProvider} of the {@link GraphQL} instance
+     * @param graphQLConfiguration      the {@link GraphQLConfiguration} instance
+     * @param schemaTransformers        the {@link GraphQLSchemaTransformer} instances
+     */
+    public DefaultGraphQLProvider(GraphQL graphQL, @Nullable GraphQLSchema graphQLSchema,
+            @Nullable PreparsedDocumentProvider preparsedDocumentProvider, GraphQLConfiguration graphQLConfiguration,
+            Collection<GraphQLSchemaTransformer> schemaTransformers) {
+        this.current = new AtomicReference<>(new Current(graphQL, graphQLSchema, preparsedDocumentProvider));
+        this.graphQLConfiguration = graphQLConfiguration;
+        this.schemaTransformers = schemaTransformers;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphQL getGraphQL() {
+        return current.get().graphQL;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nullable
+    @Override
+    public GraphQLSchema getGraphQLSchema() {
+        return current.get().schema;
+    }
+
+    /**
+     * Returns the {@link PreparsedDocumentProvider} of the current {@link GraphQL} instance, if known.
+     *
+     * @return the {@link PreparsedDocumentProvider}, or {@code null} if not known
+     */
+    @Nullable
+    public PreparsedDocumentProvider getPreparsedDocumentProvider() {
+        return current.get().documents;
+    }
+
+    /**
+     * Swaps in the given schema. The document cache is warmed up before the schema is swapped in, while the current
+     * schema keeps serving the requests.
+     *
+     * @param graphQLSchema the new schema
+     * @return the new {@link GraphQL} instance
+     */
+    public GraphQL swap(GraphQLSchema graphQLSchema) {
+        GraphQLSchema schema = DefaultGraphQLFactory.transformSchema(graphQLSchema, graphQLConfiguration,
+                schemaTransformers);
+        // Concurrent swaps are serialized, so each one warms up from the cache of the previous schema.
+        synchronized (swapLock) {
+            Current previous = current.get();
+            PreparsedDocumentProvider documents = previous.documents instanceof CachingPreparsedDocumentProvider
+                    ? ((CachingPreparsedDocumentProvider) previous.documents)
+                            .warmUp(schema, graphQLConfiguration.getDocumentCache().getWarmUpSize())
+                    : previous.documents;
+            GraphQL swapped = previous.graphQL.transform(builder -> {
+                builder.schema(schema);
+                if (documents != null) {
+                    builder.preparsedDocumentProvider(documents);
+                }
+            });
+            current.set(new Current(swapped, schema, documents));
+            return swapped;
+        }
+    }
+
+    /**
+     * Builds a new schema with the given supplier on the given executor, e.g. after a watched SDL file changed, and
+     * swaps it in once built. A failure to build the schema leaves the current schema in place.
+     *
+     * @param graphQLSchemaSupplier the supplier building the new schema
+     * @param executor              the executor to build the schema on
+     * @return the future completed with the new {@link GraphQL} instance
+     */
+    public CompletableFuture<GraphQL> swapAsync(Supplier<GraphQLSchema> graphQLSchemaSupplier, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> swap(graphQLSchemaSupplier.get()), executor);
+    }
+
+    /**
+     * The current {@link GraphQL} instance with its schema and document provider, swapped in at once.
+     */
+    private static final class Current {
+
+        private final GraphQL graphQL;
+        private final GraphQLSchema schema;
+        private final PreparsedDocumentProvider documents;
+
+        private Current(GraphQL graphQL, GraphQLSchema schema, PreparsedDocumentProvider documents) {
+            this.graphQL = graphQL;
+            this.schema = schema;
+            this.documents = documents;
+        }
+    }
+}
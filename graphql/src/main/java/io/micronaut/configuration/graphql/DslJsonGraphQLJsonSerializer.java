@@ -0,0 +1,280 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import com.dslplatform.json.BoolConverter;
+import com.dslplatform.json.DslJson;
+import com.dslplatform.json.JsonReader;
+import com.dslplatform.json.JsonWriter;
+import com.dslplatform.json.NumberConverter;
+import com.dslplatform.json.ObjectConverter;
+import com.dslplatform.json.StringConverter;
+import com.dslplatform.json.runtime.Settings;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The <a href="https://github.com/ngs-doo/dsl-json">DSL-JSON</a> implementation for serializing and deserializing
+ * GraphQL objects.
+ *
+ * <p>Enabled with {@code graphql.json.codec: dsl-json} when DSL-JSON is on the classpath. The
+ * {@link GraphQLRequestBody} is read and the {@link GraphQLResponseBody} is written with hand written converters
+ * operating on bytes, other objects are handled by the DSL-JSON runtime. Whole numbers in the variables are read as
+ * {@link Long}s, which the GraphQL scalar types accept like the {@link Integer}s read by Jackson.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@RequiresGraphQL
+@Requires(classes = DslJson.class)
+@Requires(property = GraphQLConfiguration.JsonConfiguration.CODEC,
+        value = GraphQLConfiguration.JsonConfiguration.DSL_JSON_CODEC)
+@Replaces(JacksonGraphQLJsonSerializer.class)
+@Singleton
+public class DslJsonGraphQLJsonSerializer implements GraphQLJsonSerializer {
+
+    private static final byte[] ERRORS = "\"errors\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DATA = "\"data\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EXTENSIONS = "\"extensions\":".getBytes(StandardCharsets.UTF_8);
+    // Writers grown beyond this size by a large response are not kept for the next response of their thread.
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private final DslJson<Object> dslJson;
+    private final ThreadLocal<JsonWriter> writers;
+
+    /**
+     * Default constructor.
+     */
+    @Inject
+    public DslJsonGraphQLJsonSerializer() {
+        this(new DslJson<>(Settings.withRuntime().includeServiceLoader()));
+    }
+
+    /**
+     * Constructor using the given {@link DslJson} instance.
+     *
+     * @param dslJson the {@link DslJson} instance
+     */
+    public DslJsonGraphQLJsonSerializer(DslJson<Object> dslJson) {
+        this.dslJson = dslJson;
+        this.writers = ThreadLocal.withInitial(dslJson::newWriter);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String serialize(Object object) {
+        return new String(serializeToBytes(object), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] serializeToBytes(Object object) {
+        JsonWriter writer = write(object);
+        try {
+            return writer.toByteArray();
+        } finally {
+            release(writer);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void serialize(Object object, OutputStream outputStream) throws IOException {
+        JsonWriter writer = write(object);
+        try {
+            writer.toStream(outputStream);
+        } finally {
+            release(writer);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T deserialize(String json, Class<T> requiredType) {
+        return deserialize(json.getBytes(StandardCharsets.UTF_8), requiredType);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T deserialize(byte[] json, Class<T> requiredType) {
+        try {
+            if (requiredType == GraphQLRequestBody.class) {
+                return requiredType.cast(readRequestBody(dslJson.newReader(json)));
+            }
+            return dslJson.deserialize(requiredType, json, json.length);
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException("Error deserializing object from JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private JsonWriter write(Object object) {
+        JsonWriter writer = writers.get();
+        writer.reset();
+        try {
+            if (object instanceof GraphQLResponseBody) {
+                writeResponseBody((GraphQLResponseBody) object, writer);
+            } else {
+                writer.serializeObject(object);
+            }
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Error serializing object to JSON: " + e.getMessage(), e);
+        }
+        return writer;
+    }
+
+    private void release(JsonWriter writer) {
+        if (writer.getByteBuffer().length > MAX_RETAINED_BUFFER_SIZE) {
+            writers.remove();
+        }
+    }
+
+    private GraphQLRequestBody readRequestBody(JsonReader<Object> reader) throws IOException {
+        if (reader.getNextToken() != '{') {
+            throw reader.newParseError("Expecting '{' for GraphQL request body start");
+        }
+        GraphQLRequestBody requestBody = new GraphQLRequestBody();
+        byte next = reader.getNextToken();
+        while (next != '}') {
+            String name = reader.readKey();
+            switch (name) {
+                case "query":
+                    requestBody.setQuery(StringConverter.deserializeNullable(reader));
+                    break;
+                case "operationName":
+                    requestBody.setOperationName(StringConverter.deserializeNullable(reader));
+                    break;
+                case "variables":
+                    requestBody.setVariables(reader.wasNull() ? null : ObjectConverter.deserializeMap(reader));
+                    break;
+                default:
+                    ObjectConverter.deserializeObject(reader);
+            }
+            next = reader.getNextToken();
+            if (next == ',') {
+                next = reader.getNextToken();
+            } else if (next != '}') {
+                throw reader.newParseError("Expecting ',' or '}' in GraphQL request body");
+            }
+        }
+        return requestBody;
+    }
+
+    private void writeResponseBody(GraphQLResponseBody responseBody, JsonWriter writer) {
+        ExecutionResult executionResult = responseBody.getExecutionResult();
+        if (executionResult == null) {
+            writeValue(responseBody.getSpecification(), writer);
+            return;
+        }
+        // The entries as defined by ExecutionResult#toSpecification(), without creating the specification map.
+        writer.writeByte(JsonWriter.OBJECT_START);
+        boolean empty = true;
+        List<GraphQLError> errors = executionResult.getErrors();
+        if (errors != null && !errors.isEmpty()) {
+            writer.writeAscii(ERRORS);
+            writer.writeByte(JsonWriter.ARRAY_START);
+            for (int i = 0; i < errors.size(); i++) {
+                if (i > 0) {
+                    writer.writeByte(JsonWriter.COMMA);
+                }
+                writeValue(errors.get(i).toSpecification(), writer);
+            }
+            writer.writeByte(JsonWriter.ARRAY_END);
+            empty = false;
+        }
+        if (executionResult.isDataPresent()) {
+            if (!empty) {
+                writer.writeByte(JsonWriter.COMMA);
+            }
+            writer.writeAscii(DATA);
+            writeValue(executionResult.getData(), writer);
+            empty = false;
+        }
+        Map<Object, Object> extensions = executionResult.getExtensions();
+        if (extensions != null) {
+            if (!empty) {
+                writer.writeByte(JsonWriter.COMMA);
+            }
+            writer.writeAscii(EXTENSIONS);
+            writeValue(extensions, writer);
+        }
+        writer.writeByte(JsonWriter.OBJECT_END);
+    }
+
+    private void writeValue(Object value, JsonWriter writer) {
+        if (value == null) {
+            writer.writeNull();
+        } else if (value instanceof Map) {
+            writer.writeByte(JsonWriter.OBJECT_START);
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    writer.writeByte(JsonWriter.COMMA);
+                }
+                writer.writeString(String.valueOf(entry.getKey()));
+                writer.writeByte(JsonWriter.SEMI);
+                writeValue(entry.getValue(), writer);
+                first = false;
+            }
+            writer.writeByte(JsonWriter.OBJECT_END);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            writer.writeByte(JsonWriter.ARRAY_START);
+            for (int i = 0, size = list.size(); i < size; i++) {
+                if (i > 0) {
+                    writer.writeByte(JsonWriter.COMMA);
+                }
+                writeValue(list.get(i), writer);
+            }
+            writer.writeByte(JsonWriter.ARRAY_END);
+        } else if (value instanceof String) {
+            writer.writeString((String) value);
+        } else if (value instanceof Integer) {
+            NumberConverter.serialize(((Integer) value).intValue(), writer);
+        } else if (value instanceof Boolean) {
+            BoolConverter.serialize(((Boolean) value).booleanValue(), writer);
+        } else if (value instanceof Double) {
+            NumberConverter.serialize(((Double) value).doubleValue(), writer);
+        } else if (value instanceof Long) {
+            NumberConverter.serialize(((Long) value).longValue(), writer);
+        } else if (value instanceof BigDecimal) {
+            NumberConverter.serialize((BigDecimal) value, writer);
+        } else {
+            writer.serializeObject(value);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import io.micronaut.configuration.graphql.annotation.GraphQLArgument;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.Qualifier;
+import io.micronaut.core.type.Argument;
+import io.micronaut.inject.ExecutableMethod;
+
+/**
+ * A {@link DataFetcher} invoking a compile time generated {@link ExecutableMethod} of a bean.
+ *
+ * @param <T> the type of the fetched value
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see GraphQLOperationRegistry
+ */
+class ExecutableMethodDataFetcher<T> implements DataFetcher<T> {
+
+    private final BeanContext beanContext;
+    private final Class<Object> beanType;
+    private final Qualifier<Object> qualifier;
+    private final ExecutableMethod<Object, Object> method;
+    private final GraphQLArgumentBinder argumentBinder;
+    private final Argument<?>[] arguments;
+    private final String[] argumentNames;
+    private volatile Object bean;
+
+    /**
+     * Default constructor.
+     *
+     * @param beanContext    the {@link BeanContext} instance
+     * @param beanType       the bean type
+     * @param qualifier      the bean qualifier
+     * @param method         the method to invoke
+     * @param argumentBinder the {@link GraphQLArgumentBinder} instance
+     */
+    ExecutableMethodDataFetcher(
+            BeanContext beanContext,
+            Class<Object> beanType,
+            Qualifier<Object> qualifier,
+            ExecutableMethod<Object, Object> method,
+            GraphQLArgumentBinder argumentBinder) {
+        this.beanContext = beanContext;
+        this.beanType = beanType;
+        this.qualifier = qualifier;
+        this.method = method;
+        this.argumentBinder = argumentBinder;
+        this.arguments = method.getArguments();
+        this.argumentNames = new String[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            Argument<?> argument = arguments[i];
+            argumentNames[i] = argument.getAnnotationMetadata()
+                    .stringValue(GraphQLArgument.class)
+                    .orElse(argument.getName());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(DataFetchingEnvironment environment) {
+        Object[] values = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            Argument<?> argument = arguments[i];
+            if (argument.getType() == DataFetchingEnvironment.class) {
+                values[i] = environment;
+            } else {
+                values[i] = argumentBinder.bind(environment.getArgument(argumentNames[i]), argument);
+            }
+        }
+        return (T) method.invoke(bean(), values);
+    }
+
+    private Object bean() {
+        // The bean is resolved lazily, as the schema may be wired before the bean can be created.
+        Object instance = bean;
+        if (instance == null) {
+            instance = beanContext.getBean(beanType, qualifier);
+            bean = instance;
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanIntrospector;
+import io.micronaut.core.beans.BeanProperty;
+import io.micronaut.core.convert.ArgumentConversionContext;
+import io.micronaut.core.convert.ConversionContext;
+import io.micronaut.core.convert.ConversionError;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.convert.exceptions.ConversionErrorException;
+import io.micronaut.core.type.Argument;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Binds GraphQL arguments, input objects and variables to {@link io.micronaut.core.annotation.Introspected} Java types.
+ *
+ * <p>Input objects are instantiated and populated using their compile time generated {@link BeanIntrospection},
+ * scalar values are converted using the {@link ConversionService}.
+ * Nested input objects and lists of input objects are bound recursively.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@Singleton
+public class GraphQLArgumentBinder {
+
+    private final ConversionService<?> conversionService;
+
+    /**
+     * Default constructor.
+     *
+     * @param conversionService the {@link ConversionService} instance
+     */
+    public GraphQLArgumentBinder(ConversionService<?> conversionService) {
+        this.conversionService = conversionService;
+    }
+
+    /**
+     * Binds the argument with the given name to the required type.
+     *
+     * @param environment  the data fetching environment
+     * @param name         the argument name
+     * @param requiredType the required type
+     * @param <T>          the required generic type
+     * @return the bound argument, or {@code null} if the argument is not present
+     */
+    public <T> T getArgument(DataFetchingEnvironment environment, String name, Class<T> requiredType) {
+        return getArgument(environment, name, Argument.of(requiredType, name));
+    }
+
+    /**
+     * Binds the argument with the given name to the required type, which may contain type arguments like
+     * {@code List<ToDoInput>}.
+     *
+     * @param environment  the data fetching environment
+     * @param name         the argument name
+     * @param requiredType the required type
+     * @param <T>          the required generic type
+     * @return the bound argument, or {@code null} if the argument is not present
+     */
+    public <T> T getArgument(DataFetchingEnvironment environment, String name, Argument<T> requiredType) {
+        return bind(environment.getArgument(name), requiredType);
+    }
+
+    /**
+     * Binds the given GraphQL value to the required type.
+     *
+     * @param value        the GraphQL value, as provided by graphql-java
+     * @param requiredType the required type
+     * @param <T>          the required generic type
+     * @return the bound value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T bind(Object value, Argument<T> requiredType) {
+        if (value == null) {
+            return null;
+        }
+        Class<T> type = requiredType.getType();
+        if (value instanceof Map && !Map.class.isAssignableFrom(type)) {
+            Optional<BeanIntrospection<T>> introspection = BeanIntrospector.SHARED.findIntrospection(type);
+            if (introspection.isPresent()) {
+                return bindInputObject((Map<String, Object>) value, introspection.get());
+            }
+        }
+        if (value instanceof Collection && Iterable.class.isAssignableFrom(type)) {
+            Argument<?>[] typeParameters = typeParameters(requiredType);
+            if (typeParameters.length == 1) {
+                return (T) bindCollection((Collection<?>) value, type, typeParameters[0]);
+            }
+        }
+        if (type.isInstance(value) && typeParameters(requiredType).length == 0) {
+            return (T) value;
+        }
+        return convert(value, requiredType);
+    }
+
+    private static Argument<?>[] typeParameters(Argument<?> argument) {
+        // The arguments of compiled executable methods hold no type parameters array for non generic types.
+        Argument<?>[] typeParameters = argument.getTypeParameters();
+        return typeParameters != null ? typeParameters : Argument.ZERO_ARGUMENTS;
+    }
+
+    private <T> T bindInputObject(Map<String, Object> fields, BeanIntrospection<T> introspection) {
+        Argument<?>[] constructorArguments = introspection.getConstructorArguments();
+        Object[] values = new Object[constructorArguments.length];
+        for (int i = 0; i < constructorArguments.length; i++) {
+            Argument<?> constructorArgument = constructorArguments[i];
+            values[i] = bind(fields.get(constructorArgument.getName()), constructorArgument);
+        }
+        T bean = constructorArguments.length == 0 ? introspection.instantiate() : introspection.instantiate(values);
+        for (BeanProperty<T, Object> property : introspection.getBeanProperties()) {
+            if (property.isReadOnly() || !fields.containsKey(property.getName())
+                    || isConstructorArgument(constructorArguments, property.getName())) {
+                continue;
+            }
+            property.set(bean, bind(fields.get(property.getName()), property.asArgument()));
+        }
+        return bean;
+    }
+
+    private boolean isConstructorArgument(Argument<?>[] constructorArguments, String name) {
+        for (Argument<?> constructorArgument : constructorArguments) {
+            if (constructorArgument.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<Object> bindCollection(Collection<?> values, Class<?> type, Argument<?> elementType) {
+        Collection<Object> collection = Set.class.isAssignableFrom(type)
+                ? new LinkedHashSet<>(values.size())
+                : new ArrayList<>(values.size());
+        for (Object value : values) {
+            collection.add(bind(value, elementType));
+        }
+        if (!type.isInstance(collection)) {
+            // E.g. a custom collection type, leave it up to the conversion service.
+            return (Collection<Object>) convert(collection, Argument.of(type));
+        }
+        return collection;
+    }
+
+    private <T> T convert(Object value, Argument<T> requiredType) {
+        ArgumentConversionContext<T> context = ConversionContext.of(requiredType);
+        Optional<T> converted = conversionService.convert(value, context);
+        if (converted.isPresent()) {
+            return converted.get();
+        }
+        Optional<ConversionError> error = context.getLastError();
+        if (error.isPresent()) {
+            throw new ConversionErrorException(requiredType, error.get());
+        }
+        throw new IllegalArgumentException("Cannot bind GraphQL value of type " + value.getClass().getName()
+                + " to " + requiredType.getTypeString(true));
+    }
+}
@@ -19,6 +19,7 @@ package io.micronaut.configuration.graphql;
 import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.core.util.Toggleable;
 
+import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.Map;
 
@@ -62,6 +63,13 @@ public class GraphQLConfiguration implements Toggleable {
     protected boolean enabled = DEFAULT_ENABLED;
     protected String path = DEFAULT_PATH;
     protected GraphiQLConfiguration graphiql = new GraphiQLConfiguration();
+    protected ExecutionConfiguration execution = new ExecutionConfiguration();
+    protected JsonConfiguration json = new JsonConfiguration();
+    protected CompressionConfiguration compression = new CompressionConfiguration();
+    protected DocumentCacheConfiguration documentCache = new DocumentCacheConfiguration();
+    protected FederationConfiguration federation = new FederationConfiguration();
+    protected FieldCacheConfiguration fieldCache = new FieldCacheConfiguration();
+    protected UploadConfiguration upload = new UploadConfiguration();
 
     /**
      * Returns whether GraphQL is enabled.
@@ -91,6 +99,69 @@ public class GraphQLConfiguration implements Toggleable {
         return graphiql;
     }
 
+    /**
+     * Returns the GraphQL execution configuration.
+     *
+     * @return the GraphQL execution configuration
+     */
+    public ExecutionConfiguration getExecution() {
+        return execution;
+    }
+
+    /**
+     * Returns the GraphQL JSON configuration.
+     *
+     * @return the GraphQL JSON configuration
+     */
+    public JsonConfiguration getJson() {
+        return json;
+    }
+
+    /**
+     * Returns the GraphQL response compression configuration.
+     *
+     * @return the GraphQL response compression configuration
+     */
+    public CompressionConfiguration getCompression() {
+        return compression;
+    }
+
+    /**
+     * Returns the GraphQL document cache configuration.
+     *
+     * @return the GraphQL document cache configuration
+     */
+    public DocumentCacheConfiguration getDocumentCache() {
+        return documentCache;
+    }
+
+    /**
+     * Returns the GraphQL federation configuration.
+     *
+     * @return the GraphQL federation configuration
+     */
+    public FederationConfiguration getFederation() {
+        return federation;
+    }
+
+    /**
+     * Returns the GraphQL field result cache configuration.
+     *
+     * @return the GraphQL field result cache configuration
+     */
+    public FieldCacheConfiguration getFieldCache() {
+        return fieldCache;
+    }
+
+    /**
+     * Returns the GraphQL multipart upload configuration.
+     *
+     * @return the GraphQL multipart upload configuration
+     */
+    public UploadConfiguration getUpload() {
+        return upload;
+    }
+
     /**
      * Configuration properties for GraphiQL.
      */
@@ -224,4 +295,533 @@ public class GraphQLConfiguration implements Toggleable {
             return pageTitle;
         }
     }
+
+    /**
+     * Configuration properties for the GraphQL execution.
+     * Only applied when the {@link graphql.GraphQL} bean is provided by the {@link DefaultGraphQLFactory}.
+     */
+    @ConfigurationProperties(ExecutionConfiguration.PREFIX)
+    public static class ExecutionConfiguration {
+
+        /**
+         * The prefix to use for all GraphQL execution configuration properties.
+         */
+        public static final String PREFIX = "execution";
+
+        /**
+         * The configuration name of the query execution strategy.
+         */
+        public static final String QUERY_STRATEGY = PREFIX + ".query-strategy";
+
+        /**
+         * The default query execution strategy.
+         */
+        public static final Strategy DEFAULT_QUERY_STRATEGY = Strategy.ASYNC;
+
+        /**
+         * The configuration name of the mutation execution strategy.
+         */
+        public static final String MUTATION_STRATEGY = PREFIX + ".mutation-strategy";
+
+        /**
+         * The default mutation execution strategy.
+         */
+        public static final Strategy DEFAULT_MUTATION_STRATEGY = Strategy.ASYNC_SERIAL;
+
+        /**
+         * The configuration name of the subscription execution strategy.
+         */
+        public static final String SUBSCRIPTION_STRATEGY = PREFIX + ".subscription-strategy";
+
+        /**
+         * The default subscription execution strategy.
+         */
+        public static final Strategy DEFAULT_SUBSCRIPTION_STRATEGY = Strategy.SUBSCRIPTION;
+
+        /**
+         * The configuration name whether properties are read using bean introspection data fetchers.
+         */
+        public static final String BEAN_INTROSPECTION_DATA_FETCHERS = PREFIX + ".bean-introspection-data-fetchers";
+
+        /**
+         * The default bean introspection data fetchers value.
+         */
+        public static final boolean DEFAULT_BEAN_INTROSPECTION_DATA_FETCHERS = true;
+
+        /**
+         * The configuration name whether reactive data fetcher results are adapted.
+         */
+        public static final String REACTIVE_DATA_FETCHER_RESULTS = PREFIX + ".reactive-data-fetcher-results";
+
+        /**
+         * The default reactive data fetcher results value.
+         */
+        public static final boolean DEFAULT_REACTIVE_DATA_FETCHER_RESULTS = true;
+
+        protected Strategy queryStrategy = DEFAULT_QUERY_STRATEGY;
+        protected Strategy mutationStrategy = DEFAULT_MUTATION_STRATEGY;
+        protected Strategy subscriptionStrategy = DEFAULT_SUBSCRIPTION_STRATEGY;
+        protected boolean beanIntrospectionDataFetchers = DEFAULT_BEAN_INTROSPECTION_DATA_FETCHERS;
+        protected boolean reactiveDataFetcherResults = DEFAULT_REACTIVE_DATA_FETCHER_RESULTS;
+
+        /**
+         * Returns the query execution strategy.
+         *
+         * @return the query execution strategy
+         */
+        public Strategy getQueryStrategy() {
+            return queryStrategy;
+        }
+
+        /**
+         * Returns the mutation execution strategy.
+         *
+         * @return the mutation execution strategy
+         */
+        public Strategy getMutationStrategy() {
+            return mutationStrategy;
+        }
+
+        /**
+         * Returns the subscription execution strategy.
+         *
+         * @return the subscription execution strategy
+         */
+        public Strategy getSubscriptionStrategy() {
+            return subscriptionStrategy;
+        }
+
+        /**
+         * Returns whether properties are read using {@link BeanIntrospectionDataFetcher}s instead of the reflection based
+         * {@link graphql.schema.PropertyDataFetcher}s.
+         *
+         * @return whether bean introspection data fetchers are used
+         */
+        public boolean isBeanIntrospectionDataFetchers() {
+            return beanIntrospectionDataFetchers;
+        }
+
+        /**
+         * Returns whether reactive data fetcher results, e.g. a {@code Single} or {@code Flux}, are adapted to
+         * {@link java.util.concurrent.CompletableFuture}s by the {@link ReactiveDataFetcherResultInstrumentation}.
+         *
+         * @return whether reactive data fetcher results are adapted
+         */
+        public boolean isReactiveDataFetcherResults() {
+            return reactiveDataFetcherResults;
+        }
+
+        /**
+         * The supported GraphQL execution strategies.
+         */
+        public enum Strategy {
+
+            /**
+             * Executes the fields asynchronously, see {@link graphql.execution.AsyncExecutionStrategy}.
+             */
+            ASYNC,
+
+            /**
+             * Executes the fields asynchronously but in serial order, see {@link graphql.execution.AsyncSerialExecutionStrategy}.
+             */
+            ASYNC_SERIAL,
+
+            /**
+             * Executes the fields as a reactive stream of results, see {@link graphql.execution.SubscriptionExecutionStrategy}.
+             */
+            SUBSCRIPTION
+        }
+    }
+
+    /**
+     * Configuration properties for reading and writing GraphQL JSON.
+     */
+    @ConfigurationProperties(JsonConfiguration.PREFIX)
+    public static class JsonConfiguration {
+
+        /**
+         * The prefix to use for all GraphQL JSON configuration properties.
+         */
+        public static final String PREFIX = "json";
+
+        /**
+         * The configuration name whether the field names of the schema are encoded once and reused when writing
+         * responses.
+         */
+        public static final String SCHEMA_AWARE_FIELD_NAMES = PREFIX + ".schema-aware-field-names";
+
+        /**
+         * The default schema aware field names value.
+         */
+        public static final boolean DEFAULT_SCHEMA_AWARE_FIELD_NAMES = false;
+
+        /**
+         * The configuration name of the maximum number of encoded field names, including aliases, to keep.
+         */
+        public static final String FIELD_NAME_CACHE_SIZE = PREFIX + ".field-name-cache-size";
+
+        /**
+         * The default maximum number of encoded field names to keep.
+         */
+        public static final int DEFAULT_FIELD_NAME_CACHE_SIZE = 10000;
+
+        /**
+         * The configuration name of the JSON codec used to read requests and write responses.
+         */
+        public static final String CODEC = GraphQLConfiguration.PREFIX + "." + PREFIX + ".codec";
+
+        /**
+         * The name of the Jackson JSON codec, see {@link JacksonGraphQLJsonSerializer}.
+         */
+        public static final String JACKSON_CODEC = "jackson";
+
+        /**
+         * The name of the DSL-JSON codec, see {@link DslJsonGraphQLJsonSerializer}.
+         */
+        public static final String DSL_JSON_CODEC = "dsl-json";
+
+        /**
+         * The default JSON codec.
+         */
+        public static final String DEFAULT_CODEC = JACKSON_CODEC;
+
+        protected boolean schemaAwareFieldNames = DEFAULT_SCHEMA_AWARE_FIELD_NAMES;
+        protected int fieldNameCacheSize = DEFAULT_FIELD_NAME_CACHE_SIZE;
+        protected String codec = DEFAULT_CODEC;
+
+        /**
+         * Returns whether the field names of the schema are encoded once and reused when writing responses, see
+         * {@link SchemaAwareGraphQLResponseBodySerializer}.
+         *
+         * @return whether schema aware field names are used
+         */
+        public boolean isSchemaAwareFieldNames() {
+            return schemaAwareFieldNames;
+        }
+
+        /**
+         * Returns the maximum number of encoded field names, including aliases, to keep.
+         *
+         * @return the maximum number of encoded field names
+         */
+        public int getFieldNameCacheSize() {
+            return fieldNameCacheSize;
+        }
+
+        /**
+         * Returns the name of the JSON codec used to read requests and write responses, either {@value #JACKSON_CODEC}
+         * or {@value #DSL_JSON_CODEC}.
+         *
+         * @return the JSON codec name
+         */
+        public String getCodec() {
+            return codec;
+        }
+    }
+
+    /**
+     * Configuration properties for compressing GraphQL responses.
+     */
+    @ConfigurationProperties(CompressionConfiguration.PREFIX)
+    public static class CompressionConfiguration implements Toggleable {
+
+        /**
+         * The prefix to use for all GraphQL response compression configuration properties.
+         */
+        public static final String PREFIX = "compression";
+
+        /**
+         * The configuration name whether GraphQL responses are compressed.
+         */
+        public static final String ENABLED = PREFIX + ".enabled";
+
+        /**
+         * The default enabled value.
+         */
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The configuration name of the minimum response size in bytes to compress.
+         */
+        public static final String THRESHOLD = PREFIX + ".threshold";
+
+        /**
+         * The default minimum response size in bytes to compress.
+         */
+        public static final int DEFAULT_THRESHOLD = 1024;
+
+        /**
+         * The configuration name of the compression level, from 1 (fastest) to 9 (smallest).
+         */
+        public static final String LEVEL = PREFIX + ".level";
+
+        /**
+         * The default compression level.
+         */
+        public static final int DEFAULT_LEVEL = 6;
+
+        protected boolean enabled = DEFAULT_ENABLED;
+        protected int threshold = DEFAULT_THRESHOLD;
+        protected int level = DEFAULT_LEVEL;
+
+        /**
+         * Returns whether GraphQL responses are compressed.
+         *
+         * @return whether GraphQL responses are compressed
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Returns the minimum response size in bytes to compress. Smaller responses are sent uncompressed.
+         *
+         * @return the minimum response size in bytes
+         */
+        public int getThreshold() {
+            return threshold;
+        }
+
+        /**
+         * Returns the compression level, from 1 (fastest) to 9 (smallest).
+         *
+         * @return the compression level
+         */
+        public int getLevel() {
+            return level;
+        }
+    }
+
+    /**
+     * Configuration properties for the cache of parsed and validated GraphQL documents.
+     */
+    @ConfigurationProperties(DocumentCacheConfiguration.PREFIX)
+    public static class DocumentCacheConfiguration implements Toggleable {
+
+        /**
+         * The prefix to use for all GraphQL document cache configuration properties.
+         */
+        public static final String PREFIX = "document-cache";
+
+        /**
+         * The configuration name whether parsed and validated documents are cached.
+         */
+        public static final String ENABLED = PREFIX + ".enabled";
+
+        /**
+         * The default enabled value.
+         */
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The configuration name of the maximum number of cached documents.
+         */
+        public static final String MAXIMUM_SIZE = PREFIX + ".maximum-size";
+
+        /**
+         * The default maximum number of cached documents.
+         */
+        public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+        /**
+         * The configuration name of the number of most used documents prepared for a new schema when it is swapped in.
+         */
+        public static final String WARM_UP_SIZE = PREFIX + ".warm-up-size";
+
+        /**
+         * The default number of most used documents prepared for a new schema.
+         */
+        public static final int DEFAULT_WARM_UP_SIZE = 100;
+
+        protected boolean enabled = DEFAULT_ENABLED;
+        protected int maximumSize = DEFAULT_MAXIMUM_SIZE;
+        protected int warmUpSize = DEFAULT_WARM_UP_SIZE;
+
+        /**
+         * Returns whether parsed and validated documents are cached.
+         *
+         * @return whether parsed and validated documents are cached
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Returns the maximum number of cached documents. The least recently used documents are evicted first.
+         *
+         * @return the maximum number of cached documents
+         */
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        /**
+         * Returns the number of most used documents prepared for a new schema when it is swapped in.
+         *
+         * @return the number of documents
+         */
+        public int getWarmUpSize() {
+            return warmUpSize;
+        }
+    }
+
+    /**
+     * Configuration properties for exposing the GraphQL schema as an Apollo Federation subgraph.
+     */
+    @ConfigurationProperties(FederationConfiguration.PREFIX)
+    public static class FederationConfiguration implements Toggleable {
+
+        /**
+         * The prefix to use for all GraphQL federation configuration properties.
+         */
+        public static final String PREFIX = "federation";
+
+        /**
+         * The configuration name whether the schema is exposed as federation subgraph.
+         */
+        public static final String ENABLED = GraphQLConfiguration.PREFIX + "." + PREFIX + ".enabled";
+
+        /**
+         * The default enabled value.
+         */
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The configuration name of the path of the subgraph SDL returned to the gateway.
+         */
+        public static final String SDL_PATH = PREFIX + ".sdl-path";
+
+        protected boolean enabled = DEFAULT_ENABLED;
+        protected String sdlPath;
+
+        /**
+         * Returns whether the schema is exposed as federation subgraph.
+         *
+         * @return whether the schema is exposed as federation subgraph
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Returns the path of the subgraph SDL returned to the gateway, e.g. {@code classpath:schema.graphqls}. When not
+         * set, the SDL is printed from the schema.
+         *
+         * @return the path of the subgraph SDL
+         */
+        @Nullable
+        public String getSdlPath() {
+            return sdlPath;
+        }
+    }
+
+    /**
+     * Configuration properties for the cache of the results of fields annotated with the {@code @cached} directive.
+     */
+    @ConfigurationProperties(FieldCacheConfiguration.PREFIX)
+    public static class FieldCacheConfiguration {
+
+        /**
+         * The prefix to use for all GraphQL field result cache configuration properties.
+         */
+        public static final String PREFIX = "field-cache";
+
+        /**
+         * The configuration name of the maximum number of cached field results.
+         */
+        public static final String MAXIMUM_SIZE = PREFIX + ".maximum-size";
+
+        /**
+         * The default maximum number of cached field results.
+         */
+        public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+        protected int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+        /**
+         * Returns the maximum number of cached field results. The least recently used results are evicted first.
+         *
+         * @return the maximum number of cached field results
+         */
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+    }
+
+    /**
+     * Configuration properties for file uploads with GraphQL multipart requests.
+     */
+    @ConfigurationProperties(UploadConfiguration.PREFIX)
+    public static class UploadConfiguration implements Toggleable {
+
+        /**
+         * The prefix to use for all GraphQL upload configuration properties.
+         */
+        public static final String PREFIX = "upload";
+
+        /**
+         * The configuration name whether GraphQL multipart requests are accepted.
+         */
+        public static final String ENABLED = GraphQLConfiguration.PREFIX + "." + PREFIX + ".enabled";
+
+        /**
+         * The default enabled value.
+         */
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The configuration name of the maximum size of an uploaded file in bytes.
+         */
+        public static final String MAX_FILE_SIZE = PREFIX + ".max-file-size";
+
+        /**
+         * The default maximum size of an uploaded file in bytes.
+         */
+        public static final long DEFAULT_MAX_FILE_SIZE = 10L * 1024 * 1024;
+
+        /**
+         * The configuration name of the maximum number of uploaded files per request.
+         */
+        public static final String MAX_FILES = PREFIX + ".max-files";
+
+        /**
+         * The default maximum number of uploaded files per request.
+         */
+        public static final int DEFAULT_MAX_FILES = 10;
+
+        protected boolean enabled = DEFAULT_ENABLED;
+        protected long maxFileSize = DEFAULT_MAX_FILE_SIZE;
+        protected int maxFiles = DEFAULT_MAX_FILES;
+
+        /**
+         * Returns whether GraphQL multipart requests are accepted.
+         *
+         * @return whether GraphQL multipart requests are accepted
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Returns the maximum size of an uploaded file in bytes.
+         *
+         * @return the maximum size of an uploaded file
+         */
+        public long getMaxFileSize() {
+            return maxFileSize;
+        }
+
+        /**
+         * Returns the maximum number of uploaded files per request.
+         *
+         * @return the maximum number of uploaded files
+         */
+        public int getMaxFiles() {
+            return maxFiles;
+        }
+    }
 }
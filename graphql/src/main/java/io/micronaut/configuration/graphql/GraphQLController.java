@@ -18,7 +18,9 @@ package io.micronaut.configuration.graphql;
 
 import graphql.ExecutionResult;
 import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.http.HttpParameters;
 import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
@@ -26,35 +28,57 @@ import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.QueryValue;
 import io.micronaut.http.exceptions.HttpStatusException;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
 import org.reactivestreams.Publisher;
 
 import javax.annotation.Nullable;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static io.micronaut.configuration.graphql.GraphQLMediaTypeSerializer.APPLICATION_CBOR;
+import static io.micronaut.configuration.graphql.GraphQLMediaTypeSerializer.APPLICATION_SMILE;
 import static io.micronaut.http.HttpStatus.UNPROCESSABLE_ENTITY;
 import static io.micronaut.http.MediaType.ALL;
 import static io.micronaut.http.MediaType.APPLICATION_GRAPHQL_TYPE;
 import static io.micronaut.http.MediaType.APPLICATION_JSON;
 import static io.micronaut.http.MediaType.APPLICATION_JSON_TYPE;
+import static io.micronaut.http.MediaType.MULTIPART_FORM_DATA;
 
 /**
  * The GraphQL controller handling GraphQL requests.
  *
+ * <p>Requests and responses are read and written as JSON, unless the {@code Content-Type} respectively {@code Accept}
+ * header of the request names the media type of a {@link GraphQLMediaTypeSerializer}. The {@code data} of the
+ * response is deduplicated by {@link GraphQLCrunch} when requested, and compressed by the
+ * {@link GraphQLResponseCompressor} when enabled. When enabled, files can be uploaded with GraphQL multipart
+ * requests.</p>
+ *
  * @author Marcel Overdijk
  * @author James Kleeh
  * @since 1.0
  */
+@RequiresGraphQL
 @Controller("${" + GraphQLConfiguration.PATH + ":" + GraphQLConfiguration.DEFAULT_PATH + "}")
 public class GraphQLController {
 
+    private static final byte[] EMPTY_BODY = new byte[0];
+
     private final GraphQLInvocation graphQLInvocation;
     private final GraphQLExecutionResultHandler graphQLExecutionResultHandler;
     private final GraphQLJsonSerializer graphQLJsonSerializer;
+    private final List<GraphQLMediaTypeSerializer> graphQLMediaTypeSerializers;
+    private final GraphQLResponseCompressor graphQLResponseCompressor;
+    private final GraphQLConfiguration.UploadConfiguration uploadConfiguration;
 
     /**
-     * Default constructor.
+     * Constructor reading and writing JSON only.
      *
      * @param graphQLInvocation             the {@link GraphQLInvocation} instance
      * @param graphQLExecutionResultHandler the {@link GraphQLExecutionResultHandler} instance
@@ -62,22 +86,63 @@ public class GraphQLController {
      */
     public GraphQLController(GraphQLInvocation graphQLInvocation, GraphQLExecutionResultHandler graphQLExecutionResultHandler,
             GraphQLJsonSerializer graphQLJsonSerializer) {
+        this(graphQLInvocation, graphQLExecutionResultHandler, graphQLJsonSerializer, Collections.emptyList(), null);
+    }
+
+    /**
+     * Constructor not accepting GraphQL multipart requests.
+     *
+     * @param graphQLInvocation             the {@link GraphQLInvocation} instance
+     * @param graphQLExecutionResultHandler the {@link GraphQLExecutionResultHandler} instance
+     * @param graphQLJsonSerializer         the {@link GraphQLJsonSerializer} instance
+     * @param graphQLMediaTypeSerializers   the {@link GraphQLMediaTypeSerializer} instances
+     * @param graphQLResponseCompressor     the {@link GraphQLResponseCompressor} instance
+     */
+    public GraphQLController(GraphQLInvocation graphQLInvocation, GraphQLExecutionResultHandler graphQLExecutionResultHandler,
+            GraphQLJsonSerializer graphQLJsonSerializer, List<GraphQLMediaTypeSerializer> graphQLMediaTypeSerializers,
+            @Nullable GraphQLResponseCompressor graphQLResponseCompressor) {
+        this(graphQLInvocation, graphQLExecutionResultHandler, graphQLJsonSerializer, graphQLMediaTypeSerializers,
+                graphQLResponseCompressor, null);
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param graphQLInvocation             the {@link GraphQLInvocation} instance
+     * @param graphQLExecutionResultHandler the {@link GraphQLExecutionResultHandler} instance
+     * @param graphQLJsonSerializer         the {@link GraphQLJsonSerializer} instance
+     * @param graphQLMediaTypeSerializers   the {@link GraphQLMediaTypeSerializer} instances
+     * @param graphQLResponseCompressor     the {@link GraphQLResponseCompressor} instance
+     * @param graphQLConfiguration          the {@link GraphQLConfiguration} instance
+     */
+    @Inject
+    public GraphQLController(GraphQLInvocation graphQLInvocation,
+            GraphQLExecutionResultHandler graphQLExecutionResultHandler,
+            GraphQLJsonSerializer graphQLJsonSerializer,
+            List<GraphQLMediaTypeSerializer> graphQLMediaTypeSerializers,
+            @Nullable GraphQLResponseCompressor graphQLResponseCompressor,
+            @Nullable GraphQLConfiguration graphQLConfiguration) {
         this.graphQLInvocation = graphQLInvocation;
         this.graphQLExecutionResultHandler = graphQLExecutionResultHandler;
         this.graphQLJsonSerializer = graphQLJsonSerializer;
+        this.graphQLMediaTypeSerializers = graphQLMediaTypeSerializers;
+        this.graphQLResponseCompressor = graphQLResponseCompressor;
+        this.uploadConfiguration = graphQLConfiguration != null ? graphQLConfiguration.getUpload() : null;
     }
 
     /**
-     * Handles GraphQL {@code GET} requests.
+     * Handles GraphQL {@code GET} requests, writing the response in the media type negotiated with the {@code Accept}
+     * header of the request.
      *
      * @param query         the GraphQL query
      * @param operationName the GraphQL operation name
      * @param variables     the GraphQL variables
      * @param httpRequest   the HTTP request
      * @return the GraphQL response
+     * @since 1.3
      */
-    @Get(produces = APPLICATION_JSON, single = true)
-    public Publisher<String> get(
+    @Get(produces = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE}, single = true)
+    public Publisher<HttpResponse<byte[]>> handleGet(
             @QueryValue("query") String query,
             @Nullable @QueryValue("operationName") String operationName,
             @Nullable @QueryValue("variables") String variables,
@@ -106,28 +171,71 @@ public class GraphQLController {
     }
 
     /**
-     * Handles GraphQL {@code POST} requests.
+     * Handles GraphQL {@code POST} requests, reading the request body in the media type of its {@code Content-Type}
+     * header and writing the response in the media type negotiated with the {@code Accept} header of the request.
      *
-     * @param query         the GraphQL query
-     * @param operationName the GraphQL operation name
-     * @param variables     the GraphQL variables
-     * @param body          the GraphQL request body
-     * @param httpRequest   the HTTP request
+     * <p>The {@code query}, {@code operationName} and {@code variables} query parameters are read from the HTTP
+     * request, so the route is executed as soon as the request arrives and reads the body itself. A
+     * {@code multipart/form-data} body is read as a GraphQL multipart request uploading files, if enabled.</p>
+     *
+     * @param content     the content of the GraphQL request body
+     * @param httpRequest the HTTP request
      * @return the GraphQL response
+     * @since 1.3
      */
-    @Post(consumes = ALL, produces = APPLICATION_JSON, single = true)
-    public Publisher<String> post(
-            @Nullable @QueryValue("query") String query,
-            @Nullable @QueryValue("operationName") String operationName,
-            @Nullable @QueryValue("variables") String variables,
-            @Nullable @Body String body,
+    @Post(consumes = ALL, produces = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE}, single = true)
+    public Publisher<HttpResponse<byte[]>> handlePost(
+            @Nullable @Body GraphQLRequestContent content,
+            HttpRequest httpRequest) {
+        Optional<MediaType> opt = httpRequest.getContentType();
+        MediaType contentType = opt.orElse(null);
+        if (contentType != null && MULTIPART_FORM_DATA.equals(contentType.getName())) {
+            return handleMultipart(content, contentType, httpRequest);
+        }
+        HttpParameters parameters = httpRequest.getParameters();
+        String query = parameters.get("query");
+        String operationName = parameters.get("operationName");
+        String variables = parameters.get("variables");
+        Single<byte[]> body = content != null ? readBody(content.getChunks()) : Single.just(EMPTY_BODY);
+        return body.toFlowable().flatMap(bytes -> respond(
+                execute(readRequest(query, operationName, variables, bytes, httpRequest), httpRequest), httpRequest));
+    }
+
+    private Publisher<HttpResponse<byte[]>> handleMultipart(GraphQLRequestContent content, MediaType contentType,
+            HttpRequest httpRequest) {
+
+        // Files are uploaded as specified by the GraphQL multipart request spec
+        // (https://github.com/jaydenseric/graphql-multipart-request-spec).
+        //
+        // Unlike the other POST requests, the body is not read into memory as a whole: the request is executed once
+        // the "operations" and "map" parts are read, and the file parts are streamed to the data fetchers by the
+        // GraphQLUploads while they arrive, within the configured limits.
+
+        String boundary = contentType.getParameters().get("boundary").orElse(null);
+        if (uploadConfiguration == null || !uploadConfiguration.isEnabled() || boundary == null || content == null) {
+            throw new HttpStatusException(UNPROCESSABLE_ENTITY, "Could not process GraphQL request");
+        }
+        if (boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+            boundary = boundary.substring(1, boundary.length() - 1);
+        }
+        return Flowable.fromPublisher(GraphQLMultipartRequest.read(content.getChunks(), boundary,
+                graphQLJsonSerializer, uploadConfiguration))
+                .flatMap(request -> executeRequest(request.getQuery(), request.getOperationName(),
+                        request.getVariables(), httpRequest));
+    }
+
+    private GraphQLInvocationData readRequest(
+            String query,
+            String operationName,
+            String variables,
+            byte[] body,
             HttpRequest httpRequest) {
 
         Optional<MediaType> opt = httpRequest.getContentType();
         MediaType contentType = opt.orElse(null);
 
         if (body == null) {
-            body = "";
+            body = EMPTY_BODY;
         }
 
         // https://graphql.org/learn/serving-over-http/#post-request
@@ -146,7 +254,18 @@ public class GraphQLController {
             if (request.getQuery() == null) {
                 request.setQuery("");
             }
-            return executeRequest(request.getQuery(), request.getOperationName(), request.getVariables(), httpRequest);
+            return new GraphQLInvocationData(request.getQuery(), request.getOperationName(), request.getVariables());
+        }
+
+        // Requests in another data format, e.g. CBOR, have the same structure as the JSON-encoded body.
+
+        GraphQLMediaTypeSerializer requestSerializer = findMediaTypeSerializer(contentType);
+        if (requestSerializer != null) {
+            GraphQLRequestBody request = requestSerializer.deserialize(body, GraphQLRequestBody.class);
+            if (request.getQuery() == null) {
+                request.setQuery("");
+            }
+            return new GraphQLInvocationData(request.getQuery(), request.getOperationName(), request.getVariables());
         }
 
         // In addition to the above, we recommend supporting two additional cases:
@@ -155,19 +274,45 @@ public class GraphQLController {
         //   it should be parsed and handled in the same way as the HTTP GET case.
 
         if (query != null) {
-            return executeRequest(query, operationName, convertVariablesJson(variables), httpRequest);
+            return new GraphQLInvocationData(query, operationName, convertVariablesJson(variables));
         }
 
         // * If the "application/graphql" Content-Type header is present,
         //   treat the HTTP POST body contents as the GraphQL query string.
 
         if (APPLICATION_GRAPHQL_TYPE.equals(contentType)) {
-            return executeRequest(body, null, null, httpRequest);
+            return new GraphQLInvocationData(new String(body, httpRequest.getCharacterEncoding()), null, null);
         }
 
         throw new HttpStatusException(UNPROCESSABLE_ENTITY, "Could not process GraphQL request");
     }
 
+    private static Single<byte[]> readBody(Publisher<ByteBuffer> chunks) {
+        return Flowable.fromPublisher(chunks).toList().map(GraphQLController::concat);
+    }
+
+    private static byte[] concat(List<ByteBuffer> chunks) {
+        if (chunks.size() == 1) {
+            ByteBuffer chunk = chunks.get(0);
+            if (chunk.hasArray() && chunk.arrayOffset() == 0 && chunk.position() == 0
+                    && chunk.remaining() == chunk.array().length) {
+                return chunk.array();
+            }
+        }
+        int size = 0;
+        for (ByteBuffer chunk : chunks) {
+            size += chunk.remaining();
+        }
+        byte[] bytes = new byte[size];
+        int offset = 0;
+        for (ByteBuffer chunk : chunks) {
+            int length = chunk.remaining();
+            chunk.duplicate().get(bytes, offset, length);
+            offset += length;
+        }
+        return bytes;
+    }
+
     private Map<String, Object> convertVariablesJson(String jsonMap) {
         if (jsonMap == null) {
             return Collections.emptyMap();
@@ -184,14 +329,113 @@ public class GraphQLController {
      * @param httpRequest   the HTTP request
      * @return the serialized GraphQL response
      */
-    private Publisher<String> executeRequest(
+    private Publisher<HttpResponse<byte[]>> executeRequest(
             String query,
             String operationName,
             Map<String, Object> variables,
             HttpRequest httpRequest) {
         GraphQLInvocationData invocationData = new GraphQLInvocationData(query, operationName, variables);
+        return respond(execute(invocationData, httpRequest), httpRequest);
+    }
+
+    private Publisher<GraphQLResponseBody> execute(GraphQLInvocationData invocationData, HttpRequest httpRequest) {
         Publisher<ExecutionResult> executionResult = graphQLInvocation.invoke(invocationData, httpRequest);
         Publisher<GraphQLResponseBody> responseBody = graphQLExecutionResultHandler.handleExecutionResult(executionResult);
-        return Publishers.map(responseBody, graphQLJsonSerializer::serialize);
+        if (GraphQLCrunch.isRequested(httpRequest)) {
+            responseBody = Publishers.map(responseBody, GraphQLCrunch::crunchResponseBody);
+        }
+        return responseBody;
+    }
+
+    private Publisher<HttpResponse<byte[]>> respond(
+            Publisher<GraphQLResponseBody> responseBody,
+            HttpRequest<?> httpRequest) {
+        GraphQLMediaTypeSerializer responseSerializer = findAcceptedMediaTypeSerializer(httpRequest);
+        String encoding = graphQLResponseCompressor != null
+                ? graphQLResponseCompressor.selectEncoding(httpRequest)
+                : null;
+        if (responseSerializer != null) {
+            MediaType mediaType = responseSerializer.getMediaType();
+            if (encoding != null) {
+                return Publishers.map(responseBody, body ->
+                        compressedResponse(responseSerializer.serialize(body), mediaType, encoding));
+            }
+            return Publishers.map(responseBody, body ->
+                    HttpResponse.ok(responseSerializer.serialize(body)).contentType(mediaType));
+        }
+        if (encoding != null) {
+            return Publishers.map(responseBody, body -> compressedJsonResponse(body, encoding));
+        }
+        return Publishers.map(responseBody, body ->
+                HttpResponse.ok(graphQLJsonSerializer.serializeToBytes(body)).contentType(APPLICATION_JSON_TYPE));
+    }
+
+    private HttpResponse<byte[]> compressedJsonResponse(GraphQLResponseBody body, String encoding) {
+        // The JSON is compressed while it is written, once it exceeds the threshold.
+        CompressingOutputStream outputStream = graphQLResponseCompressor.createOutputStream(encoding);
+        try (CompressingOutputStream out = outputStream) {
+            graphQLJsonSerializer.serialize(body, out);
+        } catch (IOException e) {
+            throw new RuntimeException("Error serializing object to JSON: " + e.getMessage(), e);
+        }
+        return graphQLResponseCompressor.encode(
+                HttpResponse.ok(outputStream.toByteArray()).contentType(APPLICATION_JSON_TYPE), outputStream);
+    }
+
+    private HttpResponse<byte[]> compressedResponse(byte[] bytes, MediaType mediaType, String encoding) {
+        CompressingOutputStream outputStream = graphQLResponseCompressor.createOutputStream(encoding);
+        try (CompressingOutputStream out = outputStream) {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new RuntimeException("Error compressing response: " + e.getMessage(), e);
+        }
+        return graphQLResponseCompressor.encode(HttpResponse.ok(outputStream.toByteArray()).contentType(mediaType),
+                outputStream);
+    }
+
+    private GraphQLMediaTypeSerializer findAcceptedMediaTypeSerializer(HttpRequest<?> httpRequest) {
+        if (graphQLMediaTypeSerializers.isEmpty()) {
+            return null;
+        }
+        // The accepted media types are tried in the order of their quality, keeping the order of the header for
+        // media types of the same quality.
+        List<MediaType> accepted = new ArrayList<>(httpRequest.getHeaders().accept());
+        accepted.sort((mediaType, other) -> Double.compare(quality(other), quality(mediaType)));
+        for (MediaType mediaType : accepted) {
+            if (quality(mediaType) <= 0) {
+                break;
+            }
+            if (APPLICATION_JSON.equalsIgnoreCase(mediaType.getName().trim())) {
+                return null;
+            }
+            GraphQLMediaTypeSerializer serializer = findMediaTypeSerializer(mediaType);
+            if (serializer != null) {
+                return serializer;
+            }
+        }
+        return null;
+    }
+
+    private GraphQLMediaTypeSerializer findMediaTypeSerializer(MediaType mediaType) {
+        if (mediaType == null) {
+            return null;
+        }
+        // The names are compared trimmed, as the accepted media types after the first keep the space following the
+        // comma of the Accept header.
+        String name = mediaType.getName().trim();
+        for (GraphQLMediaTypeSerializer serializer : graphQLMediaTypeSerializers) {
+            if (serializer.getMediaType().getName().equalsIgnoreCase(name)) {
+                return serializer;
+            }
+        }
+        return null;
+    }
+
+    private static double quality(MediaType mediaType) {
+        try {
+            return Double.parseDouble(mediaType.getQuality());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 }
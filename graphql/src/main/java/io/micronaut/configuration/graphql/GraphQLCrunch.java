@@ -0,0 +1,207 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import io.micronaut.http.HttpRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the {@code data} of GraphQL responses in the deduplicated format of
+ * <a href="https://github.com/banterfm/graphql-crunch">graphql-crunch</a>.
+ *
+ * <p>The crunched data is a flat list of unique values. Scalar values are stored as is, lists are stored as lists of
+ * the indexes of their elements, and objects are stored as objects with the indexes of their field values. Identical
+ * values, lists and objects are stored once, and the root value is the last value of the list. Clients request the
+ * crunched format with the {@value #PARAMETER} query parameter, as sent by the graphql-crunch client, or the
+ * {@value #HEADER} header.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public final class GraphQLCrunch {
+
+    /**
+     * The query parameter requesting crunched responses.
+     */
+    public static final String PARAMETER = "crunch";
+
+    /**
+     * The header requesting crunched responses.
+     */
+    public static final String HEADER = "X-GraphQL-Crunch";
+
+    private GraphQLCrunch() {
+    }
+
+    /**
+     * Returns whether the given request asks for a crunched response.
+     *
+     * @param httpRequest the HTTP request
+     * @return whether the response should be crunched
+     */
+    public static boolean isRequested(HttpRequest<?> httpRequest) {
+        return httpRequest.getParameters().contains(PARAMETER) || httpRequest.getHeaders().contains(HEADER);
+    }
+
+    /**
+     * Returns a response body with the crunched {@code data} of the given response body. The {@code errors} and
+     * {@code extensions} are left as is.
+     *
+     * @param responseBody the response body
+     * @return the crunched response body
+     */
+    public static GraphQLResponseBody crunchResponseBody(GraphQLResponseBody responseBody) {
+        ExecutionResult executionResult = responseBody.getExecutionResult();
+        if (executionResult != null) {
+            if (!executionResult.isDataPresent()) {
+                return responseBody;
+            }
+            return new GraphQLResponseBody(ExecutionResultImpl.newExecutionResult()
+                    .from(executionResult)
+                    .data(crunch(executionResult.getData()))
+                    .build());
+        }
+        Map<String, Object> specification = responseBody.getSpecification();
+        if (!specification.containsKey("data")) {
+            return responseBody;
+        }
+        Map<String, Object> crunched = new LinkedHashMap<>(specification);
+        crunched.put("data", crunch(specification.get("data")));
+        return new GraphQLResponseBody(crunched);
+    }
+
+    /**
+     * Crunches the given value, consisting of maps, lists and scalar values.
+     *
+     * @param value the value
+     * @return the crunched values
+     */
+    public static List<Object> crunch(Object value) {
+        Cruncher cruncher = new Cruncher();
+        cruncher.flatten(value);
+        return cruncher.values;
+    }
+
+    /**
+     * Restores the value crunched by {@link #crunch(Object)}.
+     *
+     * @param crunched the crunched values
+     * @return the value
+     */
+    public static Object uncrunch(List<?> crunched) {
+        if (crunched == null || crunched.isEmpty()) {
+            return null;
+        }
+        Object[] values = new Object[crunched.size()];
+        for (int i = 0; i < values.length; i++) {
+            Object value = crunched.get(i);
+            if (value instanceof List) {
+                List<?> indexes = (List<?>) value;
+                List<Object> list = new ArrayList<>(indexes.size());
+                for (Object index : indexes) {
+                    list.add(values[((Number) index).intValue()]);
+                }
+                values[i] = list;
+            } else if (value instanceof Map) {
+                Map<?, ?> indexes = (Map<?, ?>) value;
+                Map<String, Object> map = new LinkedHashMap<>(indexes.size());
+                for (Map.Entry<?, ?> entry : indexes.entrySet()) {
+                    map.put(String.valueOf(entry.getKey()), values[((Number) entry.getValue()).intValue()]);
+                }
+                values[i] = map;
+            } else {
+                values[i] = value;
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    /**
+     * Flattens a value into the list of unique values.
+     */
+    private static final class Cruncher {
+
+        private final List<Object> values = new ArrayList<>();
+        private final Map<Object, Integer> indexes = new HashMap<>();
+
+        private int flatten(Object value) {
+            if (value instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                Map<String, Integer> fields = new LinkedHashMap<>(map.size());
+                List<Object> key = new ArrayList<>(map.size() * 2);
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    String name = String.valueOf(entry.getKey());
+                    int index = flatten(entry.getValue());
+                    fields.put(name, index);
+                    key.add(name);
+                    key.add(index);
+                }
+                return index(new ObjectKey(key), fields);
+            }
+            if (value instanceof List) {
+                List<?> list = (List<?>) value;
+                List<Integer> elements = new ArrayList<>(list.size());
+                for (Object element : list) {
+                    elements.add(flatten(element));
+                }
+                return index(elements, Collections.unmodifiableList(elements));
+            }
+            return index(value, value);
+        }
+
+        private int index(Object key, Object value) {
+            Integer index = indexes.get(key);
+            if (index == null) {
+                index = values.size();
+                values.add(value);
+                indexes.put(key, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * The key of an object, comparing the field names and value indexes in order, and distinguishing objects from
+     * lists with equal contents.
+     */
+    private static final class ObjectKey {
+
+        private final List<Object> fields;
+
+        private ObjectKey(List<Object> fields) {
+            this.fields = fields;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ObjectKey && fields.equals(((ObjectKey) o).fields);
+        }
+
+        @Override
+        public int hashCode() {
+            return fields.hashCode();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.EachBean;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.exceptions.HttpStatusException;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import org.dataloader.DataLoaderRegistry;
+import org.reactivestreams.Publisher;
+
+import javax.annotation.Nullable;
+import javax.inject.Provider;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A named GraphQL endpoint, invoking the requests with the {@link GraphQL} bean named after the endpoint.
+ *
+ * <p>The endpoint deliberately is no {@link GraphQLInvocation} bean itself, which would be ambiguous for the
+ * {@link GraphQLController}; {@link #invoke(GraphQLInvocationData, HttpRequest)} fulfills that contract instead.</p>
+ *
+ * <p>The requests are executed on the configured executor and limited to the configured number of concurrent requests,
+ * so an expensive schema cannot starve the other endpoints. The endpoint name is set as the {@link #ATTRIBUTE}
+ * request attribute, e.g. to tag metrics recorded by HTTP filters.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see GraphQLEndpointController
+ */
+@EachBean(GraphQLEndpointConfiguration.class)
+public class GraphQLEndpoint {
+
+    /**
+     * The name of the request attribute holding the endpoint name.
+     */
+    public static final String ATTRIBUTE = "micronaut.graphql.endpoint";
+
+    private final GraphQLEndpointConfiguration configuration;
+    private final DefaultGraphQLProvider graphQLProvider;
+    private final GraphQLInvocation graphQLInvocation;
+    private final Scheduler scheduler;
+    private final Semaphore semaphore;
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final LongAdder rejectedRequests = new LongAdder();
+
+    /**
+     * Default constructor.
+     *
+     * @param configuration                   the {@link GraphQLEndpointConfiguration} instance
+     * @param graphQLConfiguration            the {@link GraphQLConfiguration} instance
+     * @param beanContext                     the {@link BeanContext} instance
+     * @param graphQLExecutionInputCustomizer the {@link GraphQLExecutionInputCustomizer} instance
+     * @param dataLoaderRegistry              the {@link DataLoaderRegistry} instance
+     */
+    public GraphQLEndpoint(
+            GraphQLEndpointConfiguration configuration,
+            GraphQLConfiguration graphQLConfiguration,
+            BeanContext beanContext,
+            GraphQLExecutionInputCustomizer graphQLExecutionInputCustomizer,
+            @Nullable Provider<DataLoaderRegistry> dataLoaderRegistry) {
+        this.configuration = configuration;
+        GraphQL graphQL = beanContext.getBean(GraphQL.class, Qualifiers.byName(configuration.getName()));
+        CachingPreparsedDocumentProvider documents = configuration.getDocumentCacheSize() > 0
+                ? new CachingPreparsedDocumentProvider(configuration.getDocumentCacheSize())
+                : null;
+        if (documents != null) {
+            graphQL = graphQL.transform(builder -> builder.preparsedDocumentProvider(documents));
+        }
+        this.graphQLProvider = new DefaultGraphQLProvider(graphQL, null, documents, graphQLConfiguration,
+                Collections.emptyList());
+        this.graphQLInvocation = new DefaultGraphQLInvocation(
+                graphQLProvider, graphQLExecutionInputCustomizer, dataLoaderRegistry);
+        this.scheduler = configuration.getExecutor() != null
+                ? Schedulers.from(beanContext.getBean(ExecutorService.class,
+                        Qualifiers.byName(configuration.getExecutor())))
+                : null;
+        this.semaphore = configuration.getMaxConcurrentRequests() > 0
+                ? new Semaphore(configuration.getMaxConcurrentRequests())
+                : null;
+    }
+
+    /**
+     * Invokes the GraphQL request on the endpoint's executor, unless the maximum number of concurrent requests is
+     * reached.
+     *
+     * @param invocationData the GraphQL invocation data
+     * @param httpRequest    the HTTP request
+     * @return the GraphQL execution result
+     * @see GraphQLInvocation#invoke(GraphQLInvocationData, HttpRequest)
+     */
+    public Publisher<ExecutionResult> invoke(GraphQLInvocationData invocationData, HttpRequest httpRequest) {
+        httpRequest.setAttribute(ATTRIBUTE, configuration.getName());
+        Flowable<ExecutionResult> executionResult = Flowable.defer(() -> {
+            if (semaphore != null && !semaphore.tryAcquire()) {
+                rejectedRequests.increment();
+                return Flowable.error(new HttpStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Too many concurrent requests for GraphQL endpoint: " + configuration.getName()));
+            }
+            activeRequests.incrementAndGet();
+            return Flowable.fromPublisher(graphQLInvocation.invoke(invocationData, httpRequest))
+                    .doFinally(() -> {
+                        activeRequests.decrementAndGet();
+                        if (semaphore != null) {
+                            semaphore.release();
+                        }
+                    });
+        });
+        return scheduler != null ? executionResult.subscribeOn(scheduler) : executionResult;
+    }
+
+    /**
+     * Returns the endpoint configuration.
+     *
+     * @return the endpoint configuration
+     */
+    public GraphQLEndpointConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Returns the provider of the endpoint's {@link GraphQL} instance, through which a new schema can be swapped in.
+     *
+     * @return the {@link DefaultGraphQLProvider} of the endpoint
+     */
+    public DefaultGraphQLProvider getGraphQLProvider() {
+        return graphQLProvider;
+    }
+
+    /**
+     * Returns the number of requests currently executing.
+     *
+     * @return the number of active requests
+     */
+    public int getActiveRequests() {
+        return activeRequests.get();
+    }
+
+    /**
+     * Returns the number of requests rejected as the maximum number of concurrent requests was reached.
+     *
+     * @return the number of rejected requests
+     */
+    public long getRejectedRequests() {
+        return rejectedRequests.sum();
+    }
+}
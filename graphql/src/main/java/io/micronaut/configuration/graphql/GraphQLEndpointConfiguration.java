@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Configuration properties for a named GraphQL endpoint, configured as {@code graphql.endpoints.<name>.*}.
+ *
+ * <p>Each endpoint executes the requests with the {@link graphql.GraphQL} bean named after the endpoint, isolated from
+ * the other endpoints by its own document cache, executor and concurrency limit.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see GraphQLEndpoint
+ */
+@EachProperty(GraphQLEndpointConfiguration.PREFIX)
+public class GraphQLEndpointConfiguration {
+
+    /**
+     * The prefix to use for all GraphQL endpoint configuration properties.
+     */
+    public static final String PREFIX = GraphQLConfiguration.PREFIX + ".endpoints";
+
+    /**
+     * The default maximum number of concurrent requests, unlimited.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 0;
+
+    /**
+     * The default maximum number of cached documents, disabling the document cache.
+     */
+    public static final int DEFAULT_DOCUMENT_CACHE_SIZE = 0;
+
+    protected int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+    protected String executor;
+    protected int documentCacheSize = DEFAULT_DOCUMENT_CACHE_SIZE;
+    protected Map<String, String> tags = Collections.emptyMap();
+
+    private final String name;
+
+    /**
+     * Default constructor.
+     *
+     * @param name the endpoint name
+     */
+    public GraphQLEndpointConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the endpoint name, which is also the last path segment of the endpoint below the GraphQL path.
+     *
+     * @return the endpoint name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the maximum number of requests executed concurrently. Further requests are rejected with
+     * {@code 503 Service Unavailable}. A value of {@code 0} means unlimited.
+     *
+     * @return the maximum number of concurrent requests
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Returns the name of the executor executing the requests, e.g. {@code io} or an executor configured via
+     * {@code micronaut.executors.<name>.*}. When not set, the requests are executed on the event loop.
+     *
+     * @return the executor name
+     */
+    @Nullable
+    public String getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Returns the maximum number of documents cached by the endpoint. A value of {@code 0} disables the cache.
+     *
+     * @return the maximum number of cached documents
+     */
+    public int getDocumentCacheSize() {
+        return documentCacheSize;
+    }
+
+    /**
+     * Returns the tags identifying the endpoint in metrics, in addition to the endpoint name.
+     *
+     * @return the tags
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.exceptions.HttpStatusException;
+import org.reactivestreams.Publisher;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.micronaut.configuration.graphql.GraphQLMediaTypeSerializer.APPLICATION_CBOR;
+import static io.micronaut.configuration.graphql.GraphQLMediaTypeSerializer.APPLICATION_SMILE;
+import static io.micronaut.http.HttpStatus.NOT_FOUND;
+import static io.micronaut.http.MediaType.ALL;
+import static io.micronaut.http.MediaType.APPLICATION_JSON;
+
+/**
+ * The controller handling the GraphQL requests of the named {@link GraphQLEndpoint}s, served below the GraphQL path,
+ * e.g. {@code /graphql/internal} for the {@code internal} endpoint.
+ *
+ * <p>The requests are handled like those of the {@link GraphQLController}, but invoked by the endpoint named in the
+ * path.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@RequiresGraphQL
+@Requires(beans = GraphQLEndpoint.class)
+@Controller("${" + GraphQLConfiguration.PATH + ":" + GraphQLConfiguration.DEFAULT_PATH + "}/{endpoint}")
+public class GraphQLEndpointController {
+
+    private final Map<String, GraphQLController> controllers = new HashMap<>();
+
+    /**
+     * Default constructor.
+     *
+     * @param endpoints                     the {@link GraphQLEndpoint} instances
+     * @param graphQLExecutionResultHandler the {@link GraphQLExecutionResultHandler} instance
+     * @param graphQLJsonSerializer         the {@link GraphQLJsonSerializer} instance
+     * @param graphQLMediaTypeSerializers   the {@link GraphQLMediaTypeSerializer} instances
+     * @param graphQLResponseCompressor     the {@link GraphQLResponseCompressor} instance
+     */
+    public GraphQLEndpointController(List<GraphQLEndpoint> endpoints,
+            GraphQLExecutionResultHandler graphQLExecutionResultHandler, GraphQLJsonSerializer graphQLJsonSerializer,
+            List<GraphQLMediaTypeSerializer> graphQLMediaTypeSerializers,
+            @Nullable GraphQLResponseCompressor graphQLResponseCompressor) {
+        for (GraphQLEndpoint endpoint : endpoints) {
+            controllers.put(endpoint.getConfiguration().getName(), new GraphQLController(endpoint::invoke,
+                    graphQLExecutionResultHandler, graphQLJsonSerializer, graphQLMediaTypeSerializers,
+                    graphQLResponseCompressor));
+        }
+    }
+
+    /**
+     * Handles GraphQL {@code GET} requests of a named endpoint.
+     *
+     * @param endpoint      the endpoint name
+     * @param query         the GraphQL query
+     * @param operationName the GraphQL operation name
+     * @param variables     the GraphQL variables
+     * @param httpRequest   the HTTP request
+     * @return the GraphQL response
+     * @see GraphQLController#handleGet(String, String, String, HttpRequest)
+     */
+    @Get(produces = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE}, single = true)
+    public Publisher<HttpResponse<byte[]>> get(
+            String endpoint,
+            @QueryValue("query") String query,
+            @Nullable @QueryValue("operationName") String operationName,
+            @Nullable @QueryValue("variables") String variables,
+            HttpRequest httpRequest) {
+        return controller(endpoint).handleGet(query, operationName, variables, httpRequest);
+    }
+
+    /**
+     * Handles GraphQL {@code POST} requests of a named endpoint.
+     *
+     * @param endpoint    the endpoint name
+     * @param content     the content of the GraphQL request body
+     * @param httpRequest the HTTP request
+     * @return the GraphQL response
+     * @see GraphQLController#handlePost(GraphQLRequestContent, HttpRequest)
+     */
+    @Post(consumes = ALL, produces = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE}, single = true)
+    public Publisher<HttpResponse<byte[]>> post(
+            String endpoint,
+            @Nullable @Body GraphQLRequestContent content,
+            HttpRequest httpRequest) {
+        return controller(endpoint).handlePost(content, httpRequest);
+    }
+
+    private GraphQLController controller(String endpoint) {
+        GraphQLController controller = controllers.get(endpoint);
+        if (controller == null) {
+            throw new HttpStatusException(NOT_FOUND, "Unknown GraphQL endpoint: " + endpoint);
+        }
+        return controller;
+    }
+}
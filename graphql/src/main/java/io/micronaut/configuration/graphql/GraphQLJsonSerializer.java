@@ -16,9 +16,17 @@
 
 package io.micronaut.configuration.graphql;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * An interface for serializing and deserializing GraphQL objects.
  *
+ * <p>The {@link GraphQLController} reads and writes the HTTP bodies as UTF-8 encoded bytes. The byte oriented methods
+ * default to the {@link String} based ones, implementations able to read and write bytes directly should override
+ * them.</p>
+ *
  * @author Marcel Overdijk
  * @since 1.0
  */
@@ -41,4 +49,40 @@ public interface GraphQLJsonSerializer {
      * @return the object
      */
     <T> T deserialize(String json, Class<T> requiredType);
+
+    /**
+     * Serializes the given object to UTF-8 encoded json bytes.
+     *
+     * @param object the object to serialize
+     * @return the json bytes
+     * @since 1.3
+     */
+    default byte[] serializeToBytes(Object object) {
+        return serialize(object).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Deserializes the given UTF-8 encoded json bytes to an object of the required type.
+     *
+     * @param json         the json bytes
+     * @param requiredType the required type
+     * @param <T>          the required generic type
+     * @return the object
+     * @since 1.3
+     */
+    default <T> T deserialize(byte[] json, Class<T> requiredType) {
+        return deserialize(new String(json, StandardCharsets.UTF_8), requiredType);
+    }
+
+    /**
+     * Serializes the given object as UTF-8 encoded json to the given stream, without closing it.
+     *
+     * @param object       the object to serialize
+     * @param outputStream the stream to write to
+     * @throws IOException if the stream cannot be written
+     * @since 1.3
+     */
+    default void serialize(Object object, OutputStream outputStream) throws IOException {
+        outputStream.write(serializeToBytes(object));
+    }
 }
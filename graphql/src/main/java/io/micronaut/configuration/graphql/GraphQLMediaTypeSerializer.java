@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import io.micronaut.http.MediaType;
+
+/**
+ * An interface for serializing and deserializing GraphQL objects in a data format other than JSON, typically a binary
+ * format like CBOR or Smile.
+ *
+ * <p>The {@link GraphQLController} reads requests with a matching {@code Content-Type} header, and writes responses
+ * for requests accepting the media type, with the serializer. Other requests and responses are read and written by the
+ * {@link GraphQLJsonSerializer}.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see GraphQLMediaTypeSerializerFactory
+ */
+public interface GraphQLMediaTypeSerializer {
+
+    /**
+     * The CBOR media type.
+     */
+    String APPLICATION_CBOR = "application/cbor";
+
+    /**
+     * The Smile media type.
+     */
+    String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    /**
+     * Returns the media type of the data format.
+     *
+     * @return the media type
+     */
+    MediaType getMediaType();
+
+    /**
+     * Serializes the given object to bytes.
+     *
+     * @param object the object to serialize
+     * @return the bytes
+     */
+    byte[] serialize(Object object);
+
+    /**
+     * Deserializes the given bytes to an object of the required type.
+     *
+     * @param bytes        the bytes
+     * @param requiredType the required type
+     * @param <T>          the required generic type
+     * @return the object
+     */
+    <T> T deserialize(byte[] bytes, Class<T> requiredType);
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.MediaType;
+
+import javax.inject.Singleton;
+
+/**
+ * Factory creating the {@link GraphQLMediaTypeSerializer} beans for the Jackson data formats on the classpath.
+ *
+ * <p>Add {@code com.fasterxml.jackson.dataformat:jackson-dataformat-cbor} to support {@code application/cbor}, and
+ * {@code com.fasterxml.jackson.dataformat:jackson-dataformat-smile} to support {@code application/x-jackson-smile}
+ * requests and responses.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@Factory
+@RequiresGraphQL
+public class GraphQLMediaTypeSerializerFactory {
+
+    /**
+     * Creates the CBOR {@link GraphQLMediaTypeSerializer} bean.
+     *
+     * @return the CBOR {@link GraphQLMediaTypeSerializer} instance
+     */
+    @Bean
+    @Singleton
+    @Requires(classes = CBORFactory.class)
+    public GraphQLMediaTypeSerializer cborSerializer() {
+        return new JacksonGraphQLMediaTypeSerializer(new ObjectMapper(new CBORFactory()),
+                new MediaType(GraphQLMediaTypeSerializer.APPLICATION_CBOR));
+    }
+
+    /**
+     * Creates the Smile {@link GraphQLMediaTypeSerializer} bean.
+     *
+     * @return the Smile {@link GraphQLMediaTypeSerializer} instance
+     */
+    @Bean
+    @Singleton
+    @Requires(classes = SmileFactory.class)
+    public GraphQLMediaTypeSerializer smileSerializer() {
+        return new JacksonGraphQLMediaTypeSerializer(new ObjectMapper(new SmileFactory()),
+                new MediaType(GraphQLMediaTypeSerializer.APPLICATION_SMILE));
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import io.micronaut.http.MediaType;
+import io.micronaut.http.exceptions.HttpStatusException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+import static io.micronaut.http.HttpStatus.REQUEST_ENTITY_TOO_LARGE;
+import static io.micronaut.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+/**
+ * Parses a {@code multipart/form-data} body chunk by chunk as it arrives, passing the parts to a {@link PartHandler}.
+ *
+ * <p>The content of a part is passed on as soon as it cannot be the start of the delimiter of the next part, so only
+ * the headers of a part and the last bytes of a chunk are held until the next chunk arrives.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see <a href="https://tools.ietf.org/html/rfc7578">RFC 7578</a>
+ */
+final class GraphQLMultipartParser {
+
+    /**
+     * The maximum size of the headers of a part.
+     */
+    static final int MAX_HEADERS_SIZE = 8192;
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] HEADERS_END = {'\r', '\n', '\r', '\n'};
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * The handler of the parts.
+     */
+    interface PartHandler {
+
+        /**
+         * Starts a part.
+         *
+         * @param name        the name of the part
+         * @param filename    the file name of the part, or {@code null} if not given
+         * @param contentType the content type of the part, or {@code null} if not given
+         */
+        void part(String name, String filename, MediaType contentType);
+
+        /**
+         * Passes on a chunk of the content of the current part.
+         *
+         * @param chunk the chunk
+         */
+        void data(ByteBuffer chunk);
+
+        /**
+         * Ends the current part, as its content is passed on as a whole.
+         */
+        void partEnd();
+    }
+
+    /**
+     * The states of the parser.
+     */
+    private enum State {
+        PREAMBLE, DELIMITER, HEADERS, BODY, EPILOGUE
+    }
+
+    private final byte[] delimiter;
+    private final PartHandler handler;
+    private State state = State.PREAMBLE;
+    // The preamble is read as if preceded by a line break, so the first delimiter is found like the others.
+    private byte[] pending = CRLF;
+
+    /**
+     * Default constructor.
+     *
+     * @param boundary the boundary of the parts
+     * @param handler  the handler of the parts
+     */
+    GraphQLMultipartParser(String boundary, PartHandler handler) {
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        this.handler = handler;
+    }
+
+    /**
+     * Parses the next chunk of the body.
+     *
+     * @param chunk the chunk
+     */
+    void parse(ByteBuffer chunk) {
+        byte[] data = concat(pending, chunk);
+        int position = 0;
+        boolean progress = true;
+        while (progress && position < data.length) {
+            int next = parse(data, position);
+            progress = next > position;
+            position = next;
+        }
+        pending = position < data.length ? Arrays.copyOfRange(data, position, data.length) : EMPTY;
+    }
+
+    /**
+     * Ends the body, which must have ended with the last delimiter.
+     */
+    void finish() {
+        if (state != State.EPILOGUE) {
+            throw new HttpStatusException(UNPROCESSABLE_ENTITY, "Incomplete GraphQL multipart request");
+        }
+    }
+
+    /**
+     * Parses the data from the given position in the current state.
+     *
+     * @return the position up to which the data is parsed, which is the given position if more data is needed
+     */
+    private int parse(byte[] data, int position) {
+        switch (state) {
+            case PREAMBLE:
+                return skipPreamble(data, position);
+            case DELIMITER:
+                return readDelimiter(data, position);
+            case HEADERS:
+                return readHeaders(data, position);
+            case BODY:
+                return readBody(data, position);
+            default:
+                // Everything after the last delimiter is ignored.
+                return data.length;
+        }
+    }
+
+    private int skipPreamble(byte[] data, int position) {
+        int index = indexOf(data, delimiter, position);
+        if (index < 0) {
+            return Math.max(position, data.length - delimiter.length + 1);
+        }
+        state = State.DELIMITER;
+        return index + delimiter.length;
+    }
+
+    private int readDelimiter(byte[] data, int position) {
+        if (data.length - position < 2) {
+            return position;
+        }
+        if (data[position] == '-' && data[position + 1] == '-') {
+            state = State.EPILOGUE;
+            return data.length;
+        }
+        // The delimiter line may be padded with whitespace before its line break.
+        int index = indexOf(data, CRLF, position);
+        if (index < 0) {
+            checkHeadersSize(data.length - position);
+            return position;
+        }
+        state = State.HEADERS;
+        return index + CRLF.length;
+    }
+
+    private int readHeaders(byte[] data, int position) {
+        int end;
+        if (startsWith(data, CRLF, position)) {
+            end = position;
+        } else {
+            int index = indexOf(data, HEADERS_END, position);
+            if (index < 0) {
+                checkHeadersSize(data.length - position);
+                return position;
+            }
+            end = index + CRLF.length;
+        }
+        checkHeadersSize(end - position);
+        String name = null;
+        String filename = null;
+        MediaType contentType = null;
+        for (String header : new String(data, position, end - position, StandardCharsets.UTF_8).split("\r\n")) {
+            int colon = header.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String headerName = header.substring(0, colon).trim().toLowerCase(Locale.ENGLISH);
+            String value = header.substring(colon + 1).trim();
+            if (headerName.equals("content-disposition")) {
+                name = parameter(value, "name");
+                filename = parameter(value, "filename");
+            } else if (headerName.equals("content-type") && !value.isEmpty()) {
+                contentType = new MediaType(value);
+            }
+        }
+        if (name == null) {
+            throw new HttpStatusException(UNPROCESSABLE_ENTITY, "Missing name of part of GraphQL multipart request");
+        }
+        handler.part(name, filename, contentType);
+        state = State.BODY;
+        return end + CRLF.length;
+    }
+
+    private int readBody(byte[] data, int position) {
+        int index = indexOf(data, delimiter, position);
+        if (index < 0) {
+            // The last bytes may be the start of the delimiter, so are held until the next chunk arrives.
+            int end = data.length - delimiter.length + 1;
+            if (end > position) {
+                handler.data(ByteBuffer.wrap(data, position, end - position));
+                return end;
+            }
+            return position;
+        }
+        if (index > position) {
+            handler.data(ByteBuffer.wrap(data, position, index - position));
+        }
+        handler.partEnd();
+        state = State.DELIMITER;
+        return index + delimiter.length;
+    }
+
+    private static void checkHeadersSize(int size) {
+        if (size > MAX_HEADERS_SIZE) {
+            throw new HttpStatusException(REQUEST_ENTITY_TOO_LARGE,
+                    "The headers of a part of GraphQL multipart request are too large");
+        }
+    }
+
+    /**
+     * Returns the value of a parameter of a {@code Content-Disposition} header, e.g. {@code name="file"}.
+     */
+    private static String parameter(String header, String name) {
+        int position = header.indexOf(';');
+        while (position >= 0 && position < header.length()) {
+            int start = position + 1;
+            int equals = header.indexOf('=', start);
+            if (equals < 0) {
+                return null;
+            }
+            String parameterName = header.substring(start, equals).trim();
+            String value;
+            int end;
+            if (equals + 1 < header.length() && header.charAt(equals + 1) == '"') {
+                end = header.indexOf('"', equals + 2);
+                if (end < 0) {
+                    end = header.length();
+                }
+                value = header.substring(equals + 2, end);
+                end = header.indexOf(';', end);
+            } else {
+                end = header.indexOf(';', equals);
+                value = header.substring(equals + 1, end < 0 ? header.length() : end).trim();
+            }
+            if (parameterName.equalsIgnoreCase(name)) {
+                return value;
+            }
+            position = end;
+        }
+        return null;
+    }
+
+    private static byte[] concat(byte[] pending, ByteBuffer chunk) {
+        int length = chunk.remaining();
+        if (pending.length == 0 && chunk.hasArray() && chunk.arrayOffset() == 0 && chunk.position() == 0
+                && length == chunk.array().length) {
+            return chunk.array();
+        }
+        byte[] data = Arrays.copyOf(pending, pending.length + length);
+        chunk.duplicate().get(data, pending.length, length);
+        return data;
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix, int position) {
+        if (data.length - position < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[position + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] data, byte[] target, int position) {
+        int last = data.length - target.length;
+        for (int i = position; i <= last; i++) {
+            if (data[i] == target[0] && startsWith(data, target, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
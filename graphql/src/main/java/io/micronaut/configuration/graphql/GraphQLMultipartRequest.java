@@ -0,0 +1,285 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import io.micronaut.http.MediaType;
+import io.micronaut.http.exceptions.HttpStatusException;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.subjects.SingleSubject;
+import org.reactivestreams.Publisher;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static io.micronaut.http.HttpStatus.REQUEST_ENTITY_TOO_LARGE;
+import static io.micronaut.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+/**
+ * Reads the GraphQL request of a GraphQL multipart request, with the uploaded files set as {@link GraphQLUpload}
+ * variable values.
+ *
+ * <p>The {@code operations} part holds the JSON encoded GraphQL request, and the {@code map} part the JSON encoded
+ * object paths of the variables to set per file part, e.g. {@code {"0": ["variables.files.0"]}}. Both must precede
+ * the file parts, as the spec requires. The body is parsed as it arrives by the {@link GraphQLMultipartParser}: the
+ * request is published once the {@code map} part is read, and the content of the files is published by their
+ * {@link GraphQLUpload}s while the file parts are received, so the maximum number and size of the files are enforced
+ * before a file arrives as a whole. Batched operations are not supported.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see <a href="https://github.com/jaydenseric/graphql-multipart-request-spec">GraphQL multipart request spec</a>
+ */
+final class GraphQLMultipartRequest implements GraphQLMultipartParser.PartHandler {
+
+    /**
+     * The name of the part holding the GraphQL request.
+     */
+    static final String OPERATIONS_PART = "operations";
+
+    /**
+     * The name of the part mapping the file parts to the object paths of the variables.
+     */
+    static final String MAP_PART = "map";
+
+    private static final String VARIABLES = "variables";
+
+    private final GraphQLJsonSerializer graphQLJsonSerializer;
+    private final GraphQLConfiguration.UploadConfiguration uploadConfiguration;
+    private final SingleSubject<GraphQLRequestBody> request = SingleSubject.create();
+    private final List<GraphQLUpload> uploads = new ArrayList<>();
+    private final Map<String, GraphQLUpload> pendingUploads = new HashMap<>();
+    private GraphQLRequestBody operations;
+
+    // The part being received: either a JSON part, a file part or a part that is skipped.
+    private String partName;
+    private ByteArrayOutputStream json;
+    private GraphQLUpload upload;
+    private String filename;
+    private long size;
+
+    private GraphQLMultipartRequest(GraphQLJsonSerializer graphQLJsonSerializer,
+            GraphQLConfiguration.UploadConfiguration uploadConfiguration) {
+        this.graphQLJsonSerializer = graphQLJsonSerializer;
+        this.uploadConfiguration = uploadConfiguration;
+    }
+
+    /**
+     * Reads the GraphQL request from the given content of a multipart request, as it arrives.
+     *
+     * <p>The returned publisher emits the GraphQL request once the {@code operations} and {@code map} parts are read,
+     * and completes once all parts are read. It fails with an {@link HttpStatusException} if the content is not a
+     * valid GraphQL multipart request, or exceeds the limits, which fails the content of the files not received yet
+     * as well.</p>
+     *
+     * @param content               the content of the multipart request
+     * @param boundary              the boundary of the parts
+     * @param graphQLJsonSerializer the {@link GraphQLJsonSerializer} instance
+     * @param uploadConfiguration   the upload configuration
+     * @return the GraphQL request
+     */
+    static Publisher<GraphQLRequestBody> read(Publisher<ByteBuffer> content, String boundary,
+            GraphQLJsonSerializer graphQLJsonSerializer, GraphQLConfiguration.UploadConfiguration uploadConfiguration) {
+        GraphQLMultipartRequest multipartRequest = new GraphQLMultipartRequest(graphQLJsonSerializer,
+                uploadConfiguration);
+        GraphQLMultipartParser parser = new GraphQLMultipartParser(boundary, multipartRequest);
+        Flowable<GraphQLRequestBody> readParts = Flowable.fromPublisher(content)
+                .doOnNext(parser::parse)
+                .ignoreElements()
+                .andThen(Completable.fromAction(() -> {
+                    parser.finish();
+                    multipartRequest.complete();
+                }))
+                .doFinally(multipartRequest::cancel)
+                .toFlowable();
+        return Flowable.merge(multipartRequest.request.toFlowable(), readParts);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void part(String name, String filename, MediaType contentType) {
+        partName = name;
+        json = null;
+        upload = null;
+        size = 0;
+        if (OPERATIONS_PART.equals(name) || MAP_PART.equals(name)) {
+            json = new ByteArrayOutputStream();
+            return;
+        }
+        if (!request.hasValue()) {
+            throw new HttpStatusException(UNPROCESSABLE_ENTITY,
+                    "The operations and map parts must precede the file parts of GraphQL multipart request");
+        }
+        // Parts not mapped to any variable are skipped.
+        upload = pendingUploads.remove(name);
+        if (upload != null) {
+            this.filename = filename;
+            upload.receive(filename, contentType);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void data(ByteBuffer chunk) {
+        if (json != null) {
+            json.write(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+            if (json.size() > uploadConfiguration.getMaxFileSize()) {
+                throw new HttpStatusException(REQUEST_ENTITY_TOO_LARGE,
+                        "The " + partName + " part of GraphQL multipart request is too large");
+            }
+        } else if (upload != null) {
+            size += chunk.remaining();
+            if (size > uploadConfiguration.getMaxFileSize()) {
+                throw new HttpStatusException(REQUEST_ENTITY_TOO_LARGE,
+                        "File too large in GraphQL multipart request: " + filename
+                                + " (maximum: " + uploadConfiguration.getMaxFileSize() + " bytes)");
+            }
+            upload.write(chunk);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void partEnd() {
+        if (OPERATIONS_PART.equals(partName)) {
+            readOperations(readJson(GraphQLRequestBody.class));
+        } else if (MAP_PART.equals(partName)) {
+            readMap(readJson(Map.class));
+        } else if (upload != null) {
+            upload.complete();
+        }
+        partName = null;
+        json = null;
+        upload = null;
+    }
+
+    private <T> T readJson(Class<T> type) {
+        try {
+            return graphQLJsonSerializer.deserialize(json.toByteArray(), type);
+        } catch (RuntimeException e) {
+            throw new HttpStatusException(UNPROCESSABLE_ENTITY,
+                    "Invalid " + partName + " part of GraphQL multipart request");
+        }
+    }
+
+    private void readOperations(GraphQLRequestBody operations) {
+        if (operations.getQuery() == null) {
+            operations.setQuery("");
+        }
+        this.operations = operations;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readMap(Map map) {
+        if (operations == null) {
+            throw new HttpStatusException(UNPROCESSABLE_ENTITY,
+                    "The operations part must precede the map part of GraphQL multipart request");
+        }
+        if (map.size() > uploadConfiguration.getMaxFiles()) {
+            throw new HttpStatusException(REQUEST_ENTITY_TOO_LARGE, "Too many files in GraphQL multipart request: "
+                    + map.size() + " (maximum: " + uploadConfiguration.getMaxFiles() + ")");
+        }
+        for (Map.Entry<String, List<String>> entry : ((Map<String, List<String>>) map).entrySet()) {
+            GraphQLUpload upload = new GraphQLUpload();
+            for (String path : entry.getValue()) {
+                setVariable(operations, path, upload);
+            }
+            uploads.add(upload);
+            pendingUploads.put(entry.getKey(), upload);
+        }
+        request.onSuccess(operations);
+    }
+
+    private void complete() {
+        if (operations == null || !request.hasValue()) {
+            throw new HttpStatusException(UNPROCESSABLE_ENTITY, "Missing "
+                    + (operations == null ? OPERATIONS_PART : MAP_PART) + " part of GraphQL multipart request");
+        }
+        if (!pendingUploads.isEmpty()) {
+            throw new HttpStatusException(UNPROCESSABLE_ENTITY,
+                    "Missing file part of GraphQL multipart request: " + pendingUploads.keySet().iterator().next());
+        }
+    }
+
+    private void cancel() {
+        // Runs once the request is read, failed or cancelled, so only fails the files that did not complete.
+        HttpStatusException error = new HttpStatusException(BAD_REQUEST,
+                "GraphQL multipart request did not complete");
+        for (GraphQLUpload upload : uploads) {
+            upload.fail(error);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void setVariable(GraphQLRequestBody request, String path, GraphQLUpload upload) {
+        String[] segments = path.split("\\.");
+        if (segments.length < 2 || !segments[0].equals(VARIABLES) || request.getVariables() == null) {
+            throw invalidPath(path);
+        }
+        Object current = request.getVariables();
+        for (int i = 1; i < segments.length; i++) {
+            String segment = segments[i];
+            boolean last = i == segments.length - 1;
+            if (current instanceof Map) {
+                Map<String, Object> object = (Map<String, Object>) current;
+                if (last) {
+                    object.put(segment, upload);
+                } else {
+                    current = object.get(segment);
+                }
+            } else if (current instanceof List) {
+                List<Object> list = (List<Object>) current;
+                int index = parseIndex(segment, list.size(), path);
+                if (last) {
+                    list.set(index, upload);
+                } else {
+                    current = list.get(index);
+                }
+            } else {
+                throw invalidPath(path);
+            }
+        }
+    }
+
+    private static int parseIndex(String segment, int size, String path) {
+        try {
+            int index = Integer.parseInt(segment);
+            if (index >= 0 && index < size) {
+                return index;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below.
+        }
+        throw invalidPath(path);
+    }
+
+    private static HttpStatusException invalidPath(String path) {
+        return new HttpStatusException(UNPROCESSABLE_ENTITY, "Invalid variable path in GraphQL multipart request: "
+                + path);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.idl.RuntimeWiring;
+import io.micronaut.configuration.graphql.annotation.GraphQLOperation;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.Qualifier;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.async.SupplierUtil;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.inject.qualifiers.Qualifiers;
+
+import javax.inject.Singleton;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the data fetchers declared with {@link GraphQLOperation} annotated bean methods.
+ *
+ * <p>The annotated methods are looked up in the compile time generated bean definitions the first time the data
+ * fetchers are requested, so neither the schema wiring nor the data fetcher invocations use reflection, and the
+ * data fetchers are complete no matter how early the schema is built.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see io.micronaut.configuration.graphql.annotation.GraphQLQuery
+ * @see io.micronaut.configuration.graphql.annotation.GraphQLMutation
+ */
+@Singleton
+public class GraphQLOperationRegistry {
+
+    private final BeanContext beanContext;
+    private final GraphQLArgumentBinder argumentBinder;
+    private final Supplier<Map<FieldCoordinates, DataFetcher<?>>> dataFetchers;
+
+    /**
+     * Default constructor.
+     *
+     * @param beanContext    the {@link BeanContext} instance
+     * @param argumentBinder the {@link GraphQLArgumentBinder} instance
+     */
+    public GraphQLOperationRegistry(BeanContext beanContext, GraphQLArgumentBinder argumentBinder) {
+        this.beanContext = beanContext;
+        this.argumentBinder = argumentBinder;
+        this.dataFetchers = SupplierUtil.memoized(this::findDataFetchers);
+    }
+
+    /**
+     * Returns the registered data fetchers by field coordinates.
+     *
+     * @return the data fetchers
+     */
+    public Map<FieldCoordinates, DataFetcher<?>> getDataFetchers() {
+        return dataFetchers.get();
+    }
+
+    /**
+     * Adds the registered data fetchers to the given runtime wiring.
+     *
+     * @param builder the runtime wiring builder
+     * @return the runtime wiring builder
+     */
+    public RuntimeWiring.Builder wire(RuntimeWiring.Builder builder) {
+        getDataFetchers().forEach((coordinates, dataFetcher) -> builder.type(coordinates.getTypeName(), typeWiring ->
+                typeWiring.dataFetcher(coordinates.getFieldName(), dataFetcher)));
+        return builder;
+    }
+
+    /**
+     * Adds the registered data fetchers to the given code registry, e.g. for programmatically built schemas.
+     *
+     * @param builder the code registry builder
+     * @return the code registry builder
+     */
+    public GraphQLCodeRegistry.Builder register(GraphQLCodeRegistry.Builder builder) {
+        getDataFetchers().forEach(builder::dataFetcher);
+        return builder;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<FieldCoordinates, DataFetcher<?>> findDataFetchers() {
+        Map<FieldCoordinates, DataFetcher<?>> found = new LinkedHashMap<>();
+        for (BeanDefinition<?> beanDefinition : beanContext.getAllBeanDefinitions()) {
+            if (!beanDefinition.isEnabled(beanContext)) {
+                continue;
+            }
+            for (ExecutableMethod<?, ?> method : beanDefinition.getExecutableMethods()) {
+                if (method.hasStereotype(GraphQLOperation.class)) {
+                    register(found, (BeanDefinition<Object>) beanDefinition, (ExecutableMethod<Object, Object>) method);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(found);
+    }
+
+    private void register(Map<FieldCoordinates, DataFetcher<?>> found, BeanDefinition<Object> beanDefinition,
+            ExecutableMethod<Object, Object> method) {
+        String typeName = method.stringValue(GraphQLOperation.class).orElse(null);
+        if (StringUtils.isEmpty(typeName)) {
+            return;
+        }
+        String fieldName = method.stringValue(GraphQLOperation.class, "field")
+                .filter(StringUtils::isNotEmpty)
+                .orElse(method.getMethodName());
+        FieldCoordinates coordinates = FieldCoordinates.coordinates(typeName, fieldName);
+        if (found.containsKey(coordinates)) {
+            throw new ConfigurationException("Duplicate GraphQL data fetcher for field " + typeName + "." + fieldName
+                    + ": " + method);
+        }
+        Qualifier<Object> qualifier = beanDefinition
+                .getAnnotationTypeByStereotype(javax.inject.Qualifier.class)
+                .map(type -> Qualifiers.<Object>byAnnotation(beanDefinition, type))
+                .orElse(null);
+        found.put(coordinates, new ExecutableMethodDataFetcher<>(
+                beanContext, beanDefinition.getBeanType(), qualifier, method, argumentBinder));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.schema.SelectedField;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A projection of the fields selected by a GraphQL query, e.g. for a repository to only load the selected columns and
+ * relations instead of full entities.
+ *
+ * <p>The projection holds the selected scalar fields, the selected relations, i.e. the fields of an object or interface
+ * type, with their own projection, and the arguments of the selected fields. Fields selected multiple times, e.g. with
+ * aliases, are included once, holding the arguments of the last selection. The projections of a relation selected
+ * multiple times are merged, so it holds the fields selected by any of the selections.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public final class GraphQLProjection {
+
+    private final Set<String> fields;
+    private final Map<String, GraphQLProjection> relations;
+    private final Map<String, Map<String, Object>> arguments;
+
+    private GraphQLProjection(Set<String> fields, Map<String, GraphQLProjection> relations,
+            Map<String, Map<String, Object>> arguments) {
+        this.fields = Collections.unmodifiableSet(fields);
+        this.relations = Collections.unmodifiableMap(relations);
+        this.arguments = Collections.unmodifiableMap(arguments);
+    }
+
+    /**
+     * Creates the projection of the fields selected below the field being fetched.
+     *
+     * @param environment the data fetching environment
+     * @return the projection
+     */
+    public static GraphQLProjection of(DataFetchingEnvironment environment) {
+        return of(environment.getSelectionSet());
+    }
+
+    /**
+     * Creates the projection of the given selection set.
+     *
+     * @param selectionSet the selection set
+     * @return the projection
+     */
+    public static GraphQLProjection of(DataFetchingFieldSelectionSet selectionSet) {
+        Set<String> fields = new LinkedHashSet<>();
+        Map<String, GraphQLProjection> relations = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> arguments = new LinkedHashMap<>();
+        if (selectionSet != null) {
+            for (SelectedField field : selectionSet.getFields()) {
+                String name = field.getName();
+                // Only the fields directly below the field being fetched; nested fields are part of the relations.
+                if (field.getQualifiedName().indexOf('/') >= 0 || name.startsWith("__")) {
+                    continue;
+                }
+                GraphQLType type = GraphQLTypeUtil.unwrapAll(field.getFieldDefinition().getType());
+                if (type instanceof GraphQLFieldsContainer) {
+                    relations.merge(name, of(field.getSelectionSet()), GraphQLProjection::merge);
+                } else {
+                    fields.add(name);
+                }
+                if (!field.getArguments().isEmpty()) {
+                    arguments.put(name, field.getArguments());
+                }
+            }
+        }
+        return new GraphQLProjection(fields, relations, arguments);
+    }
+
+    private static GraphQLProjection merge(GraphQLProjection projection, GraphQLProjection other) {
+        Set<String> fields = new LinkedHashSet<>(projection.fields);
+        fields.addAll(other.fields);
+        Map<String, GraphQLProjection> relations = new LinkedHashMap<>(projection.relations);
+        other.relations.forEach((name, relation) -> relations.merge(name, relation, GraphQLProjection::merge));
+        Map<String, Map<String, Object>> arguments = new LinkedHashMap<>(projection.arguments);
+        arguments.putAll(other.arguments);
+        return new GraphQLProjection(fields, relations, arguments);
+    }
+
+    /**
+     * Returns the names of the selected scalar and enum fields.
+     *
+     * @return the selected fields
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the projections of the selected relations by field name.
+     *
+     * @return the selected relations
+     */
+    public Map<String, GraphQLProjection> getRelations() {
+        return relations;
+    }
+
+    /**
+     * Returns the projection of the given relation, if selected.
+     *
+     * @param name the field name of the relation
+     * @return the projection of the relation
+     */
+    public Optional<GraphQLProjection> getRelation(String name) {
+        return Optional.ofNullable(relations.get(name));
+    }
+
+    /**
+     * Returns the arguments of the given selected field.
+     *
+     * @param name the field name
+     * @return the arguments, or an empty map if none are given
+     */
+    public Map<String, Object> getArguments(String name) {
+        return arguments.getOrDefault(name, Collections.emptyMap());
+    }
+
+    /**
+     * Returns whether the given scalar field or relation is selected.
+     *
+     * @param name the field name
+     * @return whether the field is selected
+     */
+    public boolean contains(String name) {
+        return fields.contains(name) || relations.containsKey(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "GraphQLProjection{fields=" + fields + ", relations=" + relations + ", arguments=" + arguments + "}";
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+
+import javax.annotation.Nullable;
+
+/**
+ * Provides the {@link GraphQL} instance executing the GraphQL requests.
+ *
+ * <p>Callers should obtain the instance for each request instead of holding on to it, as implementations may swap in a
+ * new instance at runtime, e.g. built from a changed schema.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see DefaultGraphQLProvider
+ */
+@FunctionalInterface
+public interface GraphQLProvider {
+
+    /**
+     * Returns the current {@link GraphQL} instance.
+     *
+     * @return the {@link GraphQL} instance
+     */
+    GraphQL getGraphQL();
+
+    /**
+     * Returns the schema of the current {@link GraphQL} instance, which {@link GraphQL} itself does not expose.
+     *
+     * @return the schema, or {@code null} if not known to the provider
+     */
+    @Nullable
+    default GraphQLSchema getGraphQLSchema() {
+        return null;
+    }
+}
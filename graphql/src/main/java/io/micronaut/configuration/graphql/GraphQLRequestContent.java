@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import io.reactivex.Flowable;
+import org.reactivestreams.Publisher;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The content of a GraphQL {@code POST} request as it arrives, bound by the {@link GraphQLRequestContentBinder}.
+ *
+ * <p>The content is published as the raw bytes of the request body, whatever its {@code Content-Type}, so the
+ * request body is read by the {@link GraphQLJsonSerializer} or {@link GraphQLMediaTypeSerializer} itself, and
+ * multipart requests are read part by part.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public final class GraphQLRequestContent {
+
+    private final Publisher<ByteBuffer> chunks;
+
+    /**
+     * Constructor for content published in chunks.
+     *
+     * @param chunks the chunks of the content
+     */
+    public GraphQLRequestContent(Publisher<ByteBuffer> chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     * Constructor for content held in memory as a whole.
+     *
+     * @param bytes the content
+     */
+    public GraphQLRequestContent(byte[] bytes) {
+        this(Flowable.just(ByteBuffer.wrap(bytes)));
+    }
+
+    /**
+     * Returns the chunks of the content as they arrive. The content can be subscribed to only once.
+     *
+     * @return the chunks of the content
+     */
+    public Publisher<ByteBuffer> getChunks() {
+        return chunks;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.convert.ArgumentConversionContext;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.bind.binders.NonBlockingBodyArgumentBinder;
+import io.micronaut.http.netty.stream.StreamedHttpRequest;
+import io.micronaut.http.server.HttpServerConfiguration;
+import io.micronaut.http.server.netty.DefaultHttpContentProcessor;
+import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.buffer.ByteBufUtil;
+import io.reactivex.Flowable;
+
+import javax.inject.Singleton;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * Binds the {@link GraphQLRequestContent} of a GraphQL {@code POST} request.
+ *
+ * <p>The content is bound before it arrives, so the controller is invoked right away and reads the raw bytes of the
+ * request body as they arrive, instead of the body decoded by the codec of its {@code Content-Type}. The maximum
+ * request size of the HTTP server applies as for any other body.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@RequiresGraphQL
+@Requires(classes = NettyHttpRequest.class)
+@Singleton
+public class GraphQLRequestContentBinder implements NonBlockingBodyArgumentBinder<GraphQLRequestContent> {
+
+    private static final byte[] EMPTY_CONTENT = new byte[0];
+
+    private final HttpServerConfiguration httpServerConfiguration;
+
+    /**
+     * Default constructor.
+     *
+     * @param httpServerConfiguration the {@link HttpServerConfiguration} instance
+     */
+    public GraphQLRequestContentBinder(HttpServerConfiguration httpServerConfiguration) {
+        this.httpServerConfiguration = httpServerConfiguration;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Argument<GraphQLRequestContent> argumentType() {
+        return Argument.of(GraphQLRequestContent.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BindingResult<GraphQLRequestContent> bind(ArgumentConversionContext<GraphQLRequestContent> context,
+            HttpRequest<?> source) {
+        if (!(source instanceof NettyHttpRequest)) {
+            return BindingResult.EMPTY;
+        }
+        NettyHttpRequest<?> request = (NettyHttpRequest<?>) source;
+        io.netty.handler.codec.http.HttpRequest nativeRequest = request.getNativeRequest();
+        GraphQLRequestContent content;
+        if (nativeRequest instanceof StreamedHttpRequest) {
+            DefaultHttpContentProcessor processor = new DefaultHttpContentProcessor(request, httpServerConfiguration);
+            content = new GraphQLRequestContent(Flowable.fromPublisher(processor)
+                    .map(GraphQLRequestContentBinder::copy)
+                    .filter(ByteBuffer::hasRemaining));
+        } else if (nativeRequest instanceof ByteBufHolder) {
+            content = new GraphQLRequestContent(ByteBufUtil.getBytes(((ByteBufHolder) nativeRequest).content()));
+        } else {
+            content = new GraphQLRequestContent(EMPTY_CONTENT);
+        }
+        return () -> Optional.of(content);
+    }
+
+    private static ByteBuffer copy(ByteBufHolder holder) {
+        try {
+            return ByteBuffer.wrap(ByteBufUtil.getBytes(holder.content()));
+        } finally {
+            holder.release();
+        }
+    }
+}
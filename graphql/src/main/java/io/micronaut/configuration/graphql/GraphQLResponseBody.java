@@ -18,8 +18,11 @@ package io.micronaut.configuration.graphql;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import graphql.ExecutionResult;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.util.Map;
 
@@ -32,7 +35,8 @@ import java.util.Map;
 @Immutable
 public class GraphQLResponseBody {
 
-    private final Map<String, Object> specification;
+    private final ExecutionResult executionResult;
+    private volatile Map<String, Object> specification;
 
     /**
      * Default constructor.
@@ -41,9 +45,21 @@ public class GraphQLResponseBody {
      */
     @JsonCreator
     public GraphQLResponseBody(Map<String, Object> specification) {
+        this.executionResult = null;
         this.specification = specification;
     }
 
+    /**
+     * Constructor for an execution result, which is written by the {@link GraphQLResponseBodySerializer} without
+     * creating the specification map first.
+     *
+     * @param executionResult the GraphQL execution result
+     * @since 1.3
+     */
+    public GraphQLResponseBody(ExecutionResult executionResult) {
+        this.executionResult = executionResult;
+    }
+
     /**
      * Returns the GraphQL response body data.
      *
@@ -52,6 +68,23 @@ public class GraphQLResponseBody {
     @JsonAnyGetter
     @JsonInclude
     public Map<String, Object> getSpecification() {
+        Map<String, Object> specification = this.specification;
+        if (specification == null) {
+            specification = executionResult.toSpecification();
+            this.specification = specification;
+        }
         return specification;
     }
+
+    /**
+     * Returns the GraphQL execution result, if the response body was created from one.
+     *
+     * @return the GraphQL execution result, or {@code null}
+     * @since 1.3
+     */
+    @JsonIgnore
+    @Nullable
+    public ExecutionResult getExecutionResult() {
+        return executionResult;
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Jackson serializer writing the {@link ExecutionResult} of a {@link GraphQLResponseBody} straight to the generator.
+ *
+ * <p>The {@code errors}, {@code data} and {@code extensions} entries are written as defined by
+ * {@link ExecutionResult#toSpecification()}, but without creating the intermediate specification map.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see JacksonGraphQLJsonSerializer
+ */
+public class GraphQLResponseBodySerializer extends StdSerializer<GraphQLResponseBody> {
+
+    private static final SerializedString ERRORS = new SerializedString("errors");
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString EXTENSIONS = new SerializedString("extensions");
+
+    /**
+     * Default constructor.
+     */
+    public GraphQLResponseBodySerializer() {
+        super(GraphQLResponseBody.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void serialize(GraphQLResponseBody value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        ExecutionResult executionResult = value.getExecutionResult();
+        if (executionResult == null) {
+            provider.defaultSerializeValue(value.getSpecification(), gen);
+            return;
+        }
+        gen.writeStartObject();
+        List<GraphQLError> errors = executionResult.getErrors();
+        if (errors != null && !errors.isEmpty()) {
+            gen.writeFieldName(ERRORS);
+            gen.writeStartArray();
+            for (GraphQLError error : errors) {
+                provider.defaultSerializeValue(error.toSpecification(), gen);
+            }
+            gen.writeEndArray();
+        }
+        if (executionResult.isDataPresent()) {
+            gen.writeFieldName(DATA);
+            writeData(executionResult.getData(), gen, provider);
+        }
+        Map<Object, Object> extensions = executionResult.getExtensions();
+        if (extensions != null) {
+            gen.writeFieldName(EXTENSIONS);
+            provider.defaultSerializeValue(extensions, gen);
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes the {@code data} value of the execution result.
+     *
+     * @param data     the data, usually a map of field results
+     * @param gen      the JSON generator
+     * @param provider the serializer provider
+     * @throws IOException if the data cannot be written
+     */
+    protected void writeData(Object data, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        provider.defaultSerializeValue(data, gen);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Compresses GraphQL responses as configured by the {@link GraphQLConfiguration.CompressionConfiguration}.
+ *
+ * <p>Responses are compressed with {@code gzip} or {@code deflate}, as accepted by the client, when compression is
+ * enabled and the response exceeds the configured threshold. Responses compressed by the GraphQL endpoint are passed
+ * through as is by the HTTP server.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@Singleton
+public class GraphQLResponseCompressor {
+
+    private final GraphQLConfiguration.CompressionConfiguration compressionConfiguration;
+
+    /**
+     * Default constructor.
+     *
+     * @param graphQLConfiguration the {@link GraphQLConfiguration} instance
+     */
+    public GraphQLResponseCompressor(GraphQLConfiguration graphQLConfiguration) {
+        this.compressionConfiguration = graphQLConfiguration.getCompression();
+    }
+
+    /**
+     * Returns whether responses are compressed.
+     *
+     * @return whether responses are compressed
+     */
+    public boolean isEnabled() {
+        return compressionConfiguration.isEnabled();
+    }
+
+    /**
+     * Returns the content encoding to compress the response to the given request with, preferring {@code gzip} over
+     * {@code deflate}.
+     *
+     * @param httpRequest the HTTP request
+     * @return the content encoding, or {@code null} if compression is disabled or not accepted by the client
+     */
+    @Nullable
+    public String selectEncoding(HttpRequest<?> httpRequest) {
+        if (!compressionConfiguration.isEnabled()) {
+            return null;
+        }
+        return acceptedEncoding(httpRequest);
+    }
+
+    /**
+     * Returns the content encoding accepted by the client of the given request, preferring {@code gzip} over
+     * {@code deflate}, regardless of whether compression is enabled. Used for content available pre-compressed.
+     *
+     * @param httpRequest the HTTP request
+     * @return the content encoding, or {@code null} if neither is accepted by the client
+     */
+    @Nullable
+    public static String acceptedEncoding(HttpRequest<?> httpRequest) {
+        List<String> acceptEncodings = httpRequest.getHeaders().getAll(HttpHeaders.ACCEPT_ENCODING);
+        boolean deflate = false;
+        for (String acceptEncoding : acceptEncodings) {
+            for (String value : acceptEncoding.split(",")) {
+                String[] parts = value.split(";");
+                String encoding = parts[0].trim();
+                if (parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?")) {
+                    continue;
+                }
+                if (CompressingOutputStream.GZIP.equalsIgnoreCase(encoding)) {
+                    return CompressingOutputStream.GZIP;
+                }
+                deflate |= CompressingOutputStream.DEFLATE.equalsIgnoreCase(encoding);
+            }
+        }
+        return deflate ? CompressingOutputStream.DEFLATE : null;
+    }
+
+    /**
+     * Creates a stream compressing the written bytes with the given encoding, once they exceed the configured
+     * threshold.
+     *
+     * @param encoding the content encoding
+     * @return the stream
+     */
+    public CompressingOutputStream createOutputStream(String encoding) {
+        return new CompressingOutputStream(encoding, compressionConfiguration.getThreshold(),
+                compressionConfiguration.getLevel());
+    }
+
+    /**
+     * Compresses the given bytes with the given encoding, regardless of the threshold. Used to compress responses once
+     * which are served many times, e.g. the GraphiQL page.
+     *
+     * @param bytes    the bytes to compress
+     * @param encoding the content encoding
+     * @return the compressed bytes
+     */
+    public byte[] compress(byte[] bytes, String encoding) {
+        CompressingOutputStream outputStream = new CompressingOutputStream(encoding, 0,
+                compressionConfiguration.getLevel());
+        try (CompressingOutputStream out = outputStream) {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new RuntimeException("Error compressing response: " + e.getMessage(), e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Sets the {@code Content-Encoding} header of the response if the stream compressed the bytes, and the
+     * {@code Vary} header as the response depends on the {@code Accept-Encoding} header of the request.
+     *
+     * @param response     the response
+     * @param outputStream the closed stream holding the response body
+     * @param <T>          the response body type
+     * @return the response
+     */
+    public <T> MutableHttpResponse<T> encode(MutableHttpResponse<T> response, CompressingOutputStream outputStream) {
+        if (outputStream.isCompressed()) {
+            response.header(HttpHeaders.CONTENT_ENCODING, outputStream.getEncoding());
+        }
+        return response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+}
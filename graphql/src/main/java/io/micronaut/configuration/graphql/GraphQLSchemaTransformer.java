@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.micronaut.configuration.graphql;
+
+import graphql.schema.GraphQLSchema;
+
+/**
+ * Transforms the {@link GraphQLSchema} before a {@link graphql.GraphQL} instance is created from it.
+ *
+ * <p>The transformer beans are applied to the schema of the {@link DefaultGraphQLFactory}, as well as to the schemas
+ * swapped in by the {@link DefaultGraphQLProvider}, in the order defined by {@link io.micronaut.core.order.Ordered}.
+ * </p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see io.micronaut.configuration.graphql.federation.FederationSchemaTransformer
+ */
+@FunctionalInterface
+public interface GraphQLSchemaTransformer {
+
+    /**
+     * Transforms the given schema.
+     *
+     * @param graphQLSchema the schema
+     * @return the transformed schema
+     */
+    GraphQLSchema transform(GraphQLSchema graphQLSchema);
+}
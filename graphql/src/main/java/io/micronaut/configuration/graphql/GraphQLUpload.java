@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingParseValueException;
+import graphql.schema.CoercingSerializeException;
+import graphql.schema.GraphQLScalarType;
+import io.micronaut.http.MediaType;
+import io.reactivex.Flowable;
+import io.reactivex.processors.UnicastProcessor;
+import org.reactivestreams.Publisher;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * A file uploaded with a GraphQL multipart request, passed to the data fetchers as value of an {@link #SCALAR Upload}
+ * argument.
+ *
+ * <p>The request is executed as soon as its {@code operations} and {@code map} parts are read, while the file parts
+ * may still be arriving. The content is published in chunks as they arrive, so the file is not held as a whole, and
+ * data fetchers must consume it without blocking, e.g. by returning a {@code CompletableFuture} completed once the
+ * content is stored. Chunks that arrive before the content is subscribed to are buffered, which is bounded by the
+ * configured maximum file size.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see <a href="https://github.com/jaydenseric/graphql-multipart-request-spec">GraphQL multipart request spec</a>
+ */
+public final class GraphQLUpload {
+
+    /**
+     * The {@code Upload} scalar of the arguments holding uploaded files.
+     */
+    public static final GraphQLScalarType SCALAR = GraphQLScalarType.newScalar()
+            .name("Upload")
+            .description("A file uploaded with a GraphQL multipart request")
+            .coercing(new UploadCoercing())
+            .build();
+
+    private volatile boolean done;
+    private final UnicastProcessor<ByteBuffer> content = UnicastProcessor.create(Flowable.bufferSize(), () -> {
+        done = true;
+    });
+    private volatile String filename;
+    private volatile MediaType contentType;
+
+    /**
+     * Constructor for a file of which the file part is not received yet.
+     */
+    GraphQLUpload() {
+    }
+
+    /**
+     * Returns the name of the file as given by the client, once its file part is received.
+     *
+     * @return the file name, or {@code null} if the file part is not received yet
+     */
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * Returns the content type of the file as given by the client, once its file part is received.
+     *
+     * @return the content type
+     */
+    public Optional<MediaType> getContentType() {
+        return Optional.ofNullable(contentType);
+    }
+
+    /**
+     * Returns the content of the file as publisher of the chunks as they arrive. The content can be subscribed to only
+     * once. It fails if the file exceeds the maximum file size, or the request does not complete.
+     *
+     * @return the content publisher
+     */
+    public Publisher<ByteBuffer> getContent() {
+        return content;
+    }
+
+    /**
+     * Sets the file name and content type of the file part, which is received now.
+     *
+     * @param filename    the file name
+     * @param contentType the content type, or {@code null} if not given
+     */
+    void receive(String filename, MediaType contentType) {
+        this.filename = filename;
+        this.contentType = contentType;
+    }
+
+    /**
+     * Publishes a chunk of the content.
+     *
+     * @param chunk the chunk
+     */
+    void write(ByteBuffer chunk) {
+        content.onNext(chunk);
+    }
+
+    /**
+     * Completes the content, as the file part is received as a whole.
+     */
+    void complete() {
+        done = true;
+        content.onComplete();
+    }
+
+    /**
+     * Fails the content, unless it is complete or cancelled already.
+     *
+     * @param error the error
+     */
+    void fail(Throwable error) {
+        if (!done) {
+            done = true;
+            content.onError(error);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "GraphQLUpload{filename=" + getFilename() + "}";
+    }
+
+    /**
+     * The {@link Coercing} of the {@code Upload} scalar, which only accepts the uploads set as variable values.
+     */
+    private static final class UploadCoercing implements Coercing<GraphQLUpload, Object> {
+
+        @Override
+        public Object serialize(Object dataFetcherResult) {
+            throw new CoercingSerializeException("Upload can only be used as input type");
+        }
+
+        @Override
+        public GraphQLUpload parseValue(Object input) {
+            if (input instanceof GraphQLUpload) {
+                return (GraphQLUpload) input;
+            }
+            throw new CoercingParseValueException("Expected a file of a GraphQL multipart request, but was: " + input);
+        }
+
+        @Override
+        public GraphQLUpload parseLiteral(Object input) {
+            throw new CoercingParseLiteralException("Upload can only be given as variable of a multipart request");
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.io.ResourceResolver;
+import io.micronaut.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The GraphiQL assets bundled with the module, i.e. the GraphiQL, React and polyfill scripts and style sheets.
+ *
+ * <p>The assets are downloaded at build time and stored with content hashed file names, each next to a gzipped copy.
+ * A manifest maps the logical asset names, as referenced by the GraphiQL template, to the hashed file names, so the
+ * assets can be cached by browsers forever.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+final class GraphiQLAssets {
+
+    /**
+     * The default location of the bundled assets.
+     */
+    static final String DEFAULT_LOCATION = "classpath:graphiql/assets/";
+
+    /**
+     * The name of the manifest file within the assets location.
+     */
+    static final String MANIFEST = "assets.properties";
+
+    /**
+     * The manifest entry holding the GraphiQL version of the bundled assets.
+     */
+    static final String VERSION = "version";
+
+    /**
+     * The template parameters of the asset URLs by logical asset name.
+     */
+    static final Map<String, String> TEMPLATE_PARAMETERS;
+
+    private static final String GZIP_EXTENSION = ".gz";
+
+    static {
+        Map<String, String> templateParameters = new HashMap<>();
+        templateParameters.put("es6-promise.js", "es6PromiseUrl");
+        templateParameters.put("fetch.js", "fetchUrl");
+        templateParameters.put("react.js", "reactUrl");
+        templateParameters.put("react-dom.js", "reactDomUrl");
+        templateParameters.put("graphiql.css", "graphiqlCssUrl");
+        templateParameters.put("graphiql.js", "graphiqlJsUrl");
+        TEMPLATE_PARAMETERS = Collections.unmodifiableMap(templateParameters);
+    }
+
+    private final ResourceResolver resourceResolver;
+    private final String location;
+    private final String version;
+    private final Map<String, String> fileNames;
+    private final Map<String, Asset> assets = new ConcurrentHashMap<>();
+
+    /**
+     * Loads the manifest of the assets at the given location.
+     *
+     * @param resourceResolver the {@link ResourceResolver} instance
+     * @param location         the location of the assets, ending with a slash
+     */
+    GraphiQLAssets(ResourceResolver resourceResolver, String location) {
+        this.resourceResolver = resourceResolver;
+        this.location = location;
+        Properties manifest = loadManifest();
+        this.version = manifest.getProperty(VERSION);
+        Map<String, String> fileNames = new HashMap<>();
+        manifest.stringPropertyNames().stream()
+                .filter(name -> !VERSION.equals(name))
+                .forEach(name -> fileNames.put(name, manifest.getProperty(name)));
+        this.fileNames = Collections.unmodifiableMap(fileNames);
+    }
+
+    /**
+     * Returns whether assets are bundled for the given GraphiQL version.
+     *
+     * @param graphiqlVersion the GraphiQL version
+     * @return whether assets are bundled for the given version
+     */
+    boolean isAvailable(String graphiqlVersion) {
+        return version != null && version.equals(graphiqlVersion);
+    }
+
+    /**
+     * Returns the content hashed file names by logical asset name.
+     *
+     * @return the file names
+     */
+    Map<String, String> getFileNames() {
+        return fileNames;
+    }
+
+    /**
+     * Finds the asset with the given content hashed file name.
+     *
+     * @param fileName the file name
+     * @return the asset, or empty if no such asset is bundled
+     */
+    Optional<Asset> find(String fileName) {
+        if (!fileNames.containsValue(fileName)) {
+            return Optional.empty();
+        }
+        return Optional.of(assets.computeIfAbsent(fileName, this::loadAsset));
+    }
+
+    private Properties loadManifest() {
+        Properties manifest = new Properties();
+        Optional<InputStream> stream = resourceResolver.getResourceAsStream(location + MANIFEST);
+        if (stream.isPresent()) {
+            try (Reader reader = new InputStreamReader(stream.get(), StandardCharsets.UTF_8)) {
+                manifest.load(reader);
+            } catch (IOException e) {
+                throw new ConfigurationException("Cannot read GraphiQL assets manifest: " + location + MANIFEST, e);
+            }
+        }
+        return manifest;
+    }
+
+    private Asset loadAsset(String fileName) {
+        return new Asset(fileName, mediaType(fileName), read(fileName), read(fileName + GZIP_EXTENSION));
+    }
+
+    private byte[] read(String fileName) {
+        Optional<InputStream> stream = resourceResolver.getResourceAsStream(location + fileName);
+        if (!stream.isPresent()) {
+            throw new ConfigurationException("Cannot find GraphiQL asset: " + location + fileName);
+        }
+        try (InputStream in = stream.get()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new ConfigurationException("Cannot read GraphiQL asset: " + location + fileName, e);
+        }
+    }
+
+    private static MediaType mediaType(String fileName) {
+        if (fileName.endsWith(".css")) {
+            return new MediaType("text/css;charset=UTF-8");
+        }
+        if (fileName.endsWith(".js")) {
+            return new MediaType("application/javascript;charset=UTF-8");
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_TYPE;
+    }
+
+    /**
+     * A bundled asset, held in memory both plain and gzipped.
+     */
+    static final class Asset {
+
+        private final String fileName;
+        private final MediaType mediaType;
+        private final byte[] bytes;
+        private final byte[] gzipBytes;
+        private final String etag;
+
+        /**
+         * Default constructor.
+         *
+         * @param fileName  the content hashed file name
+         * @param mediaType the media type
+         * @param bytes     the asset bytes
+         * @param gzipBytes the gzipped asset bytes
+         */
+        Asset(String fileName, MediaType mediaType, byte[] bytes, byte[] gzipBytes) {
+            this.fileName = fileName;
+            this.mediaType = mediaType;
+            this.bytes = bytes;
+            this.gzipBytes = gzipBytes;
+            // The file name contains the content hash, so it identifies the content.
+            this.etag = "\"" + fileName + "\"";
+        }
+
+        /**
+         * Returns the content hashed file name.
+         *
+         * @return the file name
+         */
+        String getFileName() {
+            return fileName;
+        }
+
+        /**
+         * Returns the media type.
+         *
+         * @return the media type
+         */
+        MediaType getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * Returns the asset bytes.
+         *
+         * @return the asset bytes
+         */
+        byte[] getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Returns the gzipped asset bytes.
+         *
+         * @return the gzipped asset bytes
+         */
+        byte[] getGzipBytes() {
+            return gzipBytes;
+        }
+
+        /**
+         * Returns the entity tag.
+         *
+         * @return the entity tag
+         */
+        String getEtag() {
+            return etag;
+        }
+    }
+}
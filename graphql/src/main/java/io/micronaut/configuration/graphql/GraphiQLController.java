@@ -27,14 +27,23 @@ import io.micronaut.core.naming.NameUtils;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.core.value.MapPropertyResolver;
 import io.micronaut.core.value.PropertyResolver;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -43,48 +52,162 @@ import java.util.function.Supplier;
 import static io.micronaut.http.MediaType.TEXT_HTML;
 
 /**
- * The GraphiQL controller serving the GraphiQL HTML page.
+ * The GraphiQL controller serving the GraphiQL HTML page and the bundled GraphiQL assets.
+ *
+ * <p>The page is served with an {@code ETag} and must be revalidated by browsers, whereas the content hashed assets
+ * can be cached forever. When no assets are bundled for the configured GraphiQL version, the page references the
+ * assets on the public CDNs instead.</p>
  *
  * @author Marcel Overdijk
  * @author James Kleeh
  * @since 1.0
  */
+@RequiresGraphQL
 @Controller("${" + GraphQLConfiguration.PREFIX + "." + GraphQLConfiguration.GraphiQLConfiguration.PATH + ":"
         + GraphQLConfiguration.GraphiQLConfiguration.DEFAULT_PATH + "}")
 @Requires(property = GraphQLConfiguration.GraphiQLConfiguration.ENABLED,
         value = StringUtils.TRUE, defaultValue = StringUtils.FALSE)
 public class GraphiQLController {
 
+    private static final MediaType TEXT_HTML_UTF8 = new MediaType(TEXT_HTML + ";charset=UTF-8");
+    private static final String ASSETS_PATH = "/assets/";
+    private static final String NO_CACHE = "no-cache";
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
     private final GraphQLConfiguration graphQLConfiguration;
     private final GraphQLConfiguration.GraphiQLConfiguration graphiQLConfiguration;
     private final ResourceResolver resourceResolver;
 
+    private final GraphQLResponseCompressor graphQLResponseCompressor;
+    private final GraphiQLAssets assets;
     private final String rawTemplate;
     private final Supplier<String> resolvedTemplate;
+    private final Supplier<String> etag;
+    private final Supplier<byte[]> gzipTemplate;
+    private final Supplier<byte[]> deflateTemplate;
 
     /**
-     * Default constructor.
+     * Constructor serving the GraphiQL page uncompressed.
      *
      * @param graphQLConfiguration the {@link GraphQLConfiguration} instance
      * @param resourceResolver     the {@link ResourceResolver} instance
      */
     public GraphiQLController(GraphQLConfiguration graphQLConfiguration, ResourceResolver resourceResolver) {
+        this(graphQLConfiguration, resourceResolver, null);
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param graphQLConfiguration      the {@link GraphQLConfiguration} instance
+     * @param resourceResolver          the {@link ResourceResolver} instance
+     * @param graphQLResponseCompressor the {@link GraphQLResponseCompressor} instance
+     */
+    @Inject
+    public GraphiQLController(GraphQLConfiguration graphQLConfiguration, ResourceResolver resourceResolver,
+            @Nullable GraphQLResponseCompressor graphQLResponseCompressor) {
+        this(graphQLConfiguration, resourceResolver, graphQLResponseCompressor,
+                new GraphiQLAssets(resourceResolver, GraphiQLAssets.DEFAULT_LOCATION));
+    }
+
+    /**
+     * Constructor serving the given GraphiQL assets.
+     *
+     * @param graphQLConfiguration      the {@link GraphQLConfiguration} instance
+     * @param resourceResolver          the {@link ResourceResolver} instance
+     * @param graphQLResponseCompressor the {@link GraphQLResponseCompressor} instance
+     * @param assets                    the bundled GraphiQL assets
+     */
+    GraphiQLController(GraphQLConfiguration graphQLConfiguration, ResourceResolver resourceResolver,
+            @Nullable GraphQLResponseCompressor graphQLResponseCompressor, GraphiQLAssets assets) {
         this.graphQLConfiguration = graphQLConfiguration;
         this.graphiQLConfiguration = graphQLConfiguration.getGraphiql();
         this.resourceResolver = resourceResolver;
+        this.graphQLResponseCompressor = graphQLResponseCompressor;
+        this.assets = assets;
         // Load the raw template (variables are not yet resolved).
         // This means we fail fast if the template cannot be loaded resulting in a ConfigurationException at startup.
         this.rawTemplate = loadTemplate(graphiQLConfiguration.getTemplatePath());
         this.resolvedTemplate = SupplierUtil.memoized(this::resolvedTemplate);
+        this.etag = SupplierUtil.memoized(() -> etag(resolvedTemplate.get().getBytes(StandardCharsets.UTF_8)));
+        // The page is compressed once per encoding, on first use.
+        this.gzipTemplate = SupplierUtil.memoized(() -> compressedTemplate(CompressingOutputStream.GZIP));
+        this.deflateTemplate = SupplierUtil.memoized(() -> compressedTemplate(CompressingOutputStream.DEFLATE));
     }
 
     /**
      * Handles the incoming GraphiQL {@code GET} requests.
      *
-     * @return the GraphiQL page
+     * @param httpRequest the HTTP request
+     * @return the GraphiQL page, pre-compressed if compression is enabled and accepted by the client, or
+     * {@code 304 Not Modified} if the client's copy is still current
      */
     @Get(produces = TEXT_HTML + ";charset=UTF-8")
-    public String get() {
+    public HttpResponse<?> get(HttpRequest<?> httpRequest) {
+        String encoding = graphQLResponseCompressor != null
+                ? graphQLResponseCompressor.selectEncoding(httpRequest)
+                : null;
+        // Each content encoding is a different representation, requiring its own entity tag.
+        String pageEtag = encoding == null ? etag.get() : etag.get().replaceFirst("\"$", "-" + encoding + "\"");
+        if (isNotModified(httpRequest, pageEtag)) {
+            return HttpResponse.notModified()
+                    .header(HttpHeaders.ETAG, pageEtag)
+                    .header(HttpHeaders.CACHE_CONTROL, NO_CACHE);
+        }
+        MutableHttpResponse<byte[]> response;
+        if (encoding == null) {
+            response = HttpResponse.ok(getPage().getBytes(StandardCharsets.UTF_8));
+        } else {
+            byte[] page = CompressingOutputStream.GZIP.equals(encoding) ? gzipTemplate.get() : deflateTemplate.get();
+            response = HttpResponse.ok(page)
+                    .header(HttpHeaders.CONTENT_ENCODING, encoding)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        return response
+                .contentType(TEXT_HTML_UTF8)
+                .header(HttpHeaders.ETAG, pageEtag)
+                .header(HttpHeaders.CACHE_CONTROL, NO_CACHE);
+    }
+
+    /**
+     * Handles the incoming GraphiQL asset {@code GET} requests.
+     *
+     * @param name        the content hashed file name of the asset
+     * @param httpRequest the HTTP request
+     * @return the asset, gzipped if accepted by the client, {@code 304 Not Modified} if the client's copy is
+     * current, or {@code 404 Not Found} if no such asset is bundled
+     */
+    @Get(ASSETS_PATH + "{name}")
+    public HttpResponse<?> asset(String name, HttpRequest<?> httpRequest) {
+        Optional<GraphiQLAssets.Asset> found = assets.find(name);
+        if (!found.isPresent()) {
+            return HttpResponse.notFound();
+        }
+        GraphiQLAssets.Asset asset = found.get();
+        boolean gzip = CompressingOutputStream.GZIP.equals(GraphQLResponseCompressor.acceptedEncoding(httpRequest));
+        String assetEtag = gzip ? asset.getEtag().replaceFirst("\"$", "-gzip\"") : asset.getEtag();
+        if (isNotModified(httpRequest, assetEtag)) {
+            return HttpResponse.notModified()
+                    .header(HttpHeaders.ETAG, assetEtag)
+                    .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        }
+        MutableHttpResponse<byte[]> response = HttpResponse.ok(gzip ? asset.getGzipBytes() : asset.getBytes())
+                .contentType(asset.getMediaType())
+                .header(HttpHeaders.ETAG, assetEtag)
+                .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, CompressingOutputStream.GZIP);
+        }
+        return response;
+    }
+
+    /**
+     * Returns the GraphiQL page.
+     *
+     * @return the GraphiQL page
+     */
+    public String getPage() {
         return resolvedTemplate.get();
     }
 
@@ -106,6 +229,7 @@ public class GraphiQLController {
         parameters.put("graphiqlVersion", graphiQLConfiguration.getVersion());
         parameters.put("graphqlPath", graphQLConfiguration.getPath());
         parameters.put("pageTitle", graphiQLConfiguration.getPageTitle());
+        parameters.putAll(assetUrls());
         if (graphiQLConfiguration.getTemplateParameters() != null) {
             graphiQLConfiguration.getTemplateParameters().forEach((name, value) ->
                     // De-capitalize and de-hyphenate the parameter names.
@@ -116,6 +240,58 @@ public class GraphiQLController {
         return replaceParameters(this.rawTemplate, parameters);
     }
 
+    private Map<String, String> assetUrls() {
+        String version = graphiQLConfiguration.getVersion();
+        Map<String, String> urls = new HashMap<>();
+        urls.put("es6PromiseUrl", "//cdn.jsdelivr.net/es6-promise/4.0.5/es6-promise.auto.min.js");
+        urls.put("fetchUrl", "//cdn.jsdelivr.net/fetch/0.9.0/fetch.min.js");
+        urls.put("reactUrl", "//cdn.jsdelivr.net/react/15.4.2/react.min.js");
+        urls.put("reactDomUrl", "//cdn.jsdelivr.net/react/15.4.2/react-dom.min.js");
+        urls.put("graphiqlCssUrl", "https://cdnjs.cloudflare.com/ajax/libs/graphiql/" + version + "/graphiql.min.css");
+        urls.put("graphiqlJsUrl", "https://cdnjs.cloudflare.com/ajax/libs/graphiql/" + version + "/graphiql.min.js");
+        if (assets.isAvailable(version)) {
+            assets.getFileNames().forEach((name, fileName) -> {
+                String parameter = GraphiQLAssets.TEMPLATE_PARAMETERS.get(name);
+                if (parameter != null) {
+                    urls.put(parameter, graphiQLConfiguration.getPath() + ASSETS_PATH + fileName);
+                }
+            });
+        }
+        return urls;
+    }
+
+    private boolean isNotModified(HttpRequest<?> httpRequest, String entityTag) {
+        for (String ifNoneMatch : httpRequest.getHeaders().getAll(HttpHeaders.IF_NONE_MATCH)) {
+            for (String value : ifNoneMatch.split(",")) {
+                String candidate = value.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if ("*".equals(candidate) || entityTag.equals(candidate)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String etag(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder sb = new StringBuilder("\"");
+            for (int i = 0; i < 16; i++) {
+                sb.append(String.format("%02x", digest[i]));
+            }
+            return sb.append('"').toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private byte[] compressedTemplate(String encoding) {
+        return graphQLResponseCompressor.compress(resolvedTemplate.get().getBytes(StandardCharsets.UTF_8), encoding);
+    }
+
     private String replaceParameters(final String str, final Map<String, String> parameters) {
         Map<String, Object> map = new HashMap<>();
         map.putAll(parameters);
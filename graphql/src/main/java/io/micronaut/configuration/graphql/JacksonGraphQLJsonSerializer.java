@@ -16,21 +16,33 @@
 
 package io.micronaut.configuration.graphql;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * The Jackson implementation for serializing and deserializing GraphQL objects.
  *
+ * <p>{@link GraphQLResponseBody}s are written by the {@link GraphQLResponseBodySerializer}, registered on a copy of the
+ * application's {@link ObjectMapper} so the latter is not affected. When
+ * {@link GraphQLConfiguration.JsonConfiguration#isSchemaAwareFieldNames()} is enabled the
+ * {@link SchemaAwareGraphQLResponseBodySerializer} is used instead.</p>
+ *
  * @author Marcel Overdijk
  * @since 1.0
  */
+@RequiresGraphQL
 @Singleton
 public class JacksonGraphQLJsonSerializer implements GraphQLJsonSerializer {
 
     private final ObjectMapper objectMapper;
+    private final ObjectWriter streamWriter;
 
     /**
      * Default constructor.
@@ -38,7 +50,34 @@ public class JacksonGraphQLJsonSerializer implements GraphQLJsonSerializer {
      * @param objectMapper the {@link ObjectMapper} instance
      */
     public JacksonGraphQLJsonSerializer(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+        this(objectMapper, new GraphQLResponseBodySerializer());
+    }
+
+    /**
+     * Constructor using the response body serializer selected by the {@link GraphQLConfiguration}.
+     *
+     * @param objectMapper         the {@link ObjectMapper} instance
+     * @param graphQLConfiguration the {@link GraphQLConfiguration} instance
+     * @param graphQLProvider      the {@link GraphQLProvider} instance, of which the field names of the current schema
+     *                             are encoded upfront
+     */
+    @Inject
+    public JacksonGraphQLJsonSerializer(ObjectMapper objectMapper, GraphQLConfiguration graphQLConfiguration,
+            GraphQLProvider graphQLProvider) {
+        this(objectMapper, createResponseBodySerializer(graphQLConfiguration.getJson(), graphQLProvider));
+    }
+
+    /**
+     * Constructor using the given response body serializer.
+     *
+     * @param objectMapper           the {@link ObjectMapper} instance
+     * @param responseBodySerializer the serializer writing the {@link GraphQLResponseBody}s
+     */
+    public JacksonGraphQLJsonSerializer(ObjectMapper objectMapper,
+            GraphQLResponseBodySerializer responseBodySerializer) {
+        this.objectMapper = objectMapper.copy().registerModule(new SimpleModule()
+                .addSerializer(GraphQLResponseBody.class, responseBodySerializer));
+        this.streamWriter = this.objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     /**
@@ -64,4 +103,45 @@ public class JacksonGraphQLJsonSerializer implements GraphQLJsonSerializer {
             throw new RuntimeException("Error deserializing object from JSON: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] serializeToBytes(Object object) {
+        try {
+            return objectMapper.writeValueAsBytes(object);
+        } catch (IOException e) {
+            throw new RuntimeException("Error serializing object to JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T deserialize(byte[] json, Class<T> requiredType) {
+        try {
+            return objectMapper.readValue(json, requiredType);
+        } catch (IOException e) {
+            throw new RuntimeException("Error deserializing object from JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void serialize(Object object, OutputStream outputStream) throws IOException {
+        streamWriter.writeValue(outputStream, object);
+    }
+
+    private static GraphQLResponseBodySerializer createResponseBodySerializer(
+            GraphQLConfiguration.JsonConfiguration jsonConfiguration, GraphQLProvider graphQLProvider) {
+        if (jsonConfiguration.isSchemaAwareFieldNames()) {
+            return new SchemaAwareGraphQLResponseBodySerializer(SerializedFieldNames.of(
+                    graphQLProvider, jsonConfiguration.getFieldNameCacheSize()));
+        }
+        return new GraphQLResponseBodySerializer();
+    }
 }
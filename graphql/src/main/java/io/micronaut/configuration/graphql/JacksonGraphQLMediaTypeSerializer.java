@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.micronaut.http.MediaType;
+
+import java.io.IOException;
+
+/**
+ * The Jackson implementation for serializing and deserializing GraphQL objects in a Jackson data format, e.g.
+ * {@code jackson-dataformat-cbor} or {@code jackson-dataformat-smile}.
+ *
+ * <p>Like the {@link JacksonGraphQLJsonSerializer}, {@link GraphQLResponseBody}s are written by the
+ * {@link GraphQLResponseBodySerializer}, registered on a copy of the given {@link ObjectMapper}.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public class JacksonGraphQLMediaTypeSerializer implements GraphQLMediaTypeSerializer {
+
+    private final ObjectMapper objectMapper;
+    private final MediaType mediaType;
+
+    /**
+     * Default constructor.
+     *
+     * @param objectMapper the {@link ObjectMapper} instance, created with the
+     *                     {@link com.fasterxml.jackson.core.JsonFactory} of the data format
+     * @param mediaType    the media type of the data format
+     */
+    public JacksonGraphQLMediaTypeSerializer(ObjectMapper objectMapper, MediaType mediaType) {
+        this.objectMapper = objectMapper.copy().registerModule(new SimpleModule()
+                .addSerializer(GraphQLResponseBody.class, new GraphQLResponseBodySerializer()));
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] serialize(Object object) {
+        try {
+            return objectMapper.writeValueAsBytes(object);
+        } catch (IOException e) {
+            throw new RuntimeException("Error serializing object to " + mediaType + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T deserialize(byte[] bytes, Class<T> requiredType) {
+        try {
+            return objectMapper.readValue(bytes, requiredType);
+        } catch (IOException e) {
+            throw new RuntimeException("Error deserializing object from " + mediaType + ": " + e.getMessage(), e);
+        }
+    }
+}
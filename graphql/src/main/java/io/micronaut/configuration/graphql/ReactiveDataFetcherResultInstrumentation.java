@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.PropertyDataFetcher;
+import io.micronaut.core.async.publisher.Publishers;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An {@link graphql.execution.instrumentation.Instrumentation} adapting reactive data fetcher results, which
+ * graphql-java does not understand, to {@link CompletableFuture}s without blocking.
+ *
+ * <p>Single valued types, like {@code Single}, {@code Maybe}, {@code Completable} and {@code Mono}, complete with
+ * their value, or {@code null} when empty. Other {@link Publisher}s, like {@code Flowable} and {@code Flux}, and
+ * RxJava's {@code Observable} complete with the list of their values. The RxJava types which are no {@link Publisher}
+ * are converted explicitly, so no converters of the conversion service are needed. Cancelling the future cancels the
+ * subscription. The publishers returned for the fields of the subscription type are left as is.</p>
+ *
+ * <p>The instrumentation is added by the {@link DefaultGraphQLFactory} unless disabled with
+ * {@link GraphQLConfiguration.ExecutionConfiguration#REACTIVE_DATA_FETCHER_RESULTS}.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public class ReactiveDataFetcherResultInstrumentation extends SimpleInstrumentation {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher,
+            InstrumentationFieldFetchParameters parameters) {
+        // Properties are read by the thousands, and are not expected to hold reactive types.
+        if (dataFetcher instanceof PropertyDataFetcher || dataFetcher instanceof BeanIntrospectionDataFetcher) {
+            return dataFetcher;
+        }
+        // The publishers of subscription fields are the event streams themselves.
+        DataFetchingEnvironment environment = parameters.getEnvironment();
+        GraphQLObjectType subscriptionType = environment.getGraphQLSchema().getSubscriptionType();
+        if (subscriptionType != null && subscriptionType.getName().equals(environment.getParentType().getName())) {
+            return dataFetcher;
+        }
+        return env -> adapt(dataFetcher.get(env));
+    }
+
+    /**
+     * Adapts the given data fetcher result to a {@link CompletableFuture} if it is of a reactive type.
+     *
+     * @param result the data fetcher result
+     * @return the adapted result, or the given result if it is not of a reactive type
+     */
+    public static Object adapt(Object result) {
+        Publisher<?> publisher;
+        boolean single = true;
+        if (result instanceof Single) {
+            publisher = ((Single<?>) result).toFlowable();
+        } else if (result instanceof Maybe) {
+            publisher = ((Maybe<?>) result).toFlowable();
+        } else if (result instanceof Completable) {
+            publisher = ((Completable) result).toFlowable();
+        } else if (result instanceof Observable) {
+            publisher = ((Observable<?>) result).toFlowable(BackpressureStrategy.BUFFER);
+            single = false;
+        } else if (result instanceof Publisher) {
+            publisher = (Publisher<?>) result;
+            single = Publishers.isSingle(result.getClass());
+        } else {
+            return result;
+        }
+        PublisherFuture future = new PublisherFuture(single);
+        publisher.subscribe(future);
+        return future;
+    }
+
+    /**
+     * A {@link CompletableFuture} completed by the subscribed {@link Publisher}.
+     */
+    private static final class PublisherFuture extends CompletableFuture<Object> implements Subscriber<Object> {
+
+        private final boolean single;
+        private final List<Object> values = new ArrayList<>();
+        private volatile Subscription subscription;
+
+        private PublisherFuture(boolean single) {
+            this.single = single;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (isDone()) {
+                subscription.cancel();
+            } else {
+                subscription.request(single ? 1 : Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(Object value) {
+            if (single) {
+                subscription.cancel();
+                complete(value);
+            } else {
+                values.add(value);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            complete(single ? null : values);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Subscription current = subscription;
+            if (cancelled && current != null) {
+                current.cancel();
+            }
+            return cancelled;
+        }
+    }
+}
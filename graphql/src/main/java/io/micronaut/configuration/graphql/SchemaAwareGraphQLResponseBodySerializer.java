@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A {@link GraphQLResponseBodySerializer} writing the field names of the {@code data} with the pre-encoded
+ * {@link SerializedFieldNames}.
+ *
+ * <p>The maps and lists created by graphql-java for the result are walked directly, and the scalar values produced by
+ * the standard scalar types are written without looking up a serializer. Other values are written by the
+ * {@link SerializerProvider}.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public class SchemaAwareGraphQLResponseBodySerializer extends GraphQLResponseBodySerializer {
+
+    private final Supplier<SerializedFieldNames> fieldNames;
+
+    /**
+     * Constructor for a fixed schema.
+     *
+     * @param fieldNames the pre-encoded field names
+     */
+    public SchemaAwareGraphQLResponseBodySerializer(SerializedFieldNames fieldNames) {
+        this(() -> fieldNames);
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param fieldNames the supplier of the pre-encoded field names of the current schema
+     * @see SerializedFieldNames#of(GraphQLProvider, int)
+     */
+    public SchemaAwareGraphQLResponseBodySerializer(Supplier<SerializedFieldNames> fieldNames) {
+        this.fieldNames = fieldNames;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void writeData(Object data, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writeValue(data, fieldNames.get(), gen, provider);
+    }
+
+    private void writeValue(Object value, SerializedFieldNames fieldNames, JsonGenerator gen,
+            SerializerProvider provider) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (value instanceof Map) {
+            gen.writeStartObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                gen.writeFieldName(fieldNames.get(String.valueOf(entry.getKey())));
+                writeValue(entry.getValue(), fieldNames, gen, provider);
+            }
+            gen.writeEndObject();
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            gen.writeStartArray();
+            for (int i = 0, size = list.size(); i < size; i++) {
+                writeValue(list.get(i), fieldNames, gen, provider);
+            }
+            gen.writeEndArray();
+        } else if (value instanceof String) {
+            gen.writeString((String) value);
+        } else if (value instanceof Integer) {
+            gen.writeNumber((Integer) value);
+        } else if (value instanceof Boolean) {
+            gen.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            gen.writeNumber((Double) value);
+        } else if (value instanceof Long) {
+            gen.writeNumber((Long) value);
+        } else if (value instanceof BigDecimal) {
+            gen.writeNumber((BigDecimal) value);
+        } else if (value instanceof BigInteger) {
+            gen.writeNumber((BigInteger) value);
+        } else {
+            provider.defaultSerializeValue(value, gen);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import graphql.introspection.Introspection;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Field names encoded once as {@link SerializableString}s, which Jackson writes without encoding them again.
+ *
+ * <p>The names of all the fields in the schema are encoded upfront. Other names, like aliases used in queries, are
+ * encoded and kept on first use until the maximum size is reached. Without a schema all names are encoded on first
+ * use.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public class SerializedFieldNames {
+
+    private final Map<String, SerializableString> names = new ConcurrentHashMap<>();
+    private final GraphQLSchema schema;
+    private final int maxSize;
+
+    /**
+     * Default constructor.
+     *
+     * @param schema  the schema to encode the field names of, or {@code null} if not known
+     * @param maxSize the maximum number of field names to keep
+     */
+    public SerializedFieldNames(@Nullable GraphQLSchema schema, int maxSize) {
+        this.schema = schema;
+        this.maxSize = maxSize;
+        add(Introspection.TypeNameMetaFieldDef.getName());
+        if (schema == null) {
+            return;
+        }
+        for (GraphQLType type : schema.getAllTypesAsList()) {
+            if (type instanceof GraphQLFieldsContainer) {
+                for (GraphQLFieldDefinition fieldDefinition : ((GraphQLFieldsContainer) type).getFieldDefinitions()) {
+                    add(fieldDefinition.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a supplier of the field names of the current schema of the given provider. The field names are encoded
+     * again when the provider swaps in a new schema, so the names of the previous schema are not kept. When the
+     * provider does not know the schema, the names are encoded on first use.
+     *
+     * @param graphQLProvider the {@link GraphQLProvider} instance
+     * @param maxSize         the maximum number of field names to keep per schema
+     * @return the supplier of the field names
+     */
+    public static Supplier<SerializedFieldNames> of(GraphQLProvider graphQLProvider, int maxSize) {
+        AtomicReference<SerializedFieldNames> current = new AtomicReference<>();
+        return () -> {
+            GraphQLSchema schema = graphQLProvider.getGraphQLSchema();
+            SerializedFieldNames fieldNames = current.get();
+            if (fieldNames == null || fieldNames.schema != schema) {
+                // Concurrent requests right after a swap may each encode the names, the last one is kept.
+                fieldNames = new SerializedFieldNames(schema, maxSize);
+                current.set(fieldNames);
+            }
+            return fieldNames;
+        };
+    }
+
+    /**
+     * Returns the encoded field name.
+     *
+     * @param name the field name
+     * @return the encoded field name
+     */
+    public SerializableString get(String name) {
+        SerializableString serializedName = names.get(name);
+        if (serializedName == null) {
+            serializedName = new SerializedString(name);
+            if (names.size() < maxSize) {
+                names.putIfAbsent(name, serializedName);
+            }
+        }
+        return serializedName;
+    }
+
+    /**
+     * Returns the number of encoded field names.
+     *
+     * @return the number of encoded field names
+     */
+    public int size() {
+        return names.size();
+    }
+
+    private void add(String name) {
+        if (names.size() < maxSize) {
+            names.putIfAbsent(name, new SerializedString(name));
+        }
+    }
+}
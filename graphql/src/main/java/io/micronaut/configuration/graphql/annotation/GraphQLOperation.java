@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.annotation;
+
+import io.micronaut.context.annotation.Executable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean method as data fetcher for a field of the given GraphQL type.
+ *
+ * <p>The data fetcher adapters invoke the compile time generated {@link io.micronaut.inject.ExecutableMethod}s,
+ * which means no reflection is involved. The method arguments are bound from the field arguments,
+ * see {@link GraphQLArgument}. A {@link graphql.schema.DataFetchingEnvironment} argument receives the environment itself.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see GraphQLQuery
+ * @see GraphQLMutation
+ * @see io.micronaut.configuration.graphql.GraphQLOperationRegistry
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Executable
+public @interface GraphQLOperation {
+
+    /**
+     * The name of the GraphQL type the field belongs to, e.g. {@code Query}.
+     *
+     * @return the GraphQL type name
+     */
+    String value();
+
+    /**
+     * The name of the GraphQL field. Defaults to the method name.
+     *
+     * @return the GraphQL field name
+     */
+    String field() default "";
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.cache;
+
+/**
+ * The scope of a cached field result.
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see CachedDirectiveWiring
+ */
+public enum CacheScope {
+
+    /**
+     * The result is shared by all users.
+     */
+    PUBLIC,
+
+    /**
+     * The result is cached per user, as identified by the execution context.
+     */
+    PRIVATE
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.cache;
+
+import graphql.GraphQLContext;
+import graphql.execution.DataFetcherResult;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.idl.SchemaDirectiveWiring;
+import graphql.schema.idl.SchemaDirectiveWiringEnvironment;
+import io.micronaut.configuration.graphql.ReactiveDataFetcherResultInstrumentation;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanIntrospector;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The {@link SchemaDirectiveWiring} of the {@code @cached(ttl: Int, scope: CacheScope)} directive, caching the results
+ * of the annotated fields in the {@link FieldResultCache}.
+ *
+ * <p>The results are cached by parent object, arguments and, for the {@link CacheScope#PRIVATE} scope, user. The parent
+ * object is identified by its {@code id} property, or else by its own equality. Results of the query type's fields are
+ * shared by all operations. Results holding errors are not cached.</p>
+ *
+ * <p>The directive must be declared in the schema, e.g. by adding the {@link #DEFINITIONS} to the SDL, and the wiring
+ * registered with {@code RuntimeWiring.Builder#directive(String, SchemaDirectiveWiring)}.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@Singleton
+public class CachedDirectiveWiring implements SchemaDirectiveWiring {
+
+    /**
+     * The name of the directive.
+     */
+    public static final String DIRECTIVE = "cached";
+
+    /**
+     * The name of the directive argument holding the time to live in seconds.
+     */
+    public static final String TTL_ARGUMENT = "ttl";
+
+    /**
+     * The name of the directive argument holding the {@link CacheScope}.
+     */
+    public static final String SCOPE_ARGUMENT = "scope";
+
+    /**
+     * The default time to live in seconds.
+     */
+    public static final int DEFAULT_TTL = 60;
+
+    /**
+     * The SDL declaring the directive and its {@link CacheScope} enum.
+     */
+    public static final String DEFINITIONS = "directive @" + DIRECTIVE + "(" + TTL_ARGUMENT + ": Int = " + DEFAULT_TTL
+            + ", " + SCOPE_ARGUMENT + ": CacheScope = PUBLIC) on FIELD_DEFINITION\n"
+            + "enum CacheScope { PUBLIC PRIVATE }\n";
+
+    private static final String ROOT = "root";
+    private static final String ID = "id";
+
+    private final FieldResultCache cache;
+    private final Function<DataFetchingEnvironment, Object> userResolver;
+
+    /**
+     * Default constructor, identifying the user by the name of the {@link Principal} set as execution context, or held
+     * by the {@link GraphQLContext} under the {@link Principal} class, as the {@code DefaultGraphQLInvocation} does for
+     * the principal of the HTTP request.
+     *
+     * @param cache the {@link FieldResultCache} instance
+     */
+    @Inject
+    public CachedDirectiveWiring(FieldResultCache cache) {
+        this(cache, CachedDirectiveWiring::principalName);
+    }
+
+    /**
+     * Constructor identifying the user with the given function.
+     *
+     * @param cache        the {@link FieldResultCache} instance
+     * @param userResolver the function returning the key of the user, or {@code null} for anonymous users whose
+     *                     private results are not cached
+     */
+    public CachedDirectiveWiring(FieldResultCache cache, Function<DataFetchingEnvironment, Object> userResolver) {
+        this.cache = cache;
+        this.userResolver = userResolver;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphQLFieldDefinition onField(SchemaDirectiveWiringEnvironment<GraphQLFieldDefinition> environment) {
+        GraphQLFieldDefinition field = environment.getElement();
+        GraphQLDirective directive = environment.getDirective();
+        int ttl = ((Number) argumentValue(directive, TTL_ARGUMENT, DEFAULT_TTL)).intValue();
+        CacheScope scope = CacheScope.valueOf(argumentValue(directive, SCOPE_ARGUMENT, CacheScope.PUBLIC).toString());
+        GraphQLFieldsContainer parentType = environment.getFieldsContainer();
+        DataFetcher<?> dataFetcher = environment.getCodeRegistry().getDataFetcher(parentType, field);
+        environment.getCodeRegistry().dataFetcher(parentType, field,
+                new CachingDataFetcher(parentType.getName() + "." + field.getName(), dataFetcher, ttl, scope));
+        return field;
+    }
+
+    private static Object argumentValue(GraphQLDirective directive, String name, Object defaultValue) {
+        GraphQLArgument argument = directive.getArgument(name);
+        if (argument == null) {
+            return defaultValue;
+        }
+        Object value = argument.getValue() != null ? argument.getValue() : argument.getDefaultValue();
+        return value != null ? value : defaultValue;
+    }
+
+    private static Object principalName(DataFetchingEnvironment environment) {
+        Object context = environment.getContext();
+        if (context instanceof GraphQLContext) {
+            context = ((GraphQLContext) context).get(Principal.class);
+        }
+        return context instanceof Principal ? ((Principal) context).getName() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object parentKey(DataFetchingEnvironment environment) {
+        if (environment.getParentType().getName().equals(environment.getGraphQLSchema().getQueryType().getName())) {
+            return ROOT;
+        }
+        Object source = environment.getSource();
+        if (source instanceof Map) {
+            Object id = ((Map<?, ?>) source).get(ID);
+            return id != null ? id : source;
+        }
+        if (source != null) {
+            Optional<BeanIntrospection<Object>> introspection =
+                    BeanIntrospector.SHARED.findIntrospection((Class<Object>) source.getClass());
+            Optional<Object> id = introspection
+                    .flatMap(beanIntrospection -> beanIntrospection.getProperty(ID))
+                    .map(property -> property.get(source));
+            if (id.isPresent()) {
+                return Arrays.asList(source.getClass().getName(), id.get());
+            }
+        }
+        return source;
+    }
+
+    /**
+     * A {@link DataFetcher} caching the results of another data fetcher.
+     */
+    private final class CachingDataFetcher implements DataFetcher<CompletableFuture<Object>> {
+
+        private final String coordinates;
+        private final DataFetcher<?> dataFetcher;
+        private final long ttl;
+        private final CacheScope scope;
+
+        private CachingDataFetcher(String coordinates, DataFetcher<?> dataFetcher, long ttl, CacheScope scope) {
+            this.coordinates = coordinates;
+            this.dataFetcher = dataFetcher;
+            this.ttl = ttl;
+            this.scope = scope;
+        }
+
+        @Override
+        public CompletableFuture<Object> get(DataFetchingEnvironment environment) {
+            Object user = null;
+            if (scope == CacheScope.PRIVATE) {
+                user = userResolver.apply(environment);
+                if (user == null) {
+                    return load(environment);
+                }
+            }
+            List<Object> key = Arrays.asList(coordinates, parentKey(environment), environment.getArguments(), user);
+            return cache.get(key, ttl, TimeUnit.SECONDS, () -> load(environment), result ->
+                    !(result instanceof DataFetcherResult) || ((DataFetcherResult<?>) result).getErrors().isEmpty());
+        }
+
+        @SuppressWarnings("unchecked")
+        private CompletableFuture<Object> load(DataFetchingEnvironment environment) {
+            try {
+                Object result = ReactiveDataFetcherResultInstrumentation.adapt(dataFetcher.get(environment));
+                if (result instanceof CompletionStage) {
+                    return ((CompletionStage<Object>) result).toCompletableFuture();
+                }
+                return CompletableFuture.completedFuture(result);
+            } catch (Exception e) {
+                CompletableFuture<Object> future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+                return future;
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.cache;
+
+import io.micronaut.configuration.graphql.GraphQLConfiguration;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A bounded in-memory cache of field results, evicting the least recently used results once the maximum size is
+ * reached.
+ *
+ * <p>Results are cached as futures as soon as they are requested, so concurrent requests for a result being loaded
+ * wait for the same load instead of all loading the result themselves. Failed loads, and loaded results which are not
+ * cacheable, are passed to the waiting requests but not kept.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see CachedDirectiveWiring
+ */
+@Singleton
+public class FieldResultCache {
+
+    private final int maximumSize;
+    private final LongSupplier ticker;
+    private final Map<Object, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Default constructor.
+     *
+     * @param graphQLConfiguration the {@link GraphQLConfiguration} instance
+     */
+    @Inject
+    public FieldResultCache(GraphQLConfiguration graphQLConfiguration) {
+        this(graphQLConfiguration.getFieldCache().getMaximumSize());
+    }
+
+    /**
+     * Constructor with the given maximum size.
+     *
+     * @param maximumSize the maximum number of cached results
+     */
+    public FieldResultCache(int maximumSize) {
+        this(maximumSize, System::nanoTime);
+    }
+
+    /**
+     * Constructor with the given maximum size and time source.
+     *
+     * @param maximumSize the maximum number of cached results
+     * @param ticker      the time source in nanoseconds
+     */
+    FieldResultCache(int maximumSize, LongSupplier ticker) {
+        this.maximumSize = maximumSize;
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, FieldResultCache.Entry> eldest) {
+                if (size() > FieldResultCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result for the given key, or loads and caches it for the given time to live.
+     *
+     * @param key    the cache key
+     * @param ttl    the time to live
+     * @param unit   the unit of the time to live
+     * @param loader the loader of the result
+     * @return the result
+     */
+    public CompletableFuture<Object> get(Object key, long ttl, TimeUnit unit,
+            Supplier<? extends CompletableFuture<?>> loader) {
+        return get(key, ttl, unit, loader, result -> true);
+    }
+
+    /**
+     * Returns the cached result for the given key, or loads it and caches it for the given time to live if it is
+     * cacheable. A result which is not cacheable only removes its own entry, not an entry loaded for the key since.
+     *
+     * @param key       the cache key
+     * @param ttl       the time to live
+     * @param unit      the unit of the time to live
+     * @param loader    the loader of the result
+     * @param cacheable the predicate deciding whether a loaded result is kept
+     * @return the result
+     */
+    public CompletableFuture<Object> get(Object key, long ttl, TimeUnit unit,
+            Supplier<? extends CompletableFuture<?>> loader, Predicate<Object> cacheable) {
+        Entry entry;
+        synchronized (entries) {
+            Entry cached = entries.get(key);
+            long now = ticker.getAsLong();
+            if (cached != null && cached.expiresAt - now > 0) {
+                hits.increment();
+                return cached.result;
+            }
+            misses.increment();
+            entry = new Entry(new CompletableFuture<>(), now + unit.toNanos(ttl));
+            entries.put(key, entry);
+        }
+        CompletableFuture<?> loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            loaded = failed(e);
+        }
+        loaded.whenComplete((result, e) -> {
+            if (e != null) {
+                invalidate(key, entry);
+                entry.result.completeExceptionally(e);
+            } else {
+                if (!cacheable.test(result)) {
+                    invalidate(key, entry);
+                }
+                entry.result.complete(result);
+            }
+        });
+        return entry.result;
+    }
+
+    /**
+     * Removes the cached result for the given key.
+     *
+     * @param key the cache key
+     */
+    public void invalidate(Object key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns the number of cached results, including expired results not evicted yet.
+     *
+     * @return the number of cached results
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the number of requests served from the cache, including requests waiting for a result being loaded.
+     *
+     * @return the number of cache hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of requests loading the result.
+     *
+     * @return the number of cache misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of results evicted as the maximum size was reached.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private void invalidate(Object key, Entry entry) {
+        // Leaves a newer entry for the key in place.
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+    }
+
+    private static CompletableFuture<?> failed(Throwable e) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    /**
+     * A cached result with its expiry time.
+     */
+    private static final class Entry {
+
+        private final CompletableFuture<Object> result;
+        private final long expiresAt;
+
+        private Entry(CompletableFuture<Object> result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
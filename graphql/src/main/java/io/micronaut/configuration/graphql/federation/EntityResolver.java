@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.federation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Resolves the entities of a federated type from the representations sent by the federation gateway.
+ *
+ * <p>All representations of the type in an {@code _entities} request are passed at once, so the entities can be
+ * loaded with a single call to the underlying data store instead of one call per representation.</p>
+ *
+ * @param <T> the entity type
+ * @author Marcel Overdijk
+ * @since 1.3
+ * @see Federation
+ */
+public interface EntityResolver<T> {
+
+    /**
+     * Returns the name of the GraphQL object type of the entities, declaring the {@code @key} directive.
+     *
+     * @return the GraphQL type name
+     */
+    String getTypeName();
+
+    /**
+     * Returns the Java type of the resolved entities, used to resolve the GraphQL type of the entities.
+     *
+     * @return the Java type
+     */
+    Class<T> getEntityType();
+
+    /**
+     * Resolves the entities of the given representations.
+     *
+     * @param representations the representations, holding the {@code __typename} and the key fields
+     * @return the entities in the order of the representations, holding {@code null} for entities not found
+     */
+    CompletionStage<List<T>> resolve(List<Map<String, Object>> representations);
+}
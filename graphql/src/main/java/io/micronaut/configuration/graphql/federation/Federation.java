@@ -0,0 +1,340 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.federation;
+
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.Scalars;
+import graphql.TypeResolutionEnvironment;
+import graphql.execution.DataFetcherResult;
+import graphql.language.ArrayValue;
+import graphql.language.BooleanValue;
+import graphql.language.EnumValue;
+import graphql.language.FloatValue;
+import graphql.language.IntValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.StringValue;
+import graphql.language.Value;
+import graphql.schema.Coercing;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeReference;
+import graphql.schema.GraphQLUnionType;
+import graphql.schema.TypeResolver;
+import graphql.schema.idl.SchemaPrinter;
+import io.micronaut.context.exceptions.ConfigurationException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static graphql.schema.GraphQLArgument.newArgument;
+import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition;
+
+/**
+ * Exposes a {@link GraphQLSchema} as Apollo Federation subgraph, adding the {@code _service} and {@code _entities}
+ * query fields.
+ *
+ * <p>The {@code _entities} representations are grouped by {@code __typename} and each group is resolved with a single
+ * call to the {@link EntityResolver} of the type. The entity types are the object types declaring the {@code @key}
+ * directive in the schema.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public final class Federation {
+
+    /**
+     * The name of the scalar holding the representations.
+     */
+    public static final String ANY_SCALAR = "_Any";
+
+    /**
+     * The name of the union of the entity types.
+     */
+    public static final String ENTITY_UNION = "_Entity";
+
+    /**
+     * The name of the type holding the subgraph SDL.
+     */
+    public static final String SERVICE_TYPE = "_Service";
+
+    /**
+     * The name of the query field returning the {@link #SERVICE_TYPE}.
+     */
+    public static final String SERVICE_FIELD = "_service";
+
+    /**
+     * The name of the query field resolving the entities.
+     */
+    public static final String ENTITIES_FIELD = "_entities";
+
+    /**
+     * The name of the argument of the {@link #ENTITIES_FIELD} holding the representations.
+     */
+    public static final String REPRESENTATIONS_ARGUMENT = "representations";
+
+    /**
+     * The name of the directive declaring the key fields of an entity type.
+     */
+    public static final String KEY_DIRECTIVE = "key";
+
+    /**
+     * The name of the representation entry holding the type name.
+     */
+    public static final String TYPENAME = "__typename";
+
+    private static final GraphQLScalarType ANY = GraphQLScalarType.newScalar()
+            .name(ANY_SCALAR)
+            .description("A representation of an entity, holding the __typename and the key fields")
+            .coercing(new AnyCoercing())
+            .build();
+
+    private Federation() {
+    }
+
+    /**
+     * Adds the federation fields to the given schema, printing the subgraph SDL from the schema.
+     *
+     * @param schema    the schema
+     * @param resolvers the entity resolvers
+     * @return the federated schema
+     */
+    public static GraphQLSchema transform(GraphQLSchema schema, Collection<? extends EntityResolver<?>> resolvers) {
+        String sdl = new SchemaPrinter(SchemaPrinter.Options.defaultOptions().includeDirectives(true)).print(schema);
+        return transform(schema, sdl, resolvers);
+    }
+
+    /**
+     * Adds the federation fields to the given schema.
+     *
+     * @param schema    the schema
+     * @param sdl       the subgraph SDL returned to the gateway
+     * @param resolvers the entity resolvers
+     * @return the federated schema
+     */
+    public static GraphQLSchema transform(GraphQLSchema schema, String sdl,
+            Collection<? extends EntityResolver<?>> resolvers) {
+        Map<String, EntityResolver<?>> resolversByType = new LinkedHashMap<>();
+        for (EntityResolver<?> resolver : resolvers) {
+            if (resolversByType.put(resolver.getTypeName(), resolver) != null) {
+                throw new ConfigurationException("Duplicate entity resolver for type: " + resolver.getTypeName());
+            }
+        }
+        GraphQLObjectType queryType = schema.getQueryType();
+        GraphQLObjectType serviceType = GraphQLObjectType.newObject()
+                .name(SERVICE_TYPE)
+                .field(newFieldDefinition().name("sdl").type(Scalars.GraphQLString))
+                .build();
+        GraphQLObjectType.Builder query = GraphQLObjectType.newObject(queryType)
+                .field(newFieldDefinition().name(SERVICE_FIELD).type(GraphQLNonNull.nonNull(serviceType)));
+        GraphQLCodeRegistry.Builder codeRegistry = GraphQLCodeRegistry.newCodeRegistry(schema.getCodeRegistry())
+                .dataFetcher(FieldCoordinates.coordinates(queryType.getName(), SERVICE_FIELD),
+                        (DataFetcher<Object>) environment -> Collections.singletonMap("sdl", sdl));
+
+        List<String> entityTypeNames = schema.getAllTypesAsList().stream()
+                .filter(type -> type instanceof GraphQLObjectType)
+                .filter(type -> ((GraphQLObjectType) type).getDirective(KEY_DIRECTIVE) != null)
+                .map(GraphQLType::getName)
+                .collect(Collectors.toList());
+        // The union and the _entities field must only be added when the schema declares entity types.
+        if (!entityTypeNames.isEmpty()) {
+            GraphQLUnionType.Builder entityUnion = GraphQLUnionType.newUnionType().name(ENTITY_UNION);
+            entityTypeNames.forEach(name -> entityUnion.possibleType(GraphQLTypeReference.typeRef(name)));
+            query.field(newFieldDefinition()
+                    .name(ENTITIES_FIELD)
+                    .argument(newArgument()
+                            .name(REPRESENTATIONS_ARGUMENT)
+                            .type(GraphQLNonNull.nonNull(GraphQLList.list(GraphQLNonNull.nonNull(ANY)))))
+                    .type(GraphQLNonNull.nonNull(GraphQLList.list(entityUnion.build()))));
+            codeRegistry
+                    .dataFetcher(FieldCoordinates.coordinates(queryType.getName(), ENTITIES_FIELD),
+                            new EntitiesDataFetcher(resolversByType))
+                    .typeResolver(ENTITY_UNION, new EntityTypeResolver(resolversByType.values()));
+        }
+        return GraphQLSchema.newSchema(schema)
+                .query(query.build())
+                .codeRegistry(codeRegistry.build())
+                .build();
+    }
+
+    /**
+     * Resolves the entities of the representations, calling each {@link EntityResolver} once.
+     */
+    private static final class EntitiesDataFetcher
+            implements DataFetcher<CompletableFuture<DataFetcherResult<List<Object>>>> {
+
+        private final Map<String, EntityResolver<?>> resolvers;
+
+        private EntitiesDataFetcher(Map<String, EntityResolver<?>> resolvers) {
+            this.resolvers = resolvers;
+        }
+
+        @Override
+        public CompletableFuture<DataFetcherResult<List<Object>>> get(DataFetchingEnvironment environment) {
+            List<Map<String, Object>> representations = environment.getArgument(REPRESENTATIONS_ARGUMENT);
+            Object[] entities = new Object[representations.size()];
+            List<GraphQLError> errors = Collections.synchronizedList(new ArrayList<>());
+
+            Map<String, List<Integer>> indicesByType = new LinkedHashMap<>();
+            for (int i = 0; i < representations.size(); i++) {
+                Object typeName = representations.get(i).get(TYPENAME);
+                indicesByType.computeIfAbsent(String.valueOf(typeName), name -> new ArrayList<>()).add(i);
+            }
+
+            List<CompletableFuture<?>> futures = new ArrayList<>();
+            indicesByType.forEach((typeName, indices) -> {
+                EntityResolver<?> resolver = resolvers.get(typeName);
+                if (resolver == null) {
+                    errors.add(error(environment, "No entity resolver for type: " + typeName));
+                    return;
+                }
+                List<Map<String, Object>> typeRepresentations = indices.stream()
+                        .map(representations::get)
+                        .collect(Collectors.toList());
+                futures.add(resolve(resolver, typeRepresentations).handle((resolved, e) -> {
+                    if (e != null) {
+                        Throwable cause = e.getCause() != null ? e.getCause() : e;
+                        errors.add(error(environment, "Error resolving entities of type " + typeName + ": "
+                                + cause.getMessage()));
+                    } else if (resolved == null || resolved.size() != indices.size()) {
+                        errors.add(error(environment, "Entity resolver for type " + typeName
+                                + " did not return an entity for each representation"));
+                    } else {
+                        for (int i = 0; i < indices.size(); i++) {
+                            entities[indices.get(i)] = resolved.get(i);
+                        }
+                    }
+                    return null;
+                }));
+            });
+
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .thenApply(done -> DataFetcherResult.<List<Object>>newResult()
+                            .data(Arrays.asList(entities))
+                            .errors(new ArrayList<>(errors))
+                            .build());
+        }
+
+        private static CompletableFuture<? extends List<?>> resolve(EntityResolver<?> resolver,
+                List<Map<String, Object>> representations) {
+            try {
+                return resolver.resolve(representations).toCompletableFuture();
+            } catch (RuntimeException e) {
+                CompletableFuture<List<?>> future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+                return future;
+            }
+        }
+
+        private static GraphQLError error(DataFetchingEnvironment environment, String message) {
+            return GraphqlErrorBuilder.newError(environment).message(message).build();
+        }
+    }
+
+    /**
+     * Resolves the object type of an entity, from the {@code __typename} of a map or the Java type of the
+     * {@link EntityResolver}.
+     */
+    private static final class EntityTypeResolver implements TypeResolver {
+
+        private final Collection<EntityResolver<?>> resolvers;
+
+        private EntityTypeResolver(Collection<EntityResolver<?>> resolvers) {
+            this.resolvers = resolvers;
+        }
+
+        @Override
+        public GraphQLObjectType getType(TypeResolutionEnvironment environment) {
+            Object entity = environment.getObject();
+            if (entity instanceof Map && ((Map<?, ?>) entity).get(TYPENAME) != null) {
+                return environment.getSchema().getObjectType(((Map<?, ?>) entity).get(TYPENAME).toString());
+            }
+            for (EntityResolver<?> resolver : resolvers) {
+                if (resolver.getEntityType().isInstance(entity)) {
+                    return environment.getSchema().getObjectType(resolver.getTypeName());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Coerces the representations, passed as variables or inline object literals.
+     */
+    private static final class AnyCoercing implements Coercing<Object, Object> {
+
+        @Override
+        public Object serialize(Object dataFetcherResult) {
+            return dataFetcherResult;
+        }
+
+        @Override
+        public Object parseValue(Object input) {
+            return input;
+        }
+
+        @Override
+        public Object parseLiteral(Object input) {
+            if (input instanceof ObjectValue) {
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (ObjectField field : ((ObjectValue) input).getObjectFields()) {
+                    map.put(field.getName(), parseLiteral(field.getValue()));
+                }
+                return map;
+            }
+            if (input instanceof ArrayValue) {
+                List<Object> list = new ArrayList<>();
+                for (Value value : ((ArrayValue) input).getValues()) {
+                    list.add(parseLiteral(value));
+                }
+                return list;
+            }
+            if (input instanceof StringValue) {
+                return ((StringValue) input).getValue();
+            }
+            if (input instanceof IntValue) {
+                return ((IntValue) input).getValue();
+            }
+            if (input instanceof FloatValue) {
+                return ((FloatValue) input).getValue();
+            }
+            if (input instanceof BooleanValue) {
+                return ((BooleanValue) input).isValue();
+            }
+            if (input instanceof EnumValue) {
+                return ((EnumValue) input).getName();
+            }
+            return null;
+        }
+    }
+}
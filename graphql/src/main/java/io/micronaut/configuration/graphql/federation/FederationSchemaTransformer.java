@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.federation;
+
+import graphql.schema.GraphQLSchema;
+import io.micronaut.configuration.graphql.GraphQLConfiguration;
+import io.micronaut.configuration.graphql.GraphQLSchemaTransformer;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.io.IOUtils;
+import io.micronaut.core.io.ResourceResolver;
+import io.micronaut.core.util.StringUtils;
+
+import javax.inject.Singleton;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Exposes the {@link GraphQLSchema} as Apollo Federation subgraph, resolving the entities with the
+ * {@link EntityResolver} beans.
+ *
+ * <p>Applies to the {@link GraphQLSchema} bean from which the {@link graphql.GraphQL} bean is created by the
+ * {@link io.micronaut.configuration.graphql.DefaultGraphQLFactory}, and to the schemas swapped in by the
+ * {@link io.micronaut.configuration.graphql.DefaultGraphQLProvider}. An application defining the
+ * {@link graphql.GraphQL} bean itself uses {@link Federation#transform(GraphQLSchema, String, Collection)} instead.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@Singleton
+@Requires(property = GraphQLConfiguration.FederationConfiguration.ENABLED,
+        value = StringUtils.TRUE, defaultValue = StringUtils.FALSE)
+public class FederationSchemaTransformer implements GraphQLSchemaTransformer {
+
+    private final GraphQLConfiguration.FederationConfiguration federationConfiguration;
+    private final ResourceResolver resourceResolver;
+    private final Collection<EntityResolver<?>> entityResolvers;
+
+    /**
+     * Default constructor.
+     *
+     * @param graphQLConfiguration the {@link GraphQLConfiguration} instance
+     * @param resourceResolver     the {@link ResourceResolver} instance
+     * @param entityResolvers      the {@link EntityResolver} instances
+     */
+    public FederationSchemaTransformer(GraphQLConfiguration graphQLConfiguration, ResourceResolver resourceResolver,
+            Collection<EntityResolver<?>> entityResolvers) {
+        this.federationConfiguration = graphQLConfiguration.getFederation();
+        this.resourceResolver = resourceResolver;
+        this.entityResolvers = entityResolvers;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphQLSchema transform(GraphQLSchema graphQLSchema) {
+        String sdlPath = federationConfiguration.getSdlPath();
+        if (sdlPath == null) {
+            return Federation.transform(graphQLSchema, entityResolvers);
+        }
+        return Federation.transform(graphQLSchema, loadSdl(sdlPath), entityResolvers);
+    }
+
+    private String loadSdl(String sdlPath) {
+        Optional<InputStream> sdl = resourceResolver.getResourceAsStream(sdlPath);
+        if (!sdl.isPresent()) {
+            throw new ConfigurationException("Cannot find GraphQL federation SDL: " + sdlPath);
+        }
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(sdl.get(), StandardCharsets.UTF_8))) {
+            return IOUtils.readText(in);
+        } catch (IOException e) {
+            throw new ConfigurationException("Cannot read GraphQL federation SDL: " + sdlPath, e);
+        }
+    }
+}
@@ -21,7 +21,9 @@
  * @since 1.0
  */
 @Configuration
-@RequiresGraphQL
+@Requires(property = GraphQLConfiguration.ENABLED, notEquals = StringUtils.FALSE)
 package io.micronaut.configuration.graphql;
 
 import io.micronaut.context.annotation.Configuration;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.relay;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.async.SupplierUtil;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A Relay style connection, paginated forward with the {@code first} and {@code after} arguments and opaque keyset
+ * cursors.
+ *
+ * <p>A cursor holds the key of its node, so the next page is loaded by seeking to the nodes following that key
+ * instead of skipping all preceding nodes like offset pagination does. One node more than requested is loaded to
+ * determine whether there is a next page. The optional total count is only computed when the {@code totalCount}
+ * field is selected, which is nullable in the schema, as it resolves to {@code null} without a total count
+ * supplier.</p>
+ *
+ * <p>The connection, its edges and its page info are introspected, so they are read by the
+ * {@link io.micronaut.configuration.graphql.BeanIntrospectionDataFetcher} without reflection.</p>
+ *
+ * @param <T> the type of the nodes
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@Introspected
+public final class KeysetConnection<T> {
+
+    /**
+     * The name of the argument holding the maximum number of edges.
+     */
+    public static final String FIRST_ARGUMENT = "first";
+
+    /**
+     * The name of the argument holding the cursor of the edge preceding the page.
+     */
+    public static final String AFTER_ARGUMENT = "after";
+
+    private static final String CURSOR_PREFIX = "keyset:";
+
+    private final List<Edge<T>> edges;
+    private final PageInfo pageInfo;
+    private final Supplier<Long> totalCount;
+
+    /**
+     * Default constructor, which is public for the introspection of the connection. Use {@link #of} to load a page.
+     *
+     * @param edges      the edges of the page
+     * @param pageInfo   the page info
+     * @param totalCount the supplier of the total number of nodes, supplying {@code null} if not supported
+     */
+    public KeysetConnection(List<Edge<T>> edges, PageInfo pageInfo, Supplier<Long> totalCount) {
+        this.edges = Collections.unmodifiableList(edges);
+        this.pageInfo = pageInfo;
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * Loads the page requested by the {@code first} and {@code after} arguments of the field being fetched.
+     *
+     * @param environment     the data fetching environment
+     * @param defaultPageSize the number of edges if {@code first} is not given
+     * @param maxPageSize     the maximum value of {@code first}
+     * @param keyExtractor    the function returning the key of a node
+     * @param pageLoader      the loader of the nodes
+     * @param totalCount      the supplier of the total number of nodes, or {@code null} if not supported
+     * @param <T>             the type of the nodes
+     * @return the connection
+     * @throws IllegalArgumentException if {@code first} is negative or above the maximum, or {@code after} is not a
+     *                                  valid cursor
+     */
+    public static <T> KeysetConnection<T> of(
+            DataFetchingEnvironment environment,
+            int defaultPageSize,
+            int maxPageSize,
+            Function<? super T, String> keyExtractor,
+            KeysetPageLoader<T> pageLoader,
+            @Nullable LongSupplier totalCount) {
+        Number first = environment.getArgument(FIRST_ARGUMENT);
+        String after = environment.getArgument(AFTER_ARGUMENT);
+        return of(first != null ? first.intValue() : defaultPageSize, after, maxPageSize, keyExtractor, pageLoader,
+                totalCount);
+    }
+
+    /**
+     * Loads the page of the given size following the given cursor.
+     *
+     * @param first        the maximum number of edges
+     * @param after        the cursor of the edge preceding the page, or {@code null} for the first page
+     * @param maxPageSize  the maximum value of {@code first}
+     * @param keyExtractor the function returning the key of a node
+     * @param pageLoader   the loader of the nodes
+     * @param totalCount   the supplier of the total number of nodes, or {@code null} if not supported
+     * @param <T>          the type of the nodes
+     * @return the connection
+     * @throws IllegalArgumentException if {@code first} is negative or above the maximum, or {@code after} is not a
+     *                                  valid cursor
+     */
+    public static <T> KeysetConnection<T> of(
+            int first,
+            @Nullable String after,
+            int maxPageSize,
+            Function<? super T, String> keyExtractor,
+            KeysetPageLoader<T> pageLoader,
+            @Nullable LongSupplier totalCount) {
+        if (first < 0 || first > maxPageSize) {
+            throw new IllegalArgumentException("Argument '" + FIRST_ARGUMENT + "' must be between 0 and "
+                    + maxPageSize + ": " + first);
+        }
+        String afterKey = after != null ? decodeCursor(after) : null;
+        List<T> nodes = first > 0 ? pageLoader.load(afterKey, first + 1) : Collections.emptyList();
+        boolean hasNextPage = nodes.size() > first;
+        List<Edge<T>> edges = new ArrayList<>(Math.min(nodes.size(), first));
+        for (T node : hasNextPage ? nodes.subList(0, first) : nodes) {
+            edges.add(new Edge<>(node, encodeCursor(keyExtractor.apply(node))));
+        }
+        PageInfo pageInfo = new PageInfo(
+                edges.isEmpty() ? null : edges.get(0).getCursor(),
+                edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor(),
+                false,
+                hasNextPage);
+        Supplier<Long> lazyTotalCount = totalCount != null ? SupplierUtil.memoized(totalCount::getAsLong) : () -> null;
+        return new KeysetConnection<>(edges, pageInfo, lazyTotalCount);
+    }
+
+    /**
+     * Encodes the given key as opaque cursor.
+     *
+     * @param key the key
+     * @return the cursor
+     */
+    public static String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the key held by the given cursor.
+     *
+     * @param cursor the cursor
+     * @return the key
+     * @throws IllegalArgumentException if the cursor is not a valid cursor
+     */
+    public static String decodeCursor(String cursor) {
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        if (!value.startsWith(CURSOR_PREFIX)) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return value.substring(CURSOR_PREFIX.length());
+    }
+
+    /**
+     * Returns the edges of the page.
+     *
+     * @return the edges
+     */
+    public List<Edge<T>> getEdges() {
+        return edges;
+    }
+
+    /**
+     * Returns the page info.
+     *
+     * @return the page info
+     */
+    public PageInfo getPageInfo() {
+        return pageInfo;
+    }
+
+    /**
+     * Returns the total number of nodes, computed on first access.
+     *
+     * @return the total number of nodes, or {@code null} if not supported
+     */
+    public Long getTotalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * An edge of the connection.
+     *
+     * @param <T> the type of the node
+     */
+    @Introspected
+    public static final class Edge<T> {
+
+        private final T node;
+        private final String cursor;
+
+        /**
+         * Default constructor.
+         *
+         * @param node   the node
+         * @param cursor the cursor of the node
+         */
+        public Edge(T node, String cursor) {
+            this.node = node;
+            this.cursor = cursor;
+        }
+
+        /**
+         * Returns the node.
+         *
+         * @return the node
+         */
+        public T getNode() {
+            return node;
+        }
+
+        /**
+         * Returns the cursor of the node.
+         *
+         * @return the cursor
+         */
+        public String getCursor() {
+            return cursor;
+        }
+    }
+
+    /**
+     * The page info of the connection.
+     */
+    @Introspected
+    public static final class PageInfo {
+
+        private final String startCursor;
+        private final String endCursor;
+        private final boolean hasPreviousPage;
+        private final boolean hasNextPage;
+
+        /**
+         * Default constructor.
+         *
+         * @param startCursor     the cursor of the first edge
+         * @param endCursor       the cursor of the last edge
+         * @param hasPreviousPage whether there is a previous page
+         * @param hasNextPage     whether there is a next page
+         */
+        public PageInfo(@Nullable String startCursor, @Nullable String endCursor, boolean hasPreviousPage,
+                boolean hasNextPage) {
+            this.startCursor = startCursor;
+            this.endCursor = endCursor;
+            this.hasPreviousPage = hasPreviousPage;
+            this.hasNextPage = hasNextPage;
+        }
+
+        /**
+         * Returns the cursor of the first edge.
+         *
+         * @return the start cursor, or {@code null} if the page is empty
+         */
+        public String getStartCursor() {
+            return startCursor;
+        }
+
+        /**
+         * Returns the cursor of the last edge.
+         *
+         * @return the end cursor, or {@code null} if the page is empty
+         */
+        public String getEndCursor() {
+            return endCursor;
+        }
+
+        /**
+         * Returns whether there is a previous page. Always {@code false} when paginating forward, as allowed by the
+         * Relay specification, as determining it would require an extra query.
+         *
+         * @return whether there is a previous page
+         */
+        public boolean isHasPreviousPage() {
+            return hasPreviousPage;
+        }
+
+        /**
+         * Returns whether there is a next page.
+         *
+         * @return whether there is a next page
+         */
+        public boolean isHasNextPage() {
+            return hasNextPage;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.relay;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Loads a page of a {@link KeysetConnection}, e.g. with a query like
+ * {@code SELECT ... WHERE key > :afterKey ORDER BY key LIMIT :limit} which seeks to the page using the index of the
+ * key instead of skipping the preceding rows.
+ *
+ * @param <T> the type of the loaded nodes
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@FunctionalInterface
+public interface KeysetPageLoader<T> {
+
+    /**
+     * Loads the nodes following the given key, ordered by key.
+     *
+     * @param afterKey the key of the node preceding the page, or {@code null} for the first page
+     * @param limit    the maximum number of nodes to load
+     * @return the nodes
+     */
+    List<T> load(@Nullable String afterKey, int limit);
+}
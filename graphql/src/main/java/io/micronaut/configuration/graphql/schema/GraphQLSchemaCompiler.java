@@ -0,0 +1,217 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.schema;
+
+import graphql.language.Definition;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.Coercing;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.TypeResolver;
+import graphql.schema.idl.InterfaceWiringEnvironment;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.ScalarWiringEnvironment;
+import graphql.schema.idl.ScalarInfo;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.schema.idl.UnionWiringEnvironment;
+import graphql.schema.idl.WiringFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles GraphQL schema definition files into a {@link PrecompiledSchema} Java class at build time.
+ *
+ * <p>The schema is validated by generating an executable schema with placeholder scalars and type resolvers,
+ * so errors in the SDL fail the build instead of the application startup. The generated class builds the schema
+ * document directly, which avoids reading and parsing the SDL at startup. The executable schema is still created
+ * at startup with the {@link SchemaGenerator}, as it needs the runtime wiring of the application.</p>
+ *
+ * <p>Usage from a build tool:</p>
+ *
+ * <pre>
+ * java io.micronaut.configuration.graphql.schema.GraphQLSchemaCompiler \
+ *     --output-dir build/generated/graphql --class-name example.graphql.CompiledSchema schema.graphqls
+ * </pre>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public final class GraphQLSchemaCompiler {
+
+    private static final String USAGE = "Usage: GraphQLSchemaCompiler --output-dir <dir> --class-name <class> "
+            + "<schema file>...";
+
+    private GraphQLSchemaCompiler() {
+    }
+
+    /**
+     * Compiles the schema files given as arguments.
+     *
+     * @param args the command line arguments
+     * @throws IOException if the schema files cannot be read or the generated class cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path outputDir = null;
+        String className = null;
+        List<Path> schemaFiles = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--output-dir".equals(args[i]) && i + 1 < args.length) {
+                outputDir = Paths.get(args[++i]);
+            } else if ("--class-name".equals(args[i]) && i + 1 < args.length) {
+                className = args[++i];
+            } else {
+                schemaFiles.add(Paths.get(args[i]));
+            }
+        }
+        if (outputDir == null || className == null || schemaFiles.isEmpty()) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        Document document = parse(schemaFiles);
+        validate(document);
+        String source = schemaFiles.stream()
+                .map(file -> String.valueOf(file.getFileName()))
+                .collect(Collectors.joining(", "));
+        Path output = outputDir.resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(output.getParent());
+        Files.write(output, generate(document, className, source).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses the given schema files into a single schema document.
+     *
+     * @param schemaFiles the schema files
+     * @return the schema document
+     * @throws IOException if a schema file cannot be read
+     */
+    public static Document parse(List<Path> schemaFiles) throws IOException {
+        Parser parser = new Parser();
+        List<Definition> definitions = new ArrayList<>();
+        for (Path schemaFile : schemaFiles) {
+            String sdl = new String(Files.readAllBytes(schemaFile), StandardCharsets.UTF_8);
+            definitions.addAll(parser.parseDocument(sdl).getDefinitions());
+        }
+        return Document.newDocument().definitions(definitions).build();
+    }
+
+    /**
+     * Validates the given schema document.
+     *
+     * @param document the schema document
+     * @throws graphql.schema.idl.errors.SchemaProblem if the schema is invalid
+     */
+    public static void validate(Document document) {
+        TypeDefinitionRegistry typeRegistry = new SchemaParser().buildRegistry(document);
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .wiringFactory(new ValidationWiringFactory())
+                .build();
+        new SchemaGenerator().makeExecutableSchema(typeRegistry, runtimeWiring);
+    }
+
+    /**
+     * Generates the Java source of a {@link PrecompiledSchema} implementation for the given schema document.
+     *
+     * @param document  the schema document
+     * @param className the fully qualified name of the class to generate
+     * @param source    a description of the SDL source(s), used in the class comment
+     * @return the Java source
+     */
+    public static String generate(Document document, String className, String source) {
+        return new SchemaSourceGenerator(className).generate(document, source);
+    }
+
+    /**
+     * Provides placeholder custom scalars and type resolvers, which are only available at runtime.
+     */
+    private static final class ValidationWiringFactory implements WiringFactory {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean providesScalar(ScalarWiringEnvironment environment) {
+            // The built-in scalars are already known, providing them again would redefine them.
+            return !ScalarInfo.isStandardScalar(environment.getScalarTypeDefinition().getName());
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public GraphQLScalarType getScalar(ScalarWiringEnvironment environment) {
+            return GraphQLScalarType.newScalar()
+                    .name(environment.getScalarTypeDefinition().getName())
+                    .coercing(new Coercing<Object, Object>() {
+                        @Override
+                        public Object serialize(Object dataFetcherResult) {
+                            return dataFetcherResult;
+                        }
+
+                        @Override
+                        public Object parseValue(Object input) {
+                            return input;
+                        }
+
+                        @Override
+                        public Object parseLiteral(Object input) {
+                            return input;
+                        }
+                    })
+                    .build();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean providesTypeResolver(InterfaceWiringEnvironment environment) {
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public TypeResolver getTypeResolver(InterfaceWiringEnvironment environment) {
+            return env -> null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean providesTypeResolver(UnionWiringEnvironment environment) {
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public TypeResolver getTypeResolver(UnionWiringEnvironment environment) {
+            return env -> null;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.schema;
+
+import graphql.language.Document;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+
+/**
+ * A GraphQL schema definition compiled to Java code at build time by the {@link GraphQLSchemaCompiler}.
+ *
+ * <p>The generated implementation builds the schema document directly, so the SDL does not have to be read and
+ * parsed at startup. Only the document is precompiled, the executable schema is still generated from it together
+ * with the runtime wiring at startup.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+public interface PrecompiledSchema {
+
+    /**
+     * Returns the schema document, as it would have been parsed from the SDL.
+     *
+     * @return the schema document
+     */
+    Document getDocument();
+
+    /**
+     * Returns the type definition registry of the schema document, to be passed to the
+     * {@link graphql.schema.idl.SchemaGenerator} together with the runtime wiring.
+     *
+     * @return the type definition registry
+     */
+    default TypeDefinitionRegistry getTypeDefinitionRegistry() {
+        return new SchemaParser().buildRegistry(getDocument());
+    }
+}
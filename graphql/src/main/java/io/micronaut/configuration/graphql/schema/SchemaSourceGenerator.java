@@ -0,0 +1,424 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.schema;
+
+import graphql.language.ArrayValue;
+import graphql.language.BooleanValue;
+import graphql.language.Comment;
+import graphql.language.Definition;
+import graphql.language.Description;
+import graphql.language.Directive;
+import graphql.language.DirectiveDefinition;
+import graphql.language.DirectiveLocation;
+import graphql.language.Document;
+import graphql.language.EnumTypeDefinition;
+import graphql.language.EnumValue;
+import graphql.language.EnumValueDefinition;
+import graphql.language.FieldDefinition;
+import graphql.language.FloatValue;
+import graphql.language.InputObjectTypeDefinition;
+import graphql.language.InputValueDefinition;
+import graphql.language.IntValue;
+import graphql.language.InterfaceTypeDefinition;
+import graphql.language.ListType;
+import graphql.language.Node;
+import graphql.language.NonNullType;
+import graphql.language.NullValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.ObjectTypeExtensionDefinition;
+import graphql.language.ObjectValue;
+import graphql.language.OperationTypeDefinition;
+import graphql.language.ScalarTypeDefinition;
+import graphql.language.SchemaDefinition;
+import graphql.language.StringValue;
+import graphql.language.Type;
+import graphql.language.TypeDefinition;
+import graphql.language.TypeName;
+import graphql.language.UnionTypeDefinition;
+import graphql.language.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Generates the Java source of a {@link PrecompiledSchema} implementation building a given schema document.
+ *
+ * <p>Every definition is built in its own method and long lists are split over multiple methods, so the
+ * generated code stays within the method size limits of the JVM for large schemas.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+final class SchemaSourceGenerator {
+
+    private static final int CHUNK_SIZE = 32;
+    private static final String INDENT = "    ";
+
+    private final String packageName;
+    private final String simpleName;
+    private final StringBuilder methods = new StringBuilder();
+    private int methodCount;
+
+    /**
+     * Default constructor.
+     *
+     * @param className the fully qualified name of the class to generate
+     */
+    SchemaSourceGenerator(String className) {
+        int index = className.lastIndexOf('.');
+        this.packageName = index == -1 ? "" : className.substring(0, index);
+        this.simpleName = className.substring(index + 1);
+    }
+
+    /**
+     * Generates the Java source for the given schema document.
+     *
+     * @param document the schema document
+     * @param source   a description of the SDL source(s), used in the class comment
+     * @return the Java source
+     */
+    String generate(Document document, String source) {
+        StringBuilder documentMethod = new StringBuilder();
+        documentMethod.append(INDENT).append("@Override\n")
+                .append(INDENT).append("public Document getDocument() {\n")
+                .append(INDENT).append(INDENT).append("List<Definition> definitions = new ArrayList<>(")
+                .append(document.getDefinitions().size()).append(");\n");
+        for (Definition<?> definition : document.getDefinitions()) {
+            String method = method("Definition", definition(definition));
+            documentMethod.append(INDENT).append(INDENT).append("definitions.add(").append(method).append(");\n");
+        }
+        documentMethod.append(INDENT).append(INDENT)
+                .append("return Document.newDocument().definitions(definitions).build();\n")
+                .append(INDENT).append("}\n");
+
+        StringBuilder java = new StringBuilder();
+        java.append("// Generated by ").append(GraphQLSchemaCompiler.class.getName()).append(", do not edit.\n");
+        if (!packageName.isEmpty()) {
+            java.append("package ").append(packageName).append(";\n\n");
+        }
+        java.append("import graphql.language.*;\n")
+                .append("import ").append(PrecompiledSchema.class.getName()).append(";\n\n")
+                .append("import java.math.BigDecimal;\n")
+                .append("import java.math.BigInteger;\n")
+                .append("import java.util.ArrayList;\n")
+                .append("import java.util.Arrays;\n")
+                .append("import java.util.List;\n\n")
+                .append("/**\n")
+                .append(" * Precompiled GraphQL schema of ").append(source.replace("*/", "* /")).append(".\n")
+                .append(" */\n")
+                .append("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n")
+                .append("public final class ").append(simpleName).append(" implements PrecompiledSchema {\n\n")
+                .append(documentMethod)
+                .append(methods)
+                .append('\n')
+                .append(INDENT).append("@SafeVarargs\n")
+                .append(INDENT).append("private static <T> List<T> list(T... elements) {\n")
+                .append(INDENT).append(INDENT).append("return new ArrayList<>(Arrays.asList(elements));\n")
+                .append(INDENT).append("}\n\n")
+                .append(INDENT).append("@SafeVarargs\n")
+                .append(INDENT).append("private static <T> List<T> concat(List<T>... lists) {\n")
+                .append(INDENT).append(INDENT).append("List<T> result = new ArrayList<>();\n")
+                .append(INDENT).append(INDENT).append("for (List<T> list : lists) {\n")
+                .append(INDENT).append(INDENT).append(INDENT).append("result.addAll(list);\n")
+                .append(INDENT).append(INDENT).append("}\n")
+                .append(INDENT).append(INDENT).append("return result;\n")
+                .append(INDENT).append("}\n")
+                .append("}\n");
+        return java.toString();
+    }
+
+    private String definition(Definition<?> definition) {
+        if (definition instanceof ObjectTypeExtensionDefinition) {
+            ObjectTypeExtensionDefinition extension = (ObjectTypeExtensionDefinition) definition;
+            return "ObjectTypeExtensionDefinition.newObjectTypeExtensionDefinition()"
+                    + typeDefinitionParts(extension)
+                    + ".implementz(" + list("Type", extension.getImplements(), this::type) + ")"
+                    + ".fieldDefinitions("
+                    + list("FieldDefinition", extension.getFieldDefinitions(), this::field) + ")"
+                    + ".build()";
+        }
+        if (isExtension(definition)) {
+            throw new IllegalArgumentException("Extensions other than object type extensions are not supported "
+                    + "by precompiled schemas: " + definition.getClass().getSimpleName());
+        }
+        if (definition instanceof ObjectTypeDefinition) {
+            ObjectTypeDefinition objectType = (ObjectTypeDefinition) definition;
+            return "ObjectTypeDefinition.newObjectTypeDefinition()"
+                    + typeDefinitionParts(objectType)
+                    + ".implementz(" + list("Type", objectType.getImplements(), this::type) + ")"
+                    + ".fieldDefinitions("
+                    + list("FieldDefinition", objectType.getFieldDefinitions(), this::field) + ")"
+                    + ".build()";
+        }
+        if (definition instanceof InterfaceTypeDefinition) {
+            InterfaceTypeDefinition interfaceType = (InterfaceTypeDefinition) definition;
+            return "InterfaceTypeDefinition.newInterfaceTypeDefinition()"
+                    + typeDefinitionParts(interfaceType)
+                    + ".definitions("
+                    + list("FieldDefinition", interfaceType.getFieldDefinitions(), this::field) + ")"
+                    + ".build()";
+        }
+        if (definition instanceof UnionTypeDefinition) {
+            UnionTypeDefinition unionType = (UnionTypeDefinition) definition;
+            return "UnionTypeDefinition.newUnionTypeDefinition()"
+                    + typeDefinitionParts(unionType)
+                    + ".memberTypes(" + list("Type", unionType.getMemberTypes(), this::type) + ")"
+                    + ".build()";
+        }
+        if (definition instanceof EnumTypeDefinition) {
+            EnumTypeDefinition enumType = (EnumTypeDefinition) definition;
+            return "EnumTypeDefinition.newEnumTypeDefinition()"
+                    + typeDefinitionParts(enumType)
+                    + ".enumValueDefinitions("
+                    + list("EnumValueDefinition", enumType.getEnumValueDefinitions(), this::enumValue) + ")"
+                    + ".build()";
+        }
+        if (definition instanceof InputObjectTypeDefinition) {
+            InputObjectTypeDefinition inputType = (InputObjectTypeDefinition) definition;
+            return "InputObjectTypeDefinition.newInputObjectDefinition()"
+                    + typeDefinitionParts(inputType)
+                    + ".inputValueDefinitions("
+                    + list("InputValueDefinition", inputType.getInputValueDefinitions(), this::inputValue) + ")"
+                    + ".build()";
+        }
+        if (definition instanceof ScalarTypeDefinition) {
+            return "ScalarTypeDefinition.newScalarTypeDefinition()"
+                    + typeDefinitionParts((ScalarTypeDefinition) definition)
+                    + ".build()";
+        }
+        if (definition instanceof DirectiveDefinition) {
+            DirectiveDefinition directiveDefinition = (DirectiveDefinition) definition;
+            return "DirectiveDefinition.newDirectiveDefinition()"
+                    + ".name(" + literal(directiveDefinition.getName()) + ")"
+                    + description(directiveDefinition.getDescription())
+                    + comments(directiveDefinition)
+                    + ".inputValueDefinitions("
+                    + list("InputValueDefinition", directiveDefinition.getInputValueDefinitions(), this::inputValue)
+                    + ")"
+                    + ".directiveLocations(" + list("DirectiveLocation", directiveDefinition.getDirectiveLocations(),
+                            (DirectiveLocation location) -> "new DirectiveLocation("
+                                    + literal(location.getName()) + ")")
+                    + ")"
+                    + ".build()";
+        }
+        if (definition instanceof SchemaDefinition) {
+            SchemaDefinition schemaDefinition = (SchemaDefinition) definition;
+            return "SchemaDefinition.newSchemaDefinition()"
+                    + comments(schemaDefinition)
+                    + ".directives(" + list("Directive", schemaDefinition.getDirectives(), this::directive) + ")"
+                    + ".operationTypeDefinitions(" + list("OperationTypeDefinition",
+                            schemaDefinition.getOperationTypeDefinitions(), this::operationType) + ")"
+                    + ".build()";
+        }
+        throw new IllegalArgumentException("Unsupported definition in schema: "
+                + definition.getClass().getSimpleName());
+    }
+
+    private String typeDefinitionParts(TypeDefinition<?> typeDefinition) {
+        String description = "";
+        if (typeDefinition instanceof ObjectTypeDefinition) {
+            description = description(((ObjectTypeDefinition) typeDefinition).getDescription());
+        } else if (typeDefinition instanceof InterfaceTypeDefinition) {
+            description = description(((InterfaceTypeDefinition) typeDefinition).getDescription());
+        } else if (typeDefinition instanceof UnionTypeDefinition) {
+            description = description(((UnionTypeDefinition) typeDefinition).getDescription());
+        } else if (typeDefinition instanceof EnumTypeDefinition) {
+            description = description(((EnumTypeDefinition) typeDefinition).getDescription());
+        } else if (typeDefinition instanceof InputObjectTypeDefinition) {
+            description = description(((InputObjectTypeDefinition) typeDefinition).getDescription());
+        } else if (typeDefinition instanceof ScalarTypeDefinition) {
+            description = description(((ScalarTypeDefinition) typeDefinition).getDescription());
+        }
+        return ".name(" + literal(typeDefinition.getName()) + ")"
+                + description
+                + comments(typeDefinition)
+                + ".directives(" + list("Directive", typeDefinition.getDirectives(), this::directive) + ")";
+    }
+
+    private String field(FieldDefinition field) {
+        return "FieldDefinition.newFieldDefinition()"
+                + ".name(" + literal(field.getName()) + ")"
+                + description(field.getDescription())
+                + comments(field)
+                + ".type(" + type(field.getType()) + ")"
+                + ".inputValueDefinitions("
+                + list("InputValueDefinition", field.getInputValueDefinitions(), this::inputValue) + ")"
+                + ".directives(" + list("Directive", field.getDirectives(), this::directive) + ")"
+                + ".build()";
+    }
+
+    private String inputValue(InputValueDefinition inputValue) {
+        return "InputValueDefinition.newInputValueDefinition()"
+                + ".name(" + literal(inputValue.getName()) + ")"
+                + description(inputValue.getDescription())
+                + comments(inputValue)
+                + ".type(" + type(inputValue.getType()) + ")"
+                + (inputValue.getDefaultValue() == null
+                        ? "" : ".defaultValue(" + value(inputValue.getDefaultValue()) + ")")
+                + ".directives(" + list("Directive", inputValue.getDirectives(), this::directive) + ")"
+                + ".build()";
+    }
+
+    private String enumValue(EnumValueDefinition enumValue) {
+        return "EnumValueDefinition.newEnumValueDefinition()"
+                + ".name(" + literal(enumValue.getName()) + ")"
+                + description(enumValue.getDescription())
+                + comments(enumValue)
+                + ".directives(" + list("Directive", enumValue.getDirectives(), this::directive) + ")"
+                + ".build()";
+    }
+
+    private String operationType(OperationTypeDefinition operationType) {
+        return "new OperationTypeDefinition(" + literal(operationType.getName()) + ", "
+                + type(operationType.getTypeName()) + ")";
+    }
+
+    private String directive(Directive directive) {
+        return "Directive.newDirective()"
+                + ".name(" + literal(directive.getName()) + ")"
+                + ".arguments(" + list("Argument", directive.getArguments(), argument ->
+                        "new Argument(" + literal(argument.getName()) + ", " + value(argument.getValue()) + ")") + ")"
+                + ".build()";
+    }
+
+    private String type(Type<?> type) {
+        if (type instanceof NonNullType) {
+            return "new NonNullType(" + type(((NonNullType) type).getType()) + ")";
+        }
+        if (type instanceof ListType) {
+            return "new ListType(" + type(((ListType) type).getType()) + ")";
+        }
+        return "new TypeName(" + literal(((TypeName) type).getName()) + ")";
+    }
+
+    private String value(Value<?> value) {
+        if (value instanceof StringValue) {
+            return "new StringValue(" + literal(((StringValue) value).getValue()) + ")";
+        }
+        if (value instanceof IntValue) {
+            return "new IntValue(new BigInteger(" + literal(((IntValue) value).getValue().toString()) + "))";
+        }
+        if (value instanceof FloatValue) {
+            return "new FloatValue(new BigDecimal(" + literal(((FloatValue) value).getValue().toString()) + "))";
+        }
+        if (value instanceof BooleanValue) {
+            return "new BooleanValue(" + ((BooleanValue) value).isValue() + ")";
+        }
+        if (value instanceof EnumValue) {
+            return "new EnumValue(" + literal(((EnumValue) value).getName()) + ")";
+        }
+        if (value instanceof NullValue) {
+            return "NullValue.newNullValue().build()";
+        }
+        if (value instanceof ArrayValue) {
+            return "new ArrayValue(" + list("Value", ((ArrayValue) value).getValues(), this::value) + ")";
+        }
+        if (value instanceof ObjectValue) {
+            return "new ObjectValue(" + list("ObjectField", ((ObjectValue) value).getObjectFields(),
+                    (ObjectField field) -> "new ObjectField(" + literal(field.getName()) + ", "
+                            + value(field.getValue()) + ")") + ")";
+        }
+        throw new IllegalArgumentException("Unsupported value in schema: " + value.getClass().getSimpleName());
+    }
+
+    private String description(Description description) {
+        if (description == null) {
+            return "";
+        }
+        return ".description(new Description(" + literal(description.getContent()) + ", null, "
+                + description.isMultiLine() + "))";
+    }
+
+    private String comments(Node<?> node) {
+        // Comments are kept as they are used as descriptions by default when the schema is generated.
+        List<Comment> comments = node.getComments();
+        if (comments == null || comments.isEmpty()) {
+            return "";
+        }
+        return ".comments(" + list("Comment", comments,
+                (Comment comment) -> "new Comment(" + literal(comment.getContent()) + ", null)") + ")";
+    }
+
+    private <T> String list(String elementType, List<T> elements, Function<T, String> generator) {
+        if (elements.size() <= CHUNK_SIZE) {
+            return listLiteral(elementType, elements, generator);
+        }
+        List<String> chunks = new ArrayList<>();
+        for (int from = 0; from < elements.size(); from += CHUNK_SIZE) {
+            List<T> chunk = elements.subList(from, Math.min(from + CHUNK_SIZE, elements.size()));
+            chunks.add(method("List<" + elementType + ">", listLiteral(elementType, chunk, generator)));
+        }
+        return simpleName + ".<" + elementType + ">concat(" + String.join(", ", chunks) + ")";
+    }
+
+    private <T> String listLiteral(String elementType, List<T> elements, Function<T, String> generator) {
+        StringBuilder list = new StringBuilder(simpleName).append(".<").append(elementType).append(">list(");
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0) {
+                list.append(", ");
+            }
+            list.append(generator.apply(elements.get(i)));
+        }
+        return list.append(')').toString();
+    }
+
+    private String method(String returnType, String expression) {
+        String name = "m" + methodCount++;
+        methods.append('\n')
+                .append(INDENT).append("private static ").append(returnType).append(' ').append(name).append("() {\n")
+                .append(INDENT).append(INDENT).append("return ").append(expression).append(";\n")
+                .append(INDENT).append("}\n");
+        return name + "()";
+    }
+
+    private static boolean isExtension(Definition<?> definition) {
+        return definition.getClass().getSimpleName().endsWith("ExtensionDefinition");
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
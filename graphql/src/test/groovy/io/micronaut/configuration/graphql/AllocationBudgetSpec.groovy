@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import graphql.GraphQL
+import graphql.schema.DataFetcher
+import graphql.schema.GraphQLSchema
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import graphql.schema.idl.TypeRuntimeWiring
+import groovy.transform.CompileStatic
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.env.Environment
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.MediaType
+import io.reactivex.Flowable
+import org.reactivestreams.Publisher
+import spock.lang.AutoCleanup
+import spock.lang.Requires
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.lang.management.ManagementFactory
+import java.nio.charset.StandardCharsets
+
+/**
+ * Verifies the number of bytes allocated per request on the hot path against the budgets in
+ * {@code allocation-budget.properties}.
+ *
+ * <p>Allocations are measured with the allocation counter of the current thread, which covers the complete
+ * request as the data fetchers of the test schema complete synchronously.</p>
+ *
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+@Requires({ AllocationBudgetSpec.threadAllocatedMemorySupported() })
+class AllocationBudgetSpec extends Specification {
+
+    static final int WARMUP_REQUESTS = 5000
+    static final int MEASURED_REQUESTS = 500
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run(["graphql.factory": false], Environment.TEST)
+
+    @Shared
+    GraphQLController controller
+
+    @Shared
+    Properties budgets = new Properties()
+
+    def setupSpec() {
+        context.registerSingleton(GraphQL, createGraphQL())
+        controller = context.getBean(GraphQLController)
+        AllocationBudgetSpec.getResourceAsStream("/allocation-budget.properties").withCloseable { budgets.load(it) }
+    }
+
+    @Unroll
+    void "test #request.budgetName request allocates within its budget"() {
+        given:
+        long budget = budgets.getProperty(request.budgetName) as long
+
+        when:
+        long allocated = measure(controller, request)
+
+        then:
+        assert allocated <= budget,
+                "Allocated ${allocated} bytes per ${request.budgetName} request, budget ${budget} bytes"
+
+        where:
+        request << CanonicalRequest.values()
+    }
+
+    static boolean threadAllocatedMemorySupported() {
+        def threadMXBean = ManagementFactory.threadMXBean
+        threadMXBean instanceof com.sun.management.ThreadMXBean &&
+                ((com.sun.management.ThreadMXBean) threadMXBean).threadAllocatedMemorySupported
+    }
+
+    @CompileStatic
+    private static long measure(GraphQLController controller, CanonicalRequest request) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.threadMXBean
+        threadMXBean.threadAllocatedMemoryEnabled = true
+        long threadId = Thread.currentThread().id
+        String expected = new String(execute(controller, request), StandardCharsets.UTF_8)
+        if (!expected.contains('"title":"To-do 9"') || expected.contains('"errors"')) {
+            throw new IllegalStateException("Unexpected response: ${expected}")
+        }
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            execute(controller, request)
+        }
+        long before = threadMXBean.getThreadAllocatedBytes(threadId)
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            execute(controller, request)
+        }
+        long after = threadMXBean.getThreadAllocatedBytes(threadId)
+        (long) ((after - before) / MEASURED_REQUESTS)
+    }
+
+    @CompileStatic
+    private static byte[] execute(GraphQLController controller, CanonicalRequest request) {
+        Flowable.fromPublisher(request.execute(controller)).blockingFirst().body()
+    }
+
+    private static GraphQL createGraphQL() {
+        List<Map<String, Object>> toDos = (0..9).collect {
+            [id: String.valueOf(it), title: "To-do ${it}".toString(), completed: false] as Map<String, Object>
+        }
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(TypeRuntimeWiring.newTypeWiring("Query").dataFetcher("toDos", { toDos } as DataFetcher))
+                .build()
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse("""
+            type Query {
+                toDos(limit: Int): [ToDo!]!
+            }
+            type ToDo {
+                id: ID!
+                title: String!
+                completed: Boolean!
+            }
+        """), runtimeWiring)
+        GraphQL.newGraphQL(schema).build()
+    }
+
+    /**
+     * The canonical requests, each with its own budget.
+     */
+    @CompileStatic
+    static enum CanonicalRequest {
+
+        GET("get") {
+            @Override
+            Publisher<HttpResponse<byte[]>> execute(GraphQLController controller) {
+                controller.handleGet(QUERY, null, VARIABLES, GET_REQUEST)
+            }
+        },
+
+        POST_JSON("post-json") {
+            @Override
+            Publisher<HttpResponse<byte[]>> execute(GraphQLController controller) {
+                controller.handlePost(new GraphQLRequestContent(JSON_BODY_BYTES), JSON_POST_REQUEST)
+            }
+        },
+
+        POST_GRAPHQL("post-graphql") {
+            @Override
+            Publisher<HttpResponse<byte[]>> execute(GraphQLController controller) {
+                controller.handlePost(new GraphQLRequestContent(QUERY_BYTES), GRAPHQL_POST_REQUEST)
+            }
+        }
+
+        public static final String QUERY = 'query ToDos($limit: Int) { toDos(limit: $limit) { id title completed } }'
+        public static final String VARIABLES = '{"limit":10}'
+        public static final String JSON_BODY = '{"query":"' + QUERY + '","variables":' + VARIABLES + '}'
+        public static final byte[] QUERY_BYTES = QUERY.getBytes(StandardCharsets.UTF_8)
+        public static final byte[] JSON_BODY_BYTES = JSON_BODY.getBytes(StandardCharsets.UTF_8)
+        public static final HttpRequest<?> GET_REQUEST = HttpRequest.GET("/graphql")
+        public static final HttpRequest<?> JSON_POST_REQUEST = HttpRequest.POST("/graphql", JSON_BODY)
+                .contentType(MediaType.APPLICATION_JSON_TYPE)
+        public static final HttpRequest<?> GRAPHQL_POST_REQUEST = HttpRequest.POST("/graphql", QUERY)
+                .contentType(MediaType.APPLICATION_GRAPHQL_TYPE)
+
+        final String budgetName
+
+        CanonicalRequest(String budgetName) {
+            this.budgetName = budgetName
+        }
+
+        abstract Publisher<HttpResponse<byte[]>> execute(GraphQLController controller)
+    }
+}
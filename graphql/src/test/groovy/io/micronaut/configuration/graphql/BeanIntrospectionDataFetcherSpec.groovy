@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import graphql.schema.DataFetchingEnvironment
+import graphql.schema.DataFetchingEnvironmentImpl
+import graphql.schema.FieldCoordinates
+import graphql.schema.GraphQLFieldDefinition
+import graphql.schema.GraphQLObjectType
+import graphql.schema.GraphQLSchema
+import io.micronaut.core.annotation.Introspected
+import spock.lang.Specification
+
+import static graphql.Scalars.GraphQLString
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class BeanIntrospectionDataFetcherSpec extends Specification {
+
+    void "test property read from introspected bean"() {
+        given:
+        BeanIntrospectionDataFetcher<String> dataFetcher = new BeanIntrospectionDataFetcher<>("title")
+
+        expect:
+        dataFetcher.get(environment(new IntrospectedToDo(title: "Write docs"))) == "Write docs"
+        dataFetcher.get(environment(new IntrospectedToDo(title: "Write tests"))) == "Write tests"
+    }
+
+    void "test property read falls back to reflection"() {
+        given:
+        BeanIntrospectionDataFetcher<String> dataFetcher = new BeanIntrospectionDataFetcher<>("title")
+
+        expect:
+        dataFetcher.get(environment(new PlainToDo(title: "Write docs"))) == "Write docs"
+        dataFetcher.get(environment([title: "Write tests"])) == "Write tests"
+        dataFetcher.get(environment(new IntrospectedToDo(title: "Write code"))) == "Write code"
+        dataFetcher.get(environment(null)) == null
+    }
+
+    void "test schema property data fetchers are replaced"() {
+        given:
+        GraphQLObjectType query = GraphQLObjectType.newObject()
+                .name("Query")
+                .field(GraphQLFieldDefinition.newFieldDefinition().name("title").type(GraphQLString))
+                .build()
+        GraphQLSchema schema = GraphQLSchema.newSchema().query(query).build()
+
+        when:
+        GraphQLSchema transformed = BeanIntrospectionWiringFactory.transform(schema)
+
+        then:
+        transformed.codeRegistry.getDataFetcher(FieldCoordinates.coordinates("Query", "title"),
+                query.getFieldDefinition("title")) instanceof BeanIntrospectionDataFetcher
+    }
+
+    private static DataFetchingEnvironment environment(Object source) {
+        DataFetchingEnvironmentImpl.newDataFetchingEnvironment().source(source).build()
+    }
+
+    @Introspected
+    static class IntrospectedToDo {
+        String title
+    }
+
+    static class PlainToDo {
+        String title
+    }
+}
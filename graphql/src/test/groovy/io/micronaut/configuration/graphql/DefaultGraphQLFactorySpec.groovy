@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import graphql.GraphQL
+import graphql.execution.AsyncExecutionStrategy
+import graphql.execution.AsyncSerialExecutionStrategy
+import graphql.execution.instrumentation.ChainedInstrumentation
+import graphql.execution.instrumentation.SimpleInstrumentation
+import graphql.execution.preparsed.NoOpPreparsedDocumentProvider
+import graphql.schema.GraphQLObjectType
+import graphql.schema.GraphQLSchema
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.DefaultApplicationContext
+import io.micronaut.context.env.Environment
+import io.micronaut.context.env.PropertySource
+import io.micronaut.core.order.Ordered
+import spock.lang.Specification
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class DefaultGraphQLFactorySpec extends Specification {
+
+    void "test graphql bean created from graphql schema bean"() {
+        given:
+        ApplicationContext context = createContext([:])
+        context.registerSingleton(GraphQLSchema, schema())
+
+        when:
+        GraphQL graphQL = context.getBean(GraphQL)
+
+        then:
+        graphQL.graphQLSchema.queryType.name == "Query"
+        graphQL.queryStrategy instanceof AsyncExecutionStrategy
+        graphQL.mutationStrategy instanceof AsyncSerialExecutionStrategy
+        context.containsBean(GraphQLController)
+
+        cleanup:
+        context.close()
+    }
+
+    void "test no graphql bean created without graphql schema bean"() {
+        given:
+        ApplicationContext context = createContext([:])
+
+        expect:
+        !context.containsBean(GraphQL)
+        !context.containsBean(GraphQLController)
+
+        cleanup:
+        context.close()
+    }
+
+    void "test configured execution strategies"() {
+        given:
+        ApplicationContext context = createContext([
+                "graphql.execution.query-strategy"   : "async-serial",
+                "graphql.execution.mutation-strategy": "async"
+        ])
+        context.registerSingleton(GraphQLSchema, schema())
+
+        when:
+        GraphQL graphQL = context.getBean(GraphQL)
+
+        then:
+        graphQL.queryStrategy instanceof AsyncSerialExecutionStrategy
+        graphQL.mutationStrategy instanceof AsyncExecutionStrategy
+
+        cleanup:
+        context.close()
+    }
+
+    void "test instrumentation and preparsed document provider beans are composed"() {
+        given:
+        ApplicationContext context = createContext([:])
+        context.registerSingleton(GraphQLSchema, schema())
+        // Of distinct classes, as singletons registered with the same type replace each other.
+        context.registerSingleton(new SecondInstrumentation())
+        context.registerSingleton(new FirstInstrumentation())
+        context.registerSingleton(NoOpPreparsedDocumentProvider.INSTANCE)
+
+        when:
+        GraphQL graphQL = context.getBean(GraphQL)
+
+        then:
+        graphQL.instrumentation instanceof ChainedInstrumentation
+        ((ChainedInstrumentation) graphQL.instrumentation).instrumentations
+                .findAll { it instanceof OrderedInstrumentation }
+                .collect { ((OrderedInstrumentation) it).order } == [1, 2]
+        ((ChainedInstrumentation) graphQL.instrumentation).instrumentations
+                .any { it instanceof ReactiveDataFetcherResultInstrumentation }
+        graphQL.preparsedDocumentProvider.is(NoOpPreparsedDocumentProvider.INSTANCE)
+
+        cleanup:
+        context.close()
+    }
+
+    void "test bean introspection data fetchers can be disabled"() {
+        given:
+        ApplicationContext context = createContext(["graphql.execution.bean-introspection-data-fetchers": false])
+        context.registerSingleton(GraphQLSchema, schema())
+
+        when:
+        GraphQL graphQL = context.getBean(GraphQL)
+
+        then:
+        graphQL.graphQLSchema.is(context.getBean(GraphQLSchema))
+
+        cleanup:
+        context.close()
+    }
+
+    void "test reactive data fetcher results can be disabled"() {
+        given:
+        ApplicationContext context = createContext(["graphql.execution.reactive-data-fetcher-results": false])
+        context.registerSingleton(GraphQLSchema, schema())
+
+        when:
+        GraphQL graphQL = context.getBean(GraphQL)
+
+        then:
+        !(graphQL.instrumentation instanceof ReactiveDataFetcherResultInstrumentation)
+        !(graphQL.instrumentation instanceof ChainedInstrumentation && graphQL.instrumentation.instrumentations
+                .any { it instanceof ReactiveDataFetcherResultInstrumentation })
+
+        cleanup:
+        context.close()
+    }
+
+    private static ApplicationContext createContext(Map<String, Object> properties) {
+        ApplicationContext context = new DefaultApplicationContext(Environment.TEST)
+        context.environment.addPropertySource(PropertySource.of(["graphql.factory": false] + properties))
+        context.start()
+        context
+    }
+
+    private static GraphQLSchema schema() {
+        GraphQLObjectType query = new GraphQLObjectType.Builder().name("Query").build()
+        new GraphQLSchema(query)
+    }
+
+    static class OrderedInstrumentation extends SimpleInstrumentation implements Ordered {
+
+        final int order
+
+        OrderedInstrumentation(int order) {
+            this.order = order
+        }
+    }
+
+    static class FirstInstrumentation extends OrderedInstrumentation {
+
+        FirstInstrumentation() {
+            super(1)
+        }
+    }
+
+    static class SecondInstrumentation extends OrderedInstrumentation {
+
+        SecondInstrumentation() {
+            super(2)
+        }
+    }
+}
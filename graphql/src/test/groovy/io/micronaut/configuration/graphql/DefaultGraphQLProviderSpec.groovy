@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.schema.GraphQLSchema
+import graphql.schema.StaticDataFetcher
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.DefaultApplicationContext
+import io.micronaut.context.env.Environment
+import io.micronaut.context.env.PropertySource
+import io.micronaut.http.HttpRequest
+import io.reactivex.Flowable
+import spock.lang.Specification
+
+import java.util.concurrent.Executors
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class DefaultGraphQLProviderSpec extends Specification {
+
+    static final String ENTITY_SDL = '''
+        directive @key(fields: String!) on OBJECT
+        type Query { hello: String }
+        type Product @key(fields: "upc") { upc: String! }
+    '''
+
+    void "test swapped in schema is used by the invocation"() {
+        given:
+        ApplicationContext context = createContext()
+        context.registerSingleton(GraphQLSchema, schema("type Query { hello: String }", [hello: "Hello"]))
+        GraphQLInvocation invocation = context.getBean(GraphQLInvocation)
+        DefaultGraphQLProvider provider = context.getBean(DefaultGraphQLProvider)
+        GraphQL initial = provider.graphQL
+
+        expect:
+        invoke(invocation, "{ hello }").data == [hello: "Hello"]
+
+        when:
+        GraphQL swapped = provider.swap(schema("type Query { hello: String greeting: String }",
+                [hello: "Hi", greeting: "Welcome"]))
+
+        then:
+        provider.graphQL.is(swapped)
+        invoke(invocation, "{ hello greeting }").data == [hello: "Hi", greeting: "Welcome"]
+        // Requests holding on to the previous instance complete against the previous schema.
+        initial.execute("{ hello }").data == [hello: "Hello"]
+
+        cleanup:
+        context.close()
+    }
+
+    void "test document cache is warmed up with the most used queries"() {
+        given:
+        ApplicationContext context = createContext(["graphql.document-cache.warm-up-size": 2])
+        context.registerSingleton(GraphQLSchema, schema("type Query { hello: String name: String }",
+                [hello: "Hello", name: "Micronaut"]))
+        DefaultGraphQLProvider provider = context.getBean(DefaultGraphQLProvider)
+        GraphQL graphQL = provider.graphQL
+        3.times { graphQL.execute("{ hello }") }
+        2.times { graphQL.execute("{ name }") }
+        graphQL.execute("{ hello name }")
+
+        when:
+        GraphQL swapped = provider.swap(schema("type Query { hello: String }", [hello: "Hi"]))
+        CachingPreparsedDocumentProvider documents = provider.preparsedDocumentProvider
+
+        then:
+        documents.size() == 2
+        documents.getHotQueries(2) == ["{ hello }", "{ name }"]
+
+        when:
+        ExecutionResult result = swapped.execute("{ name }")
+
+        then: "the warmed up documents are validated against the new schema"
+        result.errors*.message.any { it.contains("name") }
+        swapped.execute("{ hello }").data == [hello: "Hi"]
+
+        cleanup:
+        context.close()
+    }
+
+    void "test schema swapped in asynchronously"() {
+        given:
+        ApplicationContext context = createContext()
+        context.registerSingleton(GraphQLSchema, schema("type Query { hello: String }", [hello: "Hello"]))
+        DefaultGraphQLProvider provider = context.getBean(DefaultGraphQLProvider)
+        def executor = Executors.newSingleThreadExecutor()
+
+        when:
+        GraphQL swapped = provider.swapAsync({ schema("type Query { hello: String }", [hello: "Hi"]) }, executor).get()
+
+        then:
+        provider.graphQL.is(swapped)
+        swapped.execute("{ hello }").data == [hello: "Hi"]
+
+        when:
+        provider.swapAsync({ throw new IllegalStateException("Invalid schema") }, executor).get()
+
+        then:
+        thrown(Exception)
+        provider.graphQL.is(swapped)
+
+        cleanup:
+        executor.shutdown()
+        context.close()
+    }
+
+    void "test swapped in schema is federated when enabled"() {
+        given:
+        ApplicationContext context = createContext(["graphql.federation.enabled": true])
+        context.registerSingleton(GraphQLSchema, schema(ENTITY_SDL, [hello: "Hello"]))
+        DefaultGraphQLProvider provider = context.getBean(DefaultGraphQLProvider)
+
+        expect:
+        provider.graphQL.execute("{ _service { sdl } }").data._service.sdl.contains("hello")
+
+        when:
+        GraphQL swapped = provider.swap(schema(ENTITY_SDL.replace("hello: String", "hello: String greeting: String"),
+                [hello: "Hi", greeting: "Welcome"]))
+        ExecutionResult result = swapped.execute("{ _service { sdl } greeting }")
+
+        then:
+        result.errors.empty
+        result.data._service.sdl.contains("greeting")
+        result.data.greeting == "Welcome"
+        provider.graphQLSchema.queryType.getFieldDefinition("_entities") != null
+
+        cleanup:
+        context.close()
+    }
+
+    private static ExecutionResult invoke(GraphQLInvocation invocation, String query) {
+        Flowable.fromPublisher(invocation.invoke(new GraphQLInvocationData(query, null, null),
+                HttpRequest.POST("/graphql", ""))).blockingFirst()
+    }
+
+    private static ApplicationContext createContext(Map<String, Object> properties = [:]) {
+        ApplicationContext context = new DefaultApplicationContext(Environment.TEST)
+        context.environment.addPropertySource(PropertySource.of(
+                ["graphql.factory": false, "graphql.document-cache.enabled": true] + properties))
+        context.start()
+        context
+    }
+
+    private static GraphQLSchema schema(String sdl, Map<String, String> values) {
+        RuntimeWiring.Builder runtimeWiring = RuntimeWiring.newRuntimeWiring()
+        runtimeWiring.type("Query") { typeWiring ->
+            values.each { field, value -> typeWiring.dataFetcher(field, new StaticDataFetcher(value)) }
+            typeWiring
+        }
+        new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(sdl), runtimeWiring.build())
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import graphql.ExecutionResultImpl
+import graphql.GraphqlErrorBuilder
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.env.Environment
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.StandardCharsets
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class DslJsonGraphQLJsonSerializerSpec extends Specification {
+
+    @Shared
+    ObjectMapper objectMapper = new ObjectMapper()
+
+    @Shared
+    DslJsonGraphQLJsonSerializer serializer = new DslJsonGraphQLJsonSerializer()
+
+    @Shared
+    JacksonGraphQLJsonSerializer jacksonSerializer = new JacksonGraphQLJsonSerializer(objectMapper)
+
+    void "test the dsl-json codec is selected by configuration"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                ["graphql.json.codec": "dsl-json"], Environment.TEST)
+
+        expect:
+        context.getBean(GraphQLJsonSerializer) instanceof DslJsonGraphQLJsonSerializer
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the jackson codec is selected by default"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(Environment.TEST)
+
+        expect:
+        context.getBean(GraphQLJsonSerializer) instanceof JacksonGraphQLJsonSerializer
+
+        cleanup:
+        context.close()
+    }
+
+    void "test deserialize request body"() {
+        given:
+        String json = '''{
+            "query": "query ToDos($filter: Filter) { toDos(filter: $filter) { title } }",
+            "operationName": "ToDos",
+            "extensions": {"persistedQuery": {"version": 1}},
+            "variables": {"filter": {"title": "Ünïcödé \\"quoted\\"", "tags": ["a", "b"], "completed": null}}
+        }'''
+
+        when:
+        GraphQLRequestBody body = serializer.deserialize(json.getBytes(StandardCharsets.UTF_8), GraphQLRequestBody)
+
+        then:
+        body.query == 'query ToDos($filter: Filter) { toDos(filter: $filter) { title } }'
+        body.operationName == "ToDos"
+        body.variables == [filter: [title: 'Ünïcödé "quoted"', tags: ["a", "b"], completed: null]]
+    }
+
+    void "test deserialize request body with null and missing values"() {
+        when:
+        GraphQLRequestBody body = serializer.deserialize('{"query":"{ foo }","variables":null}', GraphQLRequestBody)
+
+        then:
+        body.query == "{ foo }"
+        body.operationName == null
+        body.variables == null
+
+        when:
+        body = serializer.deserialize('{}', GraphQLRequestBody)
+
+        then:
+        body.query == null
+    }
+
+    void "test deserialize invalid request body"() {
+        when:
+        serializer.deserialize('{"query": }', GraphQLRequestBody)
+
+        then:
+        RuntimeException e = thrown()
+        e.message.startsWith("Error deserializing object from JSON")
+    }
+
+    void "test deserialize variables"() {
+        expect:
+        serializer.deserialize('{"variable": "variableValue", "limit": 10}', Map) ==
+                [variable: "variableValue", limit: 10L]
+    }
+
+    @Unroll
+    void "test serialize #description like the jackson codec"() {
+        expect:
+        objectMapper.readValue(serializer.serializeToBytes(responseBody), Map) ==
+                objectMapper.readValue(jacksonSerializer.serializeToBytes(responseBody), Map)
+        serializer.serialize(responseBody) ==
+                new String(serializer.serializeToBytes(responseBody), StandardCharsets.UTF_8)
+
+        where:
+        description           | responseBody
+        "data"                | new GraphQLResponseBody(ExecutionResultImpl.newExecutionResult()
+                .data([toDos: [[id: "1", title: "Ünïcödé \"quoted\"\n", completed: true, weight: 1.5d, position: 1,
+                                count: 2L, price: 9.99G, owner: null]]])
+                .build())
+        "errors"              | new GraphQLResponseBody(ExecutionResultImpl.newExecutionResult()
+                .addError(GraphqlErrorBuilder.newError().message("Something went wrong").build())
+                .build())
+        "data and extensions" | new GraphQLResponseBody(ExecutionResultImpl.newExecutionResult()
+                .data(null)
+                .addExtension("tracing", [duration: 10])
+                .build())
+        "specification map"   | new GraphQLResponseBody([data: [foo: "bar"]])
+    }
+}
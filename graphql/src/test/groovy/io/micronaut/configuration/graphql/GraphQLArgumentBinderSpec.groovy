@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import graphql.schema.DataFetchingEnvironmentImpl
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.env.Environment
+import io.micronaut.core.annotation.Introspected
+import io.micronaut.core.type.Argument
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class GraphQLArgumentBinderSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run(["graphql.factory": false], Environment.TEST)
+
+    @Shared
+    GraphQLArgumentBinder binder = context.getBean(GraphQLArgumentBinder)
+
+    void "test bind nested input objects"() {
+        given:
+        Map<String, Object> input = [
+                title   : "Release",
+                priority: "HIGH",
+                tags    : [[name: "work"], [name: "urgent"]],
+                owner   : [name: "marcel"]
+        ]
+
+        when:
+        ToDoInput toDo = binder.bind(input, Argument.of(ToDoInput))
+
+        then:
+        toDo.title == "Release"
+        toDo.priority == Priority.HIGH
+        toDo.tags*.name == ["work", "urgent"]
+        toDo.owner.name == "marcel"
+    }
+
+    void "test bind argument from data fetching environment"() {
+        given:
+        def environment = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                .arguments([tags: [[name: "work"]], limit: 10])
+                .build()
+
+        expect:
+        binder.getArgument(environment, "tags", Argument.of(List, TagInput))*.name == ["work"]
+        binder.getArgument(environment, "limit", Long) == 10L
+        binder.getArgument(environment, "missing", TagInput) == null
+    }
+
+    void "test bind fails for unconvertible values"() {
+        when:
+        binder.bind("UNKNOWN", Argument.of(Priority))
+
+        then:
+        thrown(RuntimeException)
+    }
+
+    @Introspected
+    static class ToDoInput {
+        String title
+        Priority priority
+        List<TagInput> tags
+        TagInput owner
+    }
+
+    @Introspected
+    static class TagInput {
+        String name
+    }
+
+    static enum Priority {
+        LOW, HIGH
+    }
+}
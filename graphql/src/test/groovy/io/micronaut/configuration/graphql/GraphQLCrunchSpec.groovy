@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import graphql.ExecutionResultImpl
+import graphql.GraphQL
+import graphql.GraphqlErrorBuilder
+import graphql.schema.GraphQLSchema
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Bean
+import io.micronaut.context.annotation.Factory
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.env.Environment
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MutableHttpRequest
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.inject.Singleton
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class GraphQLCrunchSpec extends Specification {
+
+    static final String QUERY = '{ books { title author { name } tags } }'
+
+    static final List<Map<String, Object>> BOOKS = [
+            [title: "Book 1", author: [name: "Author"], tags: ["a", "b"]],
+            [title: "Book 2", author: [name: "Author"], tags: ["a", "b"]],
+            [title: "Book 3", author: [name: "Other"], tags: []]
+    ]
+
+    // Repeated so that the crunched response, which stores each distinct value once, is shorter than the plain one,
+    // and without empty tags, which the default object mapper leaves out of the plain response.
+    static final List<Map<String, Object>> SHELF = BOOKS.findAll { it.tags } * 10
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer,
+            ["spec.name": GraphQLCrunchSpec.simpleName, "graphql.factory": false],
+            Environment.TEST)
+
+    @Shared
+    @AutoCleanup
+    RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.URL)
+
+    void "test crunch stores identical values once"() {
+        expect:
+        GraphQLCrunch.crunch([a: [[x: 1], [x: 1]]]) == [1, [x: 0], [1, 1], [a: 2]]
+    }
+
+    void "test crunch distinguishes empty lists from empty objects"() {
+        expect:
+        GraphQLCrunch.crunch([a: [], b: [:], c: []]) == [[], [:], [a: 0, b: 1, c: 0]]
+    }
+
+    @Unroll
+    void "test uncrunch restores #value"() {
+        expect:
+        GraphQLCrunch.uncrunch(GraphQLCrunch.crunch(value)) == value
+
+        where:
+        value << [
+                [books: BOOKS],
+                [a: null, b: [null, 1, 1L, 1.5d, true, "1"]],
+                "scalar",
+                null
+        ]
+    }
+
+    void "test crunch response body keeps errors and extensions"() {
+        given:
+        GraphQLResponseBody responseBody = new GraphQLResponseBody(ExecutionResultImpl.newExecutionResult()
+                .data([books: BOOKS])
+                .addError(GraphqlErrorBuilder.newError().message("Partial").build())
+                .addExtension("cost", 1)
+                .build())
+
+        when:
+        Map<String, Object> specification = GraphQLCrunch.crunchResponseBody(responseBody).specification
+
+        then:
+        GraphQLCrunch.uncrunch(specification.data as List) == [books: BOOKS]
+        specification.errors*.message == ["Partial"]
+        specification.extensions == [cost: 1]
+    }
+
+    @Unroll
+    void "test crunched response requested by #description"() {
+        given:
+        ObjectMapper objectMapper = new ObjectMapper()
+        MutableHttpRequest<?> request = HttpRequest.POST(uri, [query: QUERY])
+        headers.each { name, value -> request.header(name, value) }
+
+        when:
+        String crunched = client.retrieve(request, String).blockingFirst()
+        String plain = client.retrieve(HttpRequest.POST("/graphql", [query: QUERY]), String).blockingFirst()
+
+        then:
+        crunched.length() < plain.length()
+        GraphQLCrunch.uncrunch(objectMapper.readValue(crunched, Map).data as List) ==
+                objectMapper.readValue(plain, Map).data
+
+        where:
+        description        | uri                   | headers
+        "query parameter"  | "/graphql?crunch=2"   | [:]
+        "header"           | "/graphql"            | [(GraphQLCrunch.HEADER): "true"]
+    }
+
+    @Factory
+    static class BooksGraphQLFactory {
+
+        @Bean
+        @Singleton
+        @Requires(property = "spec.name", value = "GraphQLCrunchSpec")
+        GraphQL graphQL() {
+            RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                    .type("Query", { it.dataFetcher("books", { SHELF }) })
+                    .build()
+            GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse("""
+                type Query {
+                    books: [Book!]!
+                }
+                type Book {
+                    title: String!
+                    author: Author!
+                    tags: [String!]!
+                }
+                type Author {
+                    name: String!
+                }
+            """), runtimeWiring)
+            GraphQL.newGraphQL(schema).build()
+        }
+    }
+}
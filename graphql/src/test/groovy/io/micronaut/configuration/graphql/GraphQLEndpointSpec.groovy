@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import graphql.GraphQL
+import graphql.schema.GraphQLSchema
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Bean
+import io.micronaut.context.annotation.Factory
+import io.micronaut.context.annotation.Primary
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.env.Environment
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.inject.Named
+import javax.inject.Singleton
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class GraphQLEndpointSpec extends Specification {
+
+    static final CountDownLatch RELEASE = new CountDownLatch(1)
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            "spec.name"                                         : GraphQLEndpointSpec.simpleName,
+            "graphql.factory"                                   : false,
+            "graphql.endpoints.internal.executor"               : "io",
+            "graphql.endpoints.internal.max-concurrent-requests": 1,
+            "graphql.endpoints.internal.document-cache-size"    : 10,
+            "graphql.endpoints.internal.tags.team"              : "analytics"
+    ], Environment.TEST)
+
+    @Shared
+    @AutoCleanup
+    RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.URL)
+
+    void "test endpoints are configured"() {
+        when:
+        GraphQLEndpoint endpoint = internalEndpoint()
+
+        then:
+        endpoint.configuration.name == "internal"
+        endpoint.configuration.tags == [team: "analytics"]
+        endpoint.graphQLProvider.graphQL.preparsedDocumentProvider instanceof CachingPreparsedDocumentProvider
+    }
+
+    void "test each endpoint executes its own schema"() {
+        expect:
+        retrieve("/graphql", "{ hello }") == '{"data":{"hello":"public"}}'
+        retrieve("/graphql/internal", "{ report }") == '{"data":{"report":"internal"}}'
+        retrieve("/graphql/internal?query=%7B+report+%7D", null) == '{"data":{"report":"internal"}}'
+    }
+
+    void "test unknown endpoint"() {
+        when:
+        retrieve("/graphql/unknown", "{ hello }")
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.NOT_FOUND
+    }
+
+    void "test requests above the concurrency limit are rejected"() {
+        given:
+        GraphQLEndpoint endpoint = internalEndpoint()
+        Flowable<String> slow = client.retrieve(HttpRequest.POST("/graphql/internal", [query: "{ slow }"]), String)
+                .cache()
+        slow.subscribe()
+
+        expect:
+        new PollingConditions(timeout: 5).eventually {
+            assert endpoint.activeRequests == 1
+        }
+
+        when:
+        retrieve("/graphql/internal", "{ report }")
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.SERVICE_UNAVAILABLE
+        endpoint.rejectedRequests == 1
+        // The public endpoint is not affected.
+        retrieve("/graphql", "{ hello }") == '{"data":{"hello":"public"}}'
+
+        when:
+        RELEASE.countDown()
+
+        then:
+        slow.blockingFirst() == '{"data":{"slow":"done"}}'
+        endpoint.activeRequests == 0
+    }
+
+    private GraphQLEndpoint internalEndpoint() {
+        embeddedServer.applicationContext.getBean(GraphQLEndpoint, Qualifiers.byName("internal"))
+    }
+
+    private String retrieve(String uri, String query) {
+        HttpRequest<?> request = query != null ? HttpRequest.POST(uri, [query: query]) : HttpRequest.GET(uri)
+        client.retrieve(request, String).blockingFirst()
+    }
+
+    @Factory
+    static class EndpointsGraphQLFactory {
+
+        @Bean
+        @Primary
+        @Singleton
+        @Requires(property = "spec.name", value = "GraphQLEndpointSpec")
+        GraphQL publicGraphQL() {
+            graphQL("type Query { hello: String }", RuntimeWiring.newRuntimeWiring()
+                    .type("Query", { it.dataFetcher("hello", { "public" }) })
+                    .build())
+        }
+
+        @Bean
+        @Named("internal")
+        @Singleton
+        @Requires(property = "spec.name", value = "GraphQLEndpointSpec")
+        GraphQL internalGraphQL() {
+            graphQL("type Query { report: String slow: String }", RuntimeWiring.newRuntimeWiring()
+                    .type("Query", {
+                        it.dataFetcher("report", { "internal" })
+                                .dataFetcher("slow", { RELEASE.await(10, TimeUnit.SECONDS) ? "done" : "timeout" })
+                    })
+                    .build())
+        }
+
+        private static GraphQL graphQL(String sdl, RuntimeWiring runtimeWiring) {
+            GraphQLSchema schema = new SchemaGenerator()
+                    .makeExecutableSchema(new SchemaParser().parse(sdl), runtimeWiring)
+            GraphQL.newGraphQL(schema).build()
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory
+import com.fasterxml.jackson.dataformat.smile.SmileFactory
+import graphql.GraphQL
+import graphql.schema.GraphQLSchema
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Bean
+import io.micronaut.context.annotation.Factory
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.env.Environment
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.MediaType
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.inject.Singleton
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class GraphQLMediaTypeSerializerSpec extends Specification {
+
+    static final String QUERY = '{ toDos { id title completed } }'
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer,
+            ["spec.name": GraphQLMediaTypeSerializerSpec.simpleName, "graphql.factory": false],
+            Environment.TEST)
+
+    @Shared
+    @AutoCleanup
+    RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.URL)
+
+    @Shared
+    ObjectMapper jsonMapper = new ObjectMapper()
+
+    @Unroll
+    void "test #mediaType request and response"() {
+        given:
+        byte[] body = objectMapper.writeValueAsBytes([query: QUERY])
+
+        when:
+        HttpResponse<byte[]> response = client.exchange(HttpRequest.POST("/graphql", body)
+                .contentType(mediaType)
+                .accept(mediaType), byte[]).blockingFirst()
+
+        then:
+        response.contentType.get() == mediaType
+        objectMapper.readValue(response.body(), Map) == [data: [toDos: [[id: "1", title: "Test", completed: true]]]]
+
+        where:
+        mediaType                                                  | objectMapper
+        new MediaType(GraphQLMediaTypeSerializer.APPLICATION_CBOR)  | new ObjectMapper(new CBORFactory())
+        new MediaType(GraphQLMediaTypeSerializer.APPLICATION_SMILE) | new ObjectMapper(new SmileFactory())
+    }
+
+    void "test json request with cbor response"() {
+        given:
+        MediaType cbor = new MediaType(GraphQLMediaTypeSerializer.APPLICATION_CBOR)
+
+        when:
+        HttpResponse<byte[]> response = client.exchange(HttpRequest.POST("/graphql", [query: QUERY])
+                .contentType(MediaType.APPLICATION_JSON_TYPE)
+                .accept(cbor), byte[]).blockingFirst()
+
+        then:
+        response.contentType.get() == cbor
+        new ObjectMapper(new CBORFactory()).readValue(response.body(), Map).data.toDos.size() == 1
+    }
+
+    @Unroll
+    void "test json response for accept #accept"() {
+        when:
+        HttpRequest<?> request = HttpRequest.GET("/graphql?query=" + URLEncoder.encode(QUERY, "UTF-8"))
+        if (accept) {
+            request.accept(accept)
+        }
+        HttpResponse<String> response = client.exchange(request, String).blockingFirst()
+
+        then:
+        response.contentType.get() == MediaType.APPLICATION_JSON_TYPE
+        jsonMapper.readValue(response.body(), Map).data.toDos.size() == 1
+
+        where:
+        accept << [null, MediaType.APPLICATION_JSON_TYPE, MediaType.ALL_TYPE]
+    }
+
+    @Unroll
+    void "test response media type for accept #accept"() {
+        when:
+        HttpRequest<?> request = HttpRequest.GET("/graphql?query=" + URLEncoder.encode(QUERY, "UTF-8"))
+                .header(HttpHeaders.ACCEPT, accept)
+        // The body is not decoded, as the JSON codec of the client does not read JSON as bytes.
+        HttpResponse<?> response = client.exchange(request).blockingFirst()
+
+        then:
+        response.contentType.get().name == contentType
+
+        where:
+        accept                                                   | contentType
+        "application/cbor;q=0.1, application/json"               | MediaType.APPLICATION_JSON
+        "application/json;q=0.5, application/cbor"               | GraphQLMediaTypeSerializer.APPLICATION_CBOR
+        "application/smile;q=0.8, application/cbor;q=0.9"        | GraphQLMediaTypeSerializer.APPLICATION_CBOR
+        "application/cbor;q=0.5, application/smile;q=0.5"        | GraphQLMediaTypeSerializer.APPLICATION_CBOR
+        "application/cbor;q=0, application/smile;q=0"            | MediaType.APPLICATION_JSON
+    }
+
+    @Factory
+    static class ToDoGraphQLFactory {
+
+        @Bean
+        @Singleton
+        @Requires(property = "spec.name", value = "GraphQLMediaTypeSerializerSpec")
+        GraphQL graphQL() {
+            RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                    .type("Query", { it.dataFetcher("toDos", { [[id: "1", title: "Test", completed: true]] }) })
+                    .build()
+            GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse("""
+                type Query {
+                    toDos: [ToDo!]!
+                }
+                type ToDo {
+                    id: ID!
+                    title: String!
+                    completed: Boolean!
+                }
+            """), runtimeWiring)
+            GraphQL.newGraphQL(schema).build()
+        }
+    }
+}
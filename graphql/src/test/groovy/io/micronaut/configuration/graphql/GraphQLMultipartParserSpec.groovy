@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import io.micronaut.http.exceptions.HttpStatusException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class GraphQLMultipartParserSpec extends Specification {
+
+    static final String BODY = "preamble\r\n" +
+            "--xyz\r\n" +
+            "Content-Disposition: form-data; name=\"operations\"\r\n" +
+            "\r\n" +
+            "{}\r\n" +
+            "--xyz  \r\n" +
+            "content-disposition: form-data; name=\"0\"; filename=\"a;b.txt\"\r\n" +
+            "Content-Type: text/plain\r\n" +
+            "\r\n" +
+            "line 1\r\n--xy line 2\r\n" +
+            "--xyz--\r\n" +
+            "epilogue"
+
+    @Unroll
+    void "test parse a body in chunks of #chunkSize bytes"() {
+        given:
+        List<String> events = []
+        GraphQLMultipartParser parser = new GraphQLMultipartParser("xyz", handler(events))
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8)
+
+        when:
+        for (int i = 0; i < body.length; i += chunkSize) {
+            parser.parse(ByteBuffer.wrap(Arrays.copyOfRange(body, i, Math.min(body.length, i + chunkSize))))
+        }
+        parser.finish()
+
+        then:
+        events.join() == "part(operations, null, null){}end" +
+                "part(0, a;b.txt, text/plain)line 1\r\n--xy line 2end"
+
+        where:
+        chunkSize << [1, 2, 7, 64, 1024]
+    }
+
+    void "test parse an incomplete body"() {
+        given:
+        GraphQLMultipartParser parser = new GraphQLMultipartParser("xyz", handler([]))
+        parser.parse(ByteBuffer.wrap("--xyz\r\nContent-Disposition: form-data; name=\"map\"\r\n\r\n{".bytes))
+
+        when:
+        parser.finish()
+
+        then:
+        HttpStatusException e = thrown()
+        e.status == HttpStatus.UNPROCESSABLE_ENTITY
+    }
+
+    void "test parse too large headers"() {
+        given:
+        GraphQLMultipartParser parser = new GraphQLMultipartParser("xyz", handler([]))
+
+        when:
+        parser.parse(ByteBuffer.wrap(("--xyz\r\nX-Padding: " + "x" * GraphQLMultipartParser.MAX_HEADERS_SIZE).bytes))
+
+        then:
+        HttpStatusException e = thrown()
+        e.status == HttpStatus.REQUEST_ENTITY_TOO_LARGE
+    }
+
+    private static GraphQLMultipartParser.PartHandler handler(List<String> events) {
+        new GraphQLMultipartParser.PartHandler() {
+
+            @Override
+            void part(String name, String filename, MediaType contentType) {
+                events << "part(${name}, ${filename}, ${contentType?.name})".toString()
+            }
+
+            @Override
+            void data(ByteBuffer chunk) {
+                byte[] bytes = new byte[chunk.remaining()]
+                chunk.get(bytes)
+                events << new String(bytes, StandardCharsets.UTF_8)
+            }
+
+            @Override
+            void partEnd() {
+                events << "end"
+            }
+        }
+    }
+}
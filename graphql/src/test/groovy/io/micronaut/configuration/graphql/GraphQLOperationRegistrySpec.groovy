@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.schema.DataFetchingEnvironment
+import graphql.schema.FieldCoordinates
+import graphql.schema.GraphQLSchema
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import io.micronaut.configuration.graphql.annotation.GraphQLArgument
+import io.micronaut.configuration.graphql.annotation.GraphQLMutation
+import io.micronaut.configuration.graphql.annotation.GraphQLQuery
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.env.Environment
+import io.micronaut.core.annotation.Introspected
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class GraphQLOperationRegistrySpec extends Specification {
+
+    static final String SDL = """
+        type Query {
+            hello(name: String): String
+            echoField: String
+        }
+        type Mutation {
+            rename(input: RenameInput!): String
+        }
+        input RenameInput {
+            from: String!
+            to: String!
+        }
+    """
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run(
+            ["spec.name": GraphQLOperationRegistrySpec.simpleName, "graphql.factory": false],
+            Environment.TEST)
+
+    void "test annotated methods are registered"() {
+        when:
+        GraphQLOperationRegistry registry = context.getBean(GraphQLOperationRegistry)
+
+        then:
+        registry.dataFetchers.keySet() == [
+                FieldCoordinates.coordinates("Query", "hello"),
+                FieldCoordinates.coordinates("Query", "echoField"),
+                FieldCoordinates.coordinates("Mutation", "rename")
+        ] as Set
+    }
+
+    void "test annotated methods are found by a registry created before startup processing"() {
+        when:
+        GraphQLOperationRegistry registry = new GraphQLOperationRegistry(context, context.getBean(GraphQLArgumentBinder))
+
+        then:
+        registry.dataFetchers.size() == 3
+        registry.dataFetchers.containsKey(FieldCoordinates.coordinates("Query", "hello"))
+    }
+
+    void "test annotated methods are invoked as data fetchers"() {
+        given:
+        GraphQLOperationRegistry registry = context.getBean(GraphQLOperationRegistry)
+        RuntimeWiring runtimeWiring = registry.wire(RuntimeWiring.newRuntimeWiring()).build()
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), runtimeWiring)
+        GraphQL graphQL = GraphQL.newGraphQL(schema).build()
+
+        when:
+        ExecutionResult result = graphQL.execute('{ hello(name: "Micronaut") echoField }')
+
+        then:
+        result.errors.empty
+        result.data == [hello: "Hello Micronaut!", echoField: "echoField"]
+
+        when:
+        result = graphQL.execute('mutation { rename(input: { from: "a", to: "b" }) }')
+
+        then:
+        result.errors.empty
+        result.data == [rename: "a -> b"]
+    }
+
+    @Singleton
+    @Requires(property = "spec.name", value = "GraphQLOperationRegistrySpec")
+    static class HelloResolver {
+
+        @GraphQLQuery
+        String hello(@GraphQLArgument("name") String name) {
+            "Hello ${name}!"
+        }
+
+        @GraphQLQuery("echoField")
+        String echo(DataFetchingEnvironment environment) {
+            environment.fieldDefinition.name
+        }
+
+        @GraphQLMutation
+        String rename(RenameInput input) {
+            "${input.from} -> ${input.to}"
+        }
+    }
+
+    @Introspected
+    static class RenameInput {
+        String from
+        String to
+    }
+}
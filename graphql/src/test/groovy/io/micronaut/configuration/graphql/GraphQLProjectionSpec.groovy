@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import spock.lang.Specification
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class GraphQLProjectionSpec extends Specification {
+
+    static final String SDL = """
+        type Query {
+            authors: [Author!]!
+        }
+        type Author {
+            id: ID!
+            name: String!
+            biography: String
+            books(first: Int): [Book!]!
+        }
+        type Book {
+            title: String!
+            year: Int
+        }
+    """
+
+    GraphQLProjection projection
+
+    GraphQL graphQL = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL),
+            RuntimeWiring.newRuntimeWiring()
+                    .type("Query", { it.dataFetcher("authors", { environment ->
+                        projection = GraphQLProjection.of(environment)
+                        []
+                    }) })
+                    .build()))
+            .build()
+
+    void "test projection of selected fields and relations"() {
+        when:
+        ExecutionResult result = graphQL.execute('{ authors { __typename name books(first: 2) { title } } }')
+
+        then:
+        result.errors.empty
+        projection.fields == ["name"] as Set
+        projection.relations.keySet() == ["books"] as Set
+        projection.getRelation("books").get().fields == ["title"] as Set
+        projection.getArguments("books") == [first: 2]
+        projection.contains("books")
+        !projection.contains("biography")
+        !projection.getRelation("author").present
+    }
+
+    void "test projection of fields selected through fragments and aliases"() {
+        when:
+        ExecutionResult result = graphQL.execute('''
+            { authors { ...author fullName: name } }
+            fragment author on Author { id name }
+        ''')
+
+        then:
+        result.errors.empty
+        projection.fields == ["id", "name"] as Set
+        projection.relations.isEmpty()
+        projection.getArguments("name").isEmpty()
+    }
+
+    void "test projections of a relation selected with aliases are merged"() {
+        when:
+        ExecutionResult result = graphQL.execute('''
+            { authors { recent: books(first: 1) { title } all: books { year } } }
+        ''')
+
+        then:
+        result.errors.empty
+        projection.relations.keySet() == ["books"] as Set
+        projection.getRelation("books").get().fields == ["title", "year"] as Set
+    }
+}
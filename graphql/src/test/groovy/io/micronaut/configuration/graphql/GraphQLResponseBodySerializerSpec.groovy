@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import graphql.ExecutionResult
+import graphql.ExecutionResultImpl
+import graphql.GraphqlErrorBuilder
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class GraphQLResponseBodySerializerSpec extends Specification {
+
+    ObjectMapper objectMapper = new ObjectMapper()
+    JacksonGraphQLJsonSerializer serializer = new JacksonGraphQLJsonSerializer(objectMapper)
+
+    @Unroll
+    void "test execution result is written as its specification"() {
+        when:
+        String json = serializer.serialize(new GraphQLResponseBody(executionResult))
+
+        then:
+        json == objectMapper.writeValueAsString(executionResult.toSpecification())
+
+        where:
+        executionResult << [
+                ExecutionResultImpl.newExecutionResult()
+                        .data([toDos: [[id: "1", title: "Write tests", tags: null]]])
+                        .build(),
+                ExecutionResultImpl.newExecutionResult()
+                        .data(null)
+                        .addError(GraphqlErrorBuilder.newError().message("Failed").path(["toDos"]).build())
+                        .build(),
+                ExecutionResultImpl.newExecutionResult()
+                        .addError(GraphqlErrorBuilder.newError().message("Invalid query").build())
+                        .build(),
+                ExecutionResultImpl.newExecutionResult()
+                        .data([hello: "world"])
+                        .extensions([tracing: [version: 1]])
+                        .build()
+        ]
+    }
+
+    void "test specification map is still written as is"() {
+        expect:
+        serializer.serialize(new GraphQLResponseBody([data: [hello: "world"]])) == '{"data":{"hello":"world"}}'
+    }
+
+    void "test application object mapper is not modified"() {
+        given:
+        ExecutionResult executionResult = ExecutionResultImpl.newExecutionResult().data([hello: "world"]).build()
+
+        expect:
+        objectMapper.writeValueAsString(new GraphQLResponseBody(executionResult)) == '{"data":{"hello":"world"}}'
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import graphql.GraphQL
+import graphql.schema.GraphQLSchema
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Bean
+import io.micronaut.context.annotation.Factory
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.env.Environment
+import io.micronaut.http.HttpRequest
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.inject.Singleton
+import java.nio.charset.StandardCharsets
+import java.util.zip.GZIPInputStream
+import java.util.zip.InflaterInputStream
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class GraphQLResponseCompressorSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            "spec.name"                    : GraphQLResponseCompressorSpec.simpleName,
+            "graphql.factory"              : false,
+            "graphql.compression.enabled"  : true,
+            "graphql.compression.threshold": 100,
+            "graphql.graphiql.enabled"     : true
+    ], Environment.TEST)
+
+    @Shared
+    GraphQLResponseCompressor compressor = embeddedServer.applicationContext.getBean(GraphQLResponseCompressor)
+
+    @Unroll
+    void "test select encoding for accept encoding '#acceptEncoding'"() {
+        given:
+        HttpRequest<?> request = HttpRequest.GET("/graphql")
+        if (acceptEncoding) {
+            request.header("Accept-Encoding", acceptEncoding)
+        }
+
+        expect:
+        compressor.selectEncoding(request) == encoding
+
+        where:
+        acceptEncoding           | encoding
+        null                     | null
+        "identity"               | null
+        "gzip"                   | "gzip"
+        "deflate, gzip;q=0.5"    | "gzip"
+        "deflate"                | "deflate"
+        "br, deflate;q=1"        | "deflate"
+        "gzip;q=0, deflate"      | "deflate"
+        "GZIP"                   | "gzip"
+    }
+
+    void "test no encoding is selected when compression is disabled"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(["graphql.factory": false], Environment.TEST)
+
+        expect:
+        context.getBean(GraphQLResponseCompressor).selectEncoding(
+                HttpRequest.GET("/graphql").header("Accept-Encoding", "gzip")) == null
+
+        cleanup:
+        context.close()
+    }
+
+    @Unroll
+    void "test stream compresses #encoding above the threshold only"() {
+        given:
+        byte[] small = ("x" * 100).getBytes(StandardCharsets.UTF_8)
+        byte[] large = ("x" * 101).getBytes(StandardCharsets.UTF_8)
+
+        when:
+        CompressingOutputStream smallOut = new CompressingOutputStream(encoding, 100, 6)
+        smallOut.withCloseable { it.write(small) }
+        CompressingOutputStream largeOut = new CompressingOutputStream(encoding, 100, 6)
+        largeOut.withCloseable { out -> large.each { out.write(it) } }
+
+        then:
+        !smallOut.compressed
+        smallOut.toByteArray() == small
+        largeOut.compressed
+        decompress(largeOut.toByteArray(), encoding) == large
+
+        where:
+        encoding << ["gzip", "deflate"]
+    }
+
+    void "test large GraphQL responses are compressed"() {
+        when:
+        HttpURLConnection connection = post("{ items }", "gzip")
+
+        then:
+        connection.getHeaderField("Content-Encoding") == "gzip"
+        connection.getHeaderField("Vary") == "Accept-Encoding"
+        new String(decompress(connection.inputStream.bytes, "gzip"), StandardCharsets.UTF_8)
+                .startsWith('{"data":{"items":[')
+    }
+
+    void "test small GraphQL responses are not compressed"() {
+        when:
+        HttpURLConnection connection = post("{ __typename }", "gzip")
+
+        then:
+        connection.getHeaderField("Content-Encoding") == null
+        connection.inputStream.text == '{"data":{"__typename":"Query"}}'
+    }
+
+    void "test GraphQL responses are not compressed unless accepted"() {
+        when:
+        HttpURLConnection connection = post("{ items }", null)
+
+        then:
+        connection.getHeaderField("Content-Encoding") == null
+        connection.inputStream.text.startsWith('{"data":{"items":[')
+    }
+
+    void "test the GraphiQL page is served pre-compressed"() {
+        when:
+        HttpURLConnection connection = new URL(embeddedServer.URL, "/graphiql").openConnection() as HttpURLConnection
+        connection.setRequestProperty("Accept-Encoding", "deflate")
+
+        then:
+        connection.getHeaderField("Content-Encoding") == "deflate"
+        new String(decompress(connection.inputStream.bytes, "deflate"), StandardCharsets.UTF_8) ==
+                embeddedServer.applicationContext.getBean(GraphiQLController).page
+    }
+
+    private HttpURLConnection post(String query, String acceptEncoding) {
+        HttpURLConnection connection = new URL(embeddedServer.URL, "/graphql").openConnection() as HttpURLConnection
+        connection.requestMethod = "POST"
+        connection.doOutput = true
+        connection.setRequestProperty("Content-Type", "application/graphql")
+        if (acceptEncoding) {
+            connection.setRequestProperty("Accept-Encoding", acceptEncoding)
+        }
+        connection.outputStream.withCloseable { it.write(query.getBytes(StandardCharsets.UTF_8)) }
+        connection
+    }
+
+    private static byte[] decompress(byte[] bytes, String encoding) {
+        InputStream inputStream = encoding == "gzip"
+                ? new GZIPInputStream(new ByteArrayInputStream(bytes))
+                : new InflaterInputStream(new ByteArrayInputStream(bytes))
+        inputStream.withCloseable { it.bytes }
+    }
+
+    @Factory
+    static class ItemsGraphQLFactory {
+
+        @Bean
+        @Singleton
+        @Requires(property = "spec.name", value = "GraphQLResponseCompressorSpec")
+        GraphQL graphQL() {
+            RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                    .type("Query", { it.dataFetcher("items", { (1..100).collect { "Item ${it}".toString() } }) })
+                    .build()
+            GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(
+                    new SchemaParser().parse("type Query { items: [String!]! }"), runtimeWiring)
+            GraphQL.newGraphQL(schema).build()
+        }
+    }
+}
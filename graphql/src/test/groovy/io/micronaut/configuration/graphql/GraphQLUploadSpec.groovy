@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import graphql.GraphQL
+import graphql.schema.DataFetchingEnvironment
+import graphql.schema.GraphQLSchema
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Bean
+import io.micronaut.context.annotation.Factory
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.env.Environment
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.client.multipart.MultipartBody
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.nio.ByteBuffer
+import java.util.concurrent.CompletableFuture
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class GraphQLUploadSpec extends Specification {
+
+    static final String SDL = """
+        scalar Upload
+        type Query {
+            hello: String
+        }
+        type Mutation {
+            upload(file: Upload!): String
+            uploadAll(files: [Upload!]!): [String]
+        }
+    """
+
+    static final String UPLOAD_OPERATIONS =
+            '{"query":"mutation($file: Upload!) { upload(file: $file) }","variables":{"file":null}}'
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            "spec.name"                   : GraphQLUploadSpec.simpleName,
+            "graphql.factory"             : false,
+            "graphql.upload.enabled"      : true,
+            "graphql.upload.max-file-size": 100000,
+            "graphql.upload.max-files"    : 2
+    ], Environment.TEST)
+
+    @Shared
+    @AutoCleanup
+    RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.URL)
+
+    void "test upload a file"() {
+        given:
+        MultipartBody body = MultipartBody.builder()
+                .addPart("operations", UPLOAD_OPERATIONS)
+                .addPart("map", '{"0":["variables.file"]}')
+                .addPart("0", "hello.txt", MediaType.TEXT_PLAIN_TYPE, ("Hello " * 10000).bytes)
+                .build()
+
+        expect:
+        post(body) == '{"data":{"upload":"hello.txt (text/plain): 60000 bytes"}}'
+    }
+
+    void "test upload multiple files"() {
+        given:
+        MultipartBody body = MultipartBody.builder()
+                .addPart("operations", '{"query":"mutation($files: [Upload!]!) { uploadAll(files: $files) }",' +
+                        '"variables":{"files":[null,null]}}')
+                .addPart("map", '{"0":["variables.files.0"],"1":["variables.files.1"]}')
+                .addPart("0", "a.txt", MediaType.TEXT_PLAIN_TYPE, "a".bytes)
+                .addPart("1", "b.json", MediaType.APPLICATION_JSON_TYPE, "{}".bytes)
+                .build()
+
+        expect:
+        post(body) ==
+                '{"data":{"uploadAll":["a.txt (text/plain): 1 bytes","b.json (application/json): 2 bytes"]}}'
+    }
+
+    void "test upload limits"() {
+        when:
+        post(MultipartBody.builder()
+                .addPart("operations", UPLOAD_OPERATIONS)
+                .addPart("map", '{"0":["variables.file"]}')
+                .addPart("0", "large.bin", MediaType.APPLICATION_OCTET_STREAM_TYPE, new byte[100001])
+                .build())
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.REQUEST_ENTITY_TOO_LARGE
+
+        when:
+        post(MultipartBody.builder()
+                .addPart("operations", '{"query":"mutation($files: [Upload!]!) { uploadAll(files: $files) }",' +
+                        '"variables":{"files":[null,null,null]}}')
+                .addPart("map", '{"0":["variables.files.0"],"1":["variables.files.1"],"2":["variables.files.2"]}')
+                .addPart("0", "a.txt", MediaType.TEXT_PLAIN_TYPE, "a".bytes)
+                .addPart("1", "b.txt", MediaType.TEXT_PLAIN_TYPE, "b".bytes)
+                .addPart("2", "c.txt", MediaType.TEXT_PLAIN_TYPE, "c".bytes)
+                .build())
+
+        then:
+        e = thrown()
+        e.status == HttpStatus.REQUEST_ENTITY_TOO_LARGE
+    }
+
+    void "test invalid multipart requests"() {
+        when:
+        post(MultipartBody.builder()
+                .addPart("operations", UPLOAD_OPERATIONS)
+                .addPart("map", '{"0":["variables.other.file"]}')
+                .addPart("0", "a.txt", MediaType.TEXT_PLAIN_TYPE, "a".bytes)
+                .build())
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.UNPROCESSABLE_ENTITY
+
+        when:
+        post(MultipartBody.builder()
+                .addPart("operations", UPLOAD_OPERATIONS)
+                .addPart("map", '{"0":["variables.file"]}')
+                .build())
+
+        then:
+        e = thrown()
+        e.status == HttpStatus.UNPROCESSABLE_ENTITY
+
+        when:
+        post(MultipartBody.builder()
+                .addPart("0", "a.txt", MediaType.TEXT_PLAIN_TYPE, "a".bytes)
+                .addPart("operations", UPLOAD_OPERATIONS)
+                .addPart("map", '{"0":["variables.file"]}')
+                .build())
+
+        then:
+        e = thrown()
+        e.status == HttpStatus.UNPROCESSABLE_ENTITY
+    }
+
+    void "test json requests are still accepted"() {
+        expect:
+        client.retrieve(HttpRequest.POST("/graphql", [query: "{ hello }"]), String).blockingFirst() ==
+                '{"data":{"hello":"world"}}'
+    }
+
+    private String post(MultipartBody body) {
+        client.retrieve(HttpRequest.POST("/graphql", body).contentType(MediaType.MULTIPART_FORM_DATA_TYPE), String)
+                .blockingFirst()
+    }
+
+    static CompletableFuture<String> describe(GraphQLUpload upload) {
+        // Reads the content chunk by chunk as it arrives without blocking, as a data fetcher streaming the file
+        // elsewhere would.
+        CompletableFuture<String> description = new CompletableFuture<>()
+        Flowable.fromPublisher(upload.content)
+                .map { ByteBuffer chunk -> chunk.remaining() as long }
+                .reduce(0L, { long total, long chunk -> total + chunk })
+                .subscribe({ long size ->
+                    String contentType = upload.contentType.map { it.name }.orElse("unknown")
+                    description.complete("${upload.filename} (${contentType}): ${size} bytes".toString())
+                }, { Throwable e -> description.completeExceptionally(e) })
+        description
+    }
+
+    @Factory
+    static class UploadGraphQLFactory {
+
+        @Bean
+        @Singleton
+        @Requires(property = "spec.name", value = "GraphQLUploadSpec")
+        GraphQL graphQL() {
+            RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                    .scalar(GraphQLUpload.SCALAR)
+                    .type("Query", { it.dataFetcher("hello", { "world" }) })
+                    .type("Mutation", {
+                        it.dataFetcher("upload", { DataFetchingEnvironment env ->
+                            describe(env.getArgument("file"))
+                        }).dataFetcher("uploadAll", { DataFetchingEnvironment env ->
+                            List<CompletableFuture<String>> descriptions =
+                                    (env.getArgument("files") as List<GraphQLUpload>).collect { describe(it) }
+                            CompletableFuture.allOf(descriptions as CompletableFuture[])
+                                    .thenApply { descriptions*.join() }
+                        })
+                    })
+                    .build()
+            GraphQLSchema schema = new SchemaGenerator()
+                    .makeExecutableSchema(new SchemaParser().parse(SDL), runtimeWiring)
+            GraphQL.newGraphQL(schema).build()
+        }
+    }
+}
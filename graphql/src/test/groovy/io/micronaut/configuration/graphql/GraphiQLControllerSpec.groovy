@@ -18,12 +18,16 @@ package io.micronaut.configuration.graphql
 
 import io.micronaut.context.ApplicationContext
 import io.micronaut.context.env.Environment
+import io.micronaut.core.io.ResourceResolver
+import io.micronaut.http.HttpHeaders
 import io.micronaut.http.HttpResponse
 import io.micronaut.http.HttpStatus
 import io.micronaut.http.client.HttpClient
 import io.micronaut.runtime.server.EmbeddedServer
 import spock.lang.Specification
 
+import java.util.zip.GZIPInputStream
+
 import static io.micronaut.http.HttpRequest.GET
 import static io.micronaut.http.MediaType.TEXT_HTML
 
@@ -52,4 +56,97 @@ class GraphiQLControllerSpec extends Specification {
         cleanup:
         embeddedServer.close()
     }
+
+    void "test conditional get"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(
+                EmbeddedServer,
+                ["spec.name"       : GraphiQLControllerSpec.simpleName,
+                 "graphql.graphiql.enabled": true],
+                Environment.TEST)
+
+        when:
+        HttpURLConnection connection = new URL(embeddedServer.URL, "/graphiql").openConnection() as HttpURLConnection
+        String etag = connection.getHeaderField(HttpHeaders.ETAG)
+
+        then:
+        connection.responseCode == 200
+        etag ==~ /"[0-9a-f]{32}"/
+        connection.getHeaderField(HttpHeaders.CACHE_CONTROL) == "no-cache"
+
+        when:
+        connection = new URL(embeddedServer.URL, "/graphiql").openConnection() as HttpURLConnection
+        connection.setRequestProperty(HttpHeaders.IF_NONE_MATCH, etag)
+
+        then:
+        connection.responseCode == 304
+        connection.getHeaderField(HttpHeaders.ETAG) == etag
+
+        cleanup:
+        embeddedServer.close()
+    }
+
+    void "test the page references the bundled assets"() {
+        given:
+        GraphiQLController controller = createController("0.13.2")
+
+        expect:
+        controller.page.contains('<script src="/graphiql/assets/graphiql.0123456789abcdef.js"></script>')
+        // Assets which are not bundled are loaded from the CDN.
+        controller.page.contains('<script src="//cdn.jsdelivr.net/react/15.4.2/react.min.js"></script>')
+    }
+
+    void "test the page references the CDN assets for other versions"() {
+        given:
+        GraphiQLController controller = createController("0.12.0")
+
+        expect:
+        controller.page.contains(
+                '<script src="https://cdnjs.cloudflare.com/ajax/libs/graphiql/0.12.0/graphiql.min.js"></script>')
+    }
+
+    void "test serving bundled assets"() {
+        given:
+        GraphiQLController controller = createController("0.13.2")
+
+        when:
+        HttpResponse<byte[]> response = controller.asset("graphiql.0123456789abcdef.js", GET("/"))
+
+        then:
+        response.status() == HttpStatus.OK
+        response.contentType.get().toString() == "application/javascript;charset=UTF-8"
+        response.header(HttpHeaders.CACHE_CONTROL) == "public, max-age=31536000, immutable"
+        response.header(HttpHeaders.ETAG) == '"graphiql.0123456789abcdef.js"'
+        response.header(HttpHeaders.CONTENT_ENCODING) == null
+        new String(response.body()) == "var GraphiQL = {};\n"
+
+        when:
+        response = controller.asset("graphiql.0123456789abcdef.js", GET("/").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+
+        then:
+        response.header(HttpHeaders.CONTENT_ENCODING) == "gzip"
+        response.header(HttpHeaders.ETAG) == '"graphiql.0123456789abcdef.js-gzip"'
+        new GZIPInputStream(new ByteArrayInputStream(response.body())).text == "var GraphiQL = {};\n"
+
+        when:
+        response = controller.asset("graphiql.0123456789abcdef.js",
+                GET("/").header(HttpHeaders.IF_NONE_MATCH, '"graphiql.0123456789abcdef.js"'))
+
+        then:
+        response.status() == HttpStatus.NOT_MODIFIED
+
+        when:
+        response = controller.asset("graphiql.js", GET("/"))
+
+        then:
+        response.status() == HttpStatus.NOT_FOUND
+    }
+
+    private static GraphiQLController createController(String version) {
+        GraphQLConfiguration configuration = new GraphQLConfiguration()
+        configuration.graphiql.version = version
+        ResourceResolver resourceResolver = new ResourceResolver()
+        new GraphiQLController(configuration, resourceResolver, null,
+                new GraphiQLAssets(resourceResolver, "classpath:graphiql-assets/"))
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import graphql.GraphQL
+import graphql.execution.instrumentation.Instrumentation
+import graphql.execution.instrumentation.SimpleInstrumentation
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters
+import graphql.introspection.IntrospectionQuery
+import graphql.schema.DataFetcher
+import graphql.schema.GraphQLSchema
+import graphql.schema.PropertyDataFetcher
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import groovy.json.JsonSlurper
+import io.micronaut.configuration.graphql.federation.Federation
+import spock.lang.Specification
+
+import java.util.function.UnaryOperator
+import java.util.regex.Pattern
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class NativeImageConfigurationSpec extends Specification {
+
+    static final String NATIVE_IMAGE_DIR = "META-INF/native-image/io.micronaut.graphql/micronaut-graphql"
+
+    static final List<String> RUNTIME_RESOURCES = [
+            "graphiql/index.html",
+            "graphiql/assets/${GraphiQLAssets.MANIFEST}".toString(),
+            "graphiql/assets/graphiql.0123456789abcdef.js",
+            "graphiql/assets/graphiql.0123456789abcdef.js.gz"
+    ]
+
+    void "test reflection configuration refers to existing classes"() {
+        when:
+        List<Map> reflectConfig = new JsonSlurper().parse(resource("reflect-config.json")) as List<Map>
+
+        then:
+        !reflectConfig.empty
+        reflectConfig.every { Class.forName(it.name as String) }
+    }
+
+    void "test reflection configuration covers the properties read by introspection and federation queries"() {
+        given: "a federated schema using every kind of type, as introspection reads the schema types reflectively"
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse('''
+            directive @key(fields: String!) on OBJECT
+            type Query { book(id: ID!, filter: BookFilter): Book @deprecated(reason: "Use books") }
+            type Book implements Node @key(fields: "id") { id: ID! kind: Kind }
+            interface Node { id: ID! }
+            union Search = Book
+            enum Kind { PAPER EBOOK }
+            input BookFilter { kind: Kind = PAPER }
+        '''), RuntimeWiring.newRuntimeWiring()
+                .type("Node", { it.typeResolver { null } } as UnaryOperator)
+                .type("Search", { it.typeResolver { null } } as UnaryOperator)
+                .build())
+        Set<String> reflected = new TreeSet<>()
+        Instrumentation instrumentation = new SimpleInstrumentation() {
+            @Override
+            DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters) {
+                Object source = parameters.environment.source
+                if (dataFetcher instanceof PropertyDataFetcher && source != null && !(source instanceof Map)) {
+                    reflected << source.class.name
+                }
+                dataFetcher
+            }
+        }
+        GraphQL graphQL = GraphQL.newGraphQL(Federation.transform(schema, []))
+                .instrumentation(instrumentation)
+                .build()
+
+        when:
+        graphQL.execute(IntrospectionQuery.INTROSPECTION_QUERY)
+        graphQL.execute("{ _service { sdl } }")
+        List<Map> reflectConfig = new JsonSlurper().parse(resource("reflect-config.json")) as List<Map>
+
+        then:
+        !reflected.empty
+        reflected.every { name -> reflectConfig.any { it.name == name && it.allPublicMethods } }
+    }
+
+    void "test resource configuration includes the resources read at runtime"() {
+        when:
+        Map resourceConfig = new JsonSlurper().parse(resource("resource-config.json")) as Map
+        List<Pattern> patterns = resourceConfig.resources*.pattern.collect { Pattern.compile(it as String) }
+
+        then: "the patterns are regular expressions, so the GraphiQL assets generated at build time are matched as well"
+        getClass().classLoader.getResource("graphiql/index.html") != null
+        RUNTIME_RESOURCES.every { name -> patterns.any { it.matcher(name).matches() } }
+        patterns.every { pattern -> RUNTIME_RESOURCES.any { pattern.matcher(it).matches() } }
+    }
+
+    private URL resource(String name) {
+        URL url = getClass().classLoader.getResource("${NATIVE_IMAGE_DIR}/${name}")
+        assert url != null
+        url
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.schema.DataFetcher
+import graphql.schema.GraphQLSchema
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.env.Environment
+import io.reactivex.Completable
+import io.reactivex.Flowable
+import io.reactivex.Maybe
+import io.reactivex.Observable
+import io.reactivex.Single
+import io.reactivex.subjects.SingleSubject
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class ReactiveDataFetcherResultInstrumentationSpec extends Specification {
+
+    static final String SDL = """
+        type Query {
+            single: String
+            empty: String
+            flowable: [String]
+            failing: String
+            completable: String
+            observable: [String]
+        }
+        type Subscription {
+            ticks: String
+        }
+    """
+
+    void "test reactive results are adapted"() {
+        given:
+        GraphQL graphQL = createGraphQL([
+                single     : { env -> Single.just("Micronaut") } as DataFetcher,
+                empty      : { env -> Maybe.empty() } as DataFetcher,
+                flowable   : { env -> Flowable.just("a", "b", "c") } as DataFetcher,
+                failing    : { env -> Single.error(new IllegalStateException("failed")) } as DataFetcher,
+                completable: { env -> Completable.complete() } as DataFetcher,
+                observable : { env -> Observable.just("x", "y") } as DataFetcher
+        ])
+
+        when:
+        ExecutionResult result = graphQL.execute("{ single empty flowable failing completable observable }")
+
+        then:
+        result.data == [single: "Micronaut", empty: null, flowable: ["a", "b", "c"], failing: null,
+                        completable: null, observable: ["x", "y"]]
+        result.errors.size() == 1
+        result.errors[0].path == ["failing"]
+    }
+
+    void "test subscription publishers are not adapted"() {
+        given:
+        GraphQL graphQL = createGraphQL([:], [ticks: { env -> Flowable.just("1", "2") } as DataFetcher])
+
+        when:
+        ExecutionResult result = graphQL.execute("subscription { ticks }")
+
+        then:
+        result.errors.empty
+        Flowable.fromPublisher(result.data).map { it.data }.toList().blockingGet() == [[ticks: "1"], [ticks: "2"]]
+    }
+
+    void "test subscriptions of the factory created GraphQL instance are not adapted"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(["graphql.factory": false], Environment.TEST)
+        context.registerSingleton(GraphQLSchema, createGraphQL(
+                [single: { env -> Single.just("Micronaut") } as DataFetcher],
+                [ticks: { env -> Flowable.just("1", "2") } as DataFetcher]).graphQLSchema)
+        GraphQL graphQL = context.getBean(GraphQL)
+
+        when:
+        ExecutionResult query = graphQL.execute("{ single }")
+        ExecutionResult subscription = graphQL.execute("subscription { ticks }")
+
+        then: "the instrumentation is enabled by default"
+        query.data == [single: "Micronaut"]
+        subscription.errors.empty
+        Flowable.fromPublisher(subscription.data).map { it.data }.toList().blockingGet() ==
+                [[ticks: "1"], [ticks: "2"]]
+
+        cleanup:
+        context.close()
+    }
+
+    void "test other results are not adapted"() {
+        given:
+        CompletableFuture<String> future = CompletableFuture.completedFuture("Micronaut")
+
+        expect:
+        ReactiveDataFetcherResultInstrumentation.adapt(null) == null
+        ReactiveDataFetcherResultInstrumentation.adapt("Micronaut") == "Micronaut"
+        ReactiveDataFetcherResultInstrumentation.adapt(future).is(future)
+    }
+
+    void "test results complete without blocking"() {
+        given:
+        SingleSubject<String> subject = SingleSubject.create()
+
+        when:
+        CompletableFuture<Object> future = ReactiveDataFetcherResultInstrumentation.adapt(subject)
+
+        then:
+        !future.done
+        subject.hasObservers()
+
+        when:
+        subject.onSuccess("Micronaut")
+
+        then:
+        future.get() == "Micronaut"
+    }
+
+    void "test cancelling the future cancels the subscription"() {
+        given:
+        SingleSubject<String> subject = SingleSubject.create()
+        CompletableFuture<Object> future = ReactiveDataFetcherResultInstrumentation.adapt(subject)
+
+        when:
+        future.cancel(true)
+
+        then:
+        future.cancelled
+        !subject.hasObservers()
+    }
+
+    private static GraphQL createGraphQL(Map<String, DataFetcher> dataFetchers,
+            Map<String, DataFetcher> subscriptionDataFetchers = [:]) {
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", { typeWiring -> typeWiring.dataFetchers(dataFetchers) })
+                .type("Subscription", { typeWiring -> typeWiring.dataFetchers(subscriptionDataFetchers) })
+                .build()
+        GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), runtimeWiring))
+                .instrumentation(new ReactiveDataFetcherResultInstrumentation())
+                .build()
+    }
+}
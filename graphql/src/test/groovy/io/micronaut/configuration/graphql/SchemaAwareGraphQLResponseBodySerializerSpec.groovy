@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.schema.GraphQLSchema
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.env.Environment
+import spock.lang.Specification
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class SchemaAwareGraphQLResponseBodySerializerSpec extends Specification {
+
+    static final String SDL = """
+        type Query {
+            toDos: [ToDo!]!
+        }
+        type ToDo {
+            id: ID!
+            title: String!
+            completed: Boolean!
+            weight: Float
+            position: Int
+        }
+    """
+
+    GraphQLSchema schema = createSchema()
+    GraphQL graphQL = GraphQL.newGraphQL(schema).build()
+
+    void "test responses are written as by the default serializer"() {
+        given:
+        ObjectMapper objectMapper = new ObjectMapper()
+        SerializedFieldNames fieldNames = new SerializedFieldNames(schema, 100)
+        JacksonGraphQLJsonSerializer serializer = new JacksonGraphQLJsonSerializer(
+                objectMapper, new SchemaAwareGraphQLResponseBodySerializer(fieldNames))
+        ExecutionResult executionResult = graphQL.execute('{ toDos { id title completed weight position } all: toDos { id } }')
+
+        expect:
+        executionResult.errors.empty
+        serializer.serialize(new GraphQLResponseBody(executionResult)) ==
+                objectMapper.writeValueAsString(executionResult.toSpecification())
+    }
+
+    void "test schema field names are encoded upfront and other names until the maximum size"() {
+        when:
+        SerializedFieldNames fieldNames = new SerializedFieldNames(schema, 1000)
+        int size = fieldNames.size()
+
+        then:
+        fieldNames.get("title").value == "title"
+        fieldNames.get("__typename").value == "__typename"
+        fieldNames.size() == size
+
+        when:
+        fieldNames.get("myAlias")
+
+        then:
+        fieldNames.size() == size + 1
+
+        when:
+        fieldNames = new SerializedFieldNames(schema, 1)
+
+        then:
+        fieldNames.size() == 1
+        fieldNames.get("myAlias").value == "myAlias"
+        fieldNames.size() == 1
+    }
+
+    void "test schema aware field names are enabled by configuration"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                ["graphql.json.schema-aware-field-names": true, "graphql.factory": false], Environment.TEST)
+        context.registerSingleton(GraphQL, graphQL)
+
+        when:
+        GraphQLJsonSerializer serializer = context.getBean(GraphQLJsonSerializer)
+
+        then:
+        serializer.serialize(new GraphQLResponseBody(graphQL.execute('{ toDos { id } }'))) ==
+                '{"data":{"toDos":[{"id":"1"},{"id":"2"}]}}'
+
+        cleanup:
+        context.close()
+    }
+
+    void "test field names are encoded again for a swapped in schema"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                ["graphql.json.schema-aware-field-names": true, "graphql.factory": false], Environment.TEST)
+        context.registerSingleton(GraphQL, graphQL)
+        DefaultGraphQLProvider provider = context.getBean(DefaultGraphQLProvider)
+        GraphQLJsonSerializer serializer = context.getBean(GraphQLJsonSerializer)
+        def fieldNames = SerializedFieldNames.of(provider, 1000)
+        SerializedFieldNames initial = fieldNames.get()
+
+        expect:
+        fieldNames.get().is(initial)
+
+        when:
+        GraphQL swapped = provider.swap(createSchema(SDL.replace("title: String!", "name: String!")))
+        SerializedFieldNames current = fieldNames.get()
+        int size = current.size()
+
+        then:
+        !current.is(initial)
+        current.get("name").value == "name"
+        current.size() == size
+        serializer.serialize(new GraphQLResponseBody(swapped.execute('{ toDos { id name } }'))) ==
+                '{"data":{"toDos":[{"id":"1","name":"Write \\"tests\\""},{"id":"2","name":"Ünïcödé"}]}}'
+
+        cleanup:
+        context.close()
+    }
+
+    private static GraphQLSchema createSchema(String sdl = SDL) {
+        List<Map<String, Object>> toDos = [
+                [id: "1", title: "Write \"tests\"", completed: true, weight: 1.5d, position: 1],
+                [id: "2", title: "Ünïcödé", completed: false, weight: null, position: null]
+        ]
+        // The swapped in schema renames the title field to name.
+        toDos.each { it.name = it.title }
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", { it.dataFetcher("toDos", { toDos }) })
+                .build()
+        new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(sdl), runtimeWiring)
+    }
+}
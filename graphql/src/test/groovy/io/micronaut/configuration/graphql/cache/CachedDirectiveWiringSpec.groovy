@@ -0,0 +1,228 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.cache
+
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.GraphQLContext
+import graphql.schema.DataFetcher
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import io.micronaut.configuration.graphql.DefaultGraphQLExecutionInputCustomizer
+import io.micronaut.configuration.graphql.DefaultGraphQLInvocation
+import io.micronaut.configuration.graphql.GraphQLInvocationData
+import io.micronaut.http.HttpAttributes
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MutableHttpRequest
+import io.reactivex.Flowable
+import spock.lang.Specification
+
+import java.security.Principal
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class CachedDirectiveWiringSpec extends Specification {
+
+    static final String SDL = """
+        type Query {
+            hello(name: String): String @cached(ttl: 10)
+            me: String @cached(scope: PRIVATE)
+            pending: String @cached
+        }
+    """ + CachedDirectiveWiring.DEFINITIONS
+
+    long now = 0
+    FieldResultCache cache = new FieldResultCache(100, { now })
+    AtomicInteger calls = new AtomicInteger()
+    CompletableFuture<String> pending = new CompletableFuture<>()
+
+    GraphQL graphQL = createGraphQL()
+
+    void "test repeated queries are served from the cache"() {
+        when:
+        ExecutionResult first = graphQL.execute('{ hello(name: "Micronaut") }')
+        ExecutionResult second = graphQL.execute('{ hello(name: "Micronaut") }')
+
+        then:
+        first.data == [hello: "Hello Micronaut!"]
+        second.data == [hello: "Hello Micronaut!"]
+        calls.get() == 1
+        cache.hits == 1
+        cache.misses == 1
+
+        when:
+        graphQL.execute('{ hello(name: "GraphQL") }')
+
+        then:
+        calls.get() == 2
+        cache.size() == 2
+    }
+
+    void "test cached results expire after the time to live"() {
+        given:
+        graphQL.execute('{ hello(name: "Micronaut") }')
+
+        when:
+        now += TimeUnit.SECONDS.toNanos(9)
+        graphQL.execute('{ hello(name: "Micronaut") }')
+
+        then:
+        calls.get() == 1
+
+        when:
+        now += TimeUnit.SECONDS.toNanos(1)
+        graphQL.execute('{ hello(name: "Micronaut") }')
+
+        then:
+        calls.get() == 2
+    }
+
+    void "test concurrent requests share the pending result"() {
+        when:
+        CompletableFuture<ExecutionResult> first = graphQL.executeAsync(ExecutionInput.newExecutionInput('{ pending }'))
+        CompletableFuture<ExecutionResult> second = graphQL.executeAsync(ExecutionInput.newExecutionInput('{ pending }'))
+
+        then:
+        !first.done
+        !second.done
+        calls.get() == 1
+
+        when:
+        pending.complete("done")
+
+        then:
+        first.get().data == [pending: "done"]
+        second.get().data == [pending: "done"]
+        calls.get() == 1
+    }
+
+    void "test private results are cached per user"() {
+        when:
+        ExecutionResult marcel1 = execute('{ me }', { "marcel" } as Principal)
+        ExecutionResult marcel2 = execute('{ me }', { "marcel" } as Principal)
+        ExecutionResult graeme = execute('{ me }', { "graeme" } as Principal)
+
+        then:
+        marcel1.data == [me: "marcel"]
+        marcel2.data == [me: "marcel"]
+        graeme.data == [me: "graeme"]
+        calls.get() == 2
+
+        when:
+        execute('{ me }', null)
+        execute('{ me }', null)
+
+        then:
+        calls.get() == 4
+    }
+
+    void "test private results are cached per principal of the http request"() {
+        given:
+        DefaultGraphQLInvocation invocation = new DefaultGraphQLInvocation(graphQL,
+                new DefaultGraphQLExecutionInputCustomizer(), null)
+        def invoke = { Principal principal ->
+            MutableHttpRequest<?> request = HttpRequest.POST("/graphql", "")
+            if (principal) {
+                request.setAttribute(HttpAttributes.PRINCIPAL, principal)
+            }
+            Flowable.fromPublisher(invocation.invoke(new GraphQLInvocationData('{ me }', null, null), request))
+                    .blockingFirst()
+        }
+
+        when:
+        ExecutionResult marcel1 = invoke({ "marcel" } as Principal)
+        ExecutionResult marcel2 = invoke({ "marcel" } as Principal)
+        ExecutionResult anonymous = invoke(null)
+
+        then:
+        marcel1.data == [me: "marcel"]
+        marcel2.data == [me: "marcel"]
+        anonymous.data == [me: "anonymous"]
+        calls.get() == 2
+    }
+
+    void "test a result which is not cacheable leaves a newer entry in place"() {
+        given:
+        CompletableFuture<Object> stale = new CompletableFuture<>()
+        cache.get("key", 10, TimeUnit.SECONDS, { stale }, { false })
+
+        when:
+        cache.invalidate("key")
+        CompletableFuture<Object> fresh = cache.get("key", 10, TimeUnit.SECONDS,
+                { CompletableFuture.completedFuture("fresh") })
+        stale.complete("stale")
+
+        then:
+        cache.size() == 1
+        cache.get("key", 10, TimeUnit.SECONDS, { CompletableFuture.completedFuture("other") }).get() == "fresh"
+        fresh.get() == "fresh"
+    }
+
+    void "test failed results are not cached"() {
+        given:
+        GraphQL failing = createGraphQL({ env ->
+            calls.incrementAndGet()
+            throw new IllegalStateException("failed")
+        } as DataFetcher)
+
+        when:
+        ExecutionResult first = failing.execute('{ hello(name: "Micronaut") }')
+        failing.execute('{ hello(name: "Micronaut") }')
+
+        then:
+        first.errors.size() == 1
+        calls.get() == 2
+        cache.size() == 0
+    }
+
+    private ExecutionResult execute(String query, Principal principal) {
+        graphQL.execute(ExecutionInput.newExecutionInput(query).context(principal).build())
+    }
+
+    private GraphQL createGraphQL(DataFetcher<?> helloDataFetcher = null) {
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .directive(CachedDirectiveWiring.DIRECTIVE, new CachedDirectiveWiring(cache))
+                .type("Query", { typeWiring ->
+                    typeWiring
+                            .dataFetcher("hello", helloDataFetcher ?: { env ->
+                                calls.incrementAndGet()
+                                "Hello ${env.getArgument("name")}!".toString()
+                            } as DataFetcher)
+                            .dataFetcher("me", { env ->
+                                calls.incrementAndGet()
+                                Object user = env.context instanceof GraphQLContext
+                                        ? ((GraphQLContext) env.context).get(Principal)
+                                        : env.context
+                                user instanceof Principal ? ((Principal) user).name : "anonymous"
+                            } as DataFetcher)
+                            .dataFetcher("pending", { env ->
+                                calls.incrementAndGet()
+                                pending
+                            } as DataFetcher)
+                })
+                .build()
+        GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), runtimeWiring))
+                .build()
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.federation
+
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.schema.GraphQLSchema
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Bean
+import io.micronaut.context.annotation.Factory
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.env.Environment
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class FederationSpec extends Specification {
+
+    static final String SDL = """
+        directive @key(fields: String!) on OBJECT
+        type Query {
+            product(upc: String!): Product
+        }
+        type Product @key(fields: "upc") {
+            upc: String!
+            name: String
+        }
+        type User @key(fields: "id") {
+            id: ID!
+            username: String
+        }
+    """
+
+    static final String ENTITIES_QUERY = """
+        query(\$representations: [_Any!]!) {
+            _entities(representations: \$representations) {
+                ... on Product { upc name }
+                ... on User { id username }
+            }
+        }
+    """
+
+    void "test entities are resolved in batches per type"() {
+        given:
+        ProductResolver productResolver = new ProductResolver()
+        UserResolver userResolver = new UserResolver()
+        GraphQL graphQL = GraphQL.newGraphQL(Federation.transform(schema(), SDL, [productResolver, userResolver]))
+                .build()
+
+        when:
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput()
+                .query(ENTITIES_QUERY)
+                .variables([representations: [
+                        [__typename: "Product", upc: "1"],
+                        [__typename: "User", id: "u1"],
+                        [__typename: "Product", upc: "2"]
+                ]])
+                .build())
+
+        then:
+        result.errors.empty
+        result.data == [_entities: [
+                [upc: "1", name: "Product 1"],
+                [id: "u1", username: "user-u1"],
+                [upc: "2", name: "Product 2"]
+        ]]
+        productResolver.calls == 1
+        userResolver.calls == 1
+    }
+
+    void "test representations as inline literals"() {
+        given:
+        GraphQL graphQL = GraphQL.newGraphQL(Federation.transform(schema(), SDL, [new ProductResolver()])).build()
+
+        when:
+        ExecutionResult result = graphQL.execute('{ _entities(representations: [{ __typename: "Product", upc: "3" }]) '
+                + '{ ... on Product { name } } }')
+
+        then:
+        result.errors.empty
+        result.data == [_entities: [[name: "Product 3"]]]
+    }
+
+    void "test representations of types without resolver"() {
+        given:
+        GraphQL graphQL = GraphQL.newGraphQL(Federation.transform(schema(), SDL, [new ProductResolver()])).build()
+
+        when:
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput()
+                .query(ENTITIES_QUERY)
+                .variables([representations: [[__typename: "Product", upc: "1"], [__typename: "User", id: "u1"]]])
+                .build())
+
+        then:
+        result.errors*.message == ["No entity resolver for type: User"]
+        result.data == [_entities: [[upc: "1", name: "Product 1"], null]]
+    }
+
+    void "test service sdl"() {
+        given:
+        GraphQL graphQL = GraphQL.newGraphQL(Federation.transform(schema(), SDL, [])).build()
+
+        expect:
+        graphQL.execute("{ _service { sdl } }").data == [_service: [sdl: SDL]]
+    }
+
+    void "test schema bean is federated when enabled"() {
+        given:
+        ApplicationContext context = ApplicationContext.run([
+                "spec.name"                 : FederationSpec.simpleName,
+                "graphql.factory"           : false,
+                "graphql.federation.enabled": true
+        ], Environment.TEST)
+
+        when:
+        GraphQL graphQL = context.getBean(GraphQL)
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput()
+                .query(ENTITIES_QUERY)
+                .variables([representations: [[__typename: "Product", upc: "1"]]])
+                .build())
+
+        then:
+        result.errors.empty
+        result.data == [_entities: [[upc: "1", name: "Product 1"]]]
+        graphQL.execute("{ _service { sdl } }").data._service.sdl.contains('type Product @key(fields : "upc")')
+
+        cleanup:
+        context.close()
+    }
+
+    static GraphQLSchema schema() {
+        new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL),
+                RuntimeWiring.newRuntimeWiring().build())
+    }
+
+    @Factory
+    static class FederatedSchemaFactory {
+
+        @Bean
+        @Singleton
+        @Requires(property = "spec.name", value = "FederationSpec")
+        GraphQLSchema graphQLSchema() {
+            schema()
+        }
+
+        @Bean
+        @Singleton
+        @Requires(property = "spec.name", value = "FederationSpec")
+        ProductResolver productResolver() {
+            new ProductResolver()
+        }
+    }
+
+    static class ProductResolver implements EntityResolver<Product> {
+
+        int calls
+
+        @Override
+        String getTypeName() {
+            "Product"
+        }
+
+        @Override
+        Class<Product> getEntityType() {
+            Product
+        }
+
+        @Override
+        CompletionStage<List<Product>> resolve(List<Map<String, Object>> representations) {
+            calls++
+            CompletableFuture.completedFuture(representations.collect {
+                new Product(upc: it.upc, name: "Product ${it.upc}")
+            })
+        }
+    }
+
+    static class UserResolver implements EntityResolver<Map> {
+
+        int calls
+
+        @Override
+        String getTypeName() {
+            "User"
+        }
+
+        @Override
+        Class<Map> getEntityType() {
+            Map
+        }
+
+        @Override
+        CompletionStage<List<Map>> resolve(List<Map<String, Object>> representations) {
+            calls++
+            CompletableFuture.completedFuture(representations.collect {
+                [__typename: "User", id: it.id, username: "user-${it.id}".toString()]
+            })
+        }
+    }
+
+    static class Product {
+        String upc
+        String name
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.relay
+
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.schema.DataFetcher
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import io.micronaut.configuration.graphql.BeanIntrospectionWiringFactory
+import spock.lang.Specification
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class KeysetConnectionSpec extends Specification {
+
+    static final String SDL = """
+        type Query {
+            items(first: Int, after: String): ItemConnection!
+        }
+        type ItemConnection {
+            edges: [ItemEdge!]!
+            pageInfo: PageInfo!
+            totalCount: Int
+        }
+        type ItemEdge {
+            node: String!
+            cursor: String!
+        }
+        type PageInfo {
+            startCursor: String
+            endCursor: String
+            hasPreviousPage: Boolean!
+            hasNextPage: Boolean!
+        }
+    """
+
+    static final List<String> ITEMS = ("a".."j").toList()
+
+    List<List> loads = []
+    int counts = 0
+
+    GraphQL graphQL = createGraphQL()
+
+    void "test pages are loaded by key"() {
+        when:
+        ExecutionResult result = graphQL.execute(
+                "{ items(first: 3) { edges { node } pageInfo { endCursor hasNextPage } } }")
+
+        then:
+        result.errors.empty
+        result.data.items.edges*.node == ["a", "b", "c"]
+        result.data.items.pageInfo.hasNextPage
+        loads == [[null, 4]]
+
+        when:
+        String after = result.data.items.pageInfo.endCursor
+        result = graphQL.execute("{ items(first: 5, after: \"${after}\") { edges { node } pageInfo { hasNextPage } } }")
+
+        then:
+        result.errors.empty
+        result.data.items.edges*.node == ["d", "e", "f", "g", "h"]
+        result.data.items.pageInfo.hasNextPage
+        loads[1] == ["c", 6]
+
+        when:
+        result = graphQL.execute("{ items(first: 5, after: \"${KeysetConnection.encodeCursor("h")}\") " +
+                "{ edges { node cursor } pageInfo { hasNextPage } } }")
+
+        then:
+        result.errors.empty
+        result.data.items.edges*.node == ["i", "j"]
+        result.data.items.edges*.cursor == [KeysetConnection.encodeCursor("i"), KeysetConnection.encodeCursor("j")]
+        !result.data.items.pageInfo.hasNextPage
+    }
+
+    void "test total count is only computed when selected"() {
+        when:
+        graphQL.execute("{ items { edges { node } } }")
+
+        then:
+        counts == 0
+
+        when:
+        ExecutionResult result = graphQL.execute("{ items { totalCount } }")
+
+        then:
+        result.data.items.totalCount == 10
+        counts == 1
+    }
+
+    void "test invalid arguments are reported as errors"() {
+        expect:
+        !graphQL.execute("{ items(first: 101) { totalCount } }").errors.empty
+        !graphQL.execute("{ items(first: -1) { totalCount } }").errors.empty
+        !graphQL.execute('{ items(after: "not-a-cursor") { totalCount } }').errors.empty
+        loads.empty
+    }
+
+    void "test cursors are opaque"() {
+        given:
+        String cursor = KeysetConnection.encodeCursor("42")
+
+        expect:
+        !cursor.contains("42")
+        KeysetConnection.decodeCursor(cursor) == "42"
+    }
+
+    private GraphQL createGraphQL() {
+        DataFetcher<KeysetConnection<String>> dataFetcher = { env ->
+            KeysetConnection.of(env, 10, 100, { String item -> item }, { String afterKey, int limit ->
+                loads << [afterKey, limit]
+                ITEMS.findAll { afterKey == null || it > afterKey }.take(limit)
+            } as KeysetPageLoader<String>, { counts++; ITEMS.size() as long })
+        }
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .wiringFactory(new BeanIntrospectionWiringFactory())
+                .type("Query", { typeWiring -> typeWiring.dataFetcher("items", dataFetcher) })
+                .build()
+        GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), runtimeWiring))
+                .build()
+    }
+}
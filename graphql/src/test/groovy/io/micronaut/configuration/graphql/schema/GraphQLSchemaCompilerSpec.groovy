@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.graphql.schema
+
+import graphql.language.AstPrinter
+import graphql.language.Document
+import graphql.parser.Parser
+import graphql.schema.idl.errors.SchemaProblem
+import spock.lang.Specification
+
+import javax.tools.JavaCompiler
+import javax.tools.ToolProvider
+
+/**
+ * @author Marcel Overdijk
+ * @since 1.3
+ */
+class GraphQLSchemaCompilerSpec extends Specification {
+
+    static final String SDL = '''
+        schema {
+            query: Query
+            mutation: Mutation
+        }
+
+        directive @auth(roles: [String!] = ["USER"]) on FIELD_DEFINITION | OBJECT
+
+        "The query root"
+        type Query @auth {
+            "Returns the to-dos"
+            toDos(filter: ToDoFilter = { completed: false, limit: 10, title: "say \\"hi\\"" }): [ToDo!]!
+            node(id: ID!): Node
+            search(text: String): [SearchResult]
+        }
+
+        type Mutation {
+            createToDo(title: String!, priority: Priority = HIGH, weight: Float = 1.5): ToDo @auth(roles: ["ADMIN"])
+        }
+
+        extend type Query {
+            version: String
+        }
+
+        interface Node {
+            id: ID!
+        }
+
+        # A to-do
+        type ToDo implements Node {
+            id: ID!
+            title: String!
+            priority: Priority
+            due: Date
+        }
+
+        type Tag implements Node {
+            id: ID!
+            name: String
+        }
+
+        union SearchResult = ToDo | Tag
+
+        enum Priority {
+            LOW
+            """Very important"""
+            HIGH @deprecated(reason: "Use LOW")
+        }
+
+        input ToDoFilter {
+            completed: Boolean
+            limit: Int
+            title: String
+            tags: [String] = null
+        }
+
+        scalar Date
+    '''
+
+    void "test generated class builds the same schema document"() {
+        given:
+        Document document = new Parser().parseDocument(SDL)
+
+        when:
+        GraphQLSchemaCompiler.validate(document)
+        String source = GraphQLSchemaCompiler.generate(document, "example.CompiledSchema", "schema.graphqls")
+        PrecompiledSchema schema = compile("example.CompiledSchema", source)
+
+        then:
+        AstPrinter.printAst(schema.document) == AstPrinter.printAst(document)
+        schema.typeDefinitionRegistry.getType("ToDo").present
+    }
+
+    void "test long lists are split over multiple methods"() {
+        given:
+        String fields = (1..100).collect { "field${it}: String" }.join("\n")
+        Document document = new Parser().parseDocument("type Query {\n${fields}\n}")
+
+        when:
+        String source = GraphQLSchemaCompiler.generate(document, "CompiledSchema", "schema.graphqls")
+        PrecompiledSchema schema = compile("CompiledSchema", source)
+
+        then:
+        source.contains("CompiledSchema.<FieldDefinition>concat(")
+        AstPrinter.printAst(schema.document) == AstPrinter.printAst(document)
+    }
+
+    void "test invalid schema fails validation"() {
+        when:
+        GraphQLSchemaCompiler.validate(new Parser().parseDocument("type Query { toDo: ToDo }"))
+
+        then:
+        thrown(SchemaProblem)
+    }
+
+    private PrecompiledSchema compile(String className, String source) {
+        File dir = File.createTempDir()
+        File sourceFile = new File(dir, className.replace('.', '/') + ".java")
+        sourceFile.parentFile.mkdirs()
+        sourceFile.text = source
+        JavaCompiler compiler = ToolProvider.systemJavaCompiler
+        int status = compiler.run(null, null, null,
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", dir.absolutePath,
+                sourceFile.absolutePath)
+        assert status == 0
+        ClassLoader classLoader = new URLClassLoader([dir.toURI().toURL()] as URL[], getClass().classLoader)
+        (PrecompiledSchema) classLoader.loadClass(className).newInstance()
+    }
+}